@@ -0,0 +1,201 @@
+package gregtech.api.pattern;
+
+import gregtech.Bootstrap;
+import gregtech.api.util.RelativeDirection;
+import gregtech.api.util.world.DummyWorld;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BlockPattern} matching on structures shaped like the largest shipped multiblocks: a hollow box like
+ * a full size cleanroom, and a long line of repeated slices like an assembly line. The structures are built from
+ * vanilla blocks in a {@link DummyWorld}, as the shipped structures need the full mod to be loaded.
+ * <p>
+ * {@link #fullMatch()} can be run against older versions of the pattern matcher to compare them, and
+ * {@link #relativeOffsets()} and {@link #offsetTable()} compare computing the positions of the structure per position
+ * with computing them from the offsets of the unit steps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockPatternBenchmark {
+
+    private static final BlockPos CENTER = new BlockPos(0, 64, 0);
+    private static final EnumFacing FRONT = EnumFacing.NORTH;
+    private static final EnumFacing UP = EnumFacing.NORTH;
+
+    private static final IBlockState CONTROLLER = Blocks.GOLD_BLOCK.getDefaultState();
+    private static final IBlockState CASING = Blocks.STONE.getDefaultState();
+    private static final IBlockState GLASS = Blocks.GLASS.getDefaultState();
+
+    @Param({ "box", "line" })
+    public String shape;
+
+    @Param({ "5", "15" })
+    public int size;
+
+    private World world;
+    private BlockPattern pattern;
+    private char[][][] layout; // [z][y][x]
+    private int centerX;
+    private int centerY;
+    private int[] offsets;
+    private final MutableBlockPos pos = new MutableBlockPos();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.perform();
+        layout = "box".equals(shape) ? box(size) : line(size);
+        centerX = layout[0][0].length / 2;
+        centerY = layout[0].length / 2;
+        layout[0][centerY][centerX] = 'S';
+
+        FactoryBlockPattern factory = FactoryBlockPattern.start();
+        for (int z = 0; z < layout.length; z++) {
+            String[] aisle = new String[layout[z].length];
+            for (int y = 0; y < aisle.length; y++) {
+                aisle[y] = new String(layout[z][y]);
+            }
+            if ("line".equals(shape) && z > 0 && z < layout.length - 1) {
+                // every slice of the line is the same, so it is matched as one repeated aisle
+                factory.aisleRepeatable(1, size + 1, aisle);
+                z = layout.length - 2;
+            } else {
+                factory.aisle(aisle);
+            }
+        }
+        pattern = factory
+                .where('S', new TraceabilityPredicate(state -> state.getBlockState() == CONTROLLER).setCenter())
+                .where('X', new TraceabilityPredicate(state -> state.getBlockState() == CASING)
+                        .or(new TraceabilityPredicate(state -> state.getBlockState() == GLASS).setMaxGlobalLimited(4)))
+                .where('G', new TraceabilityPredicate(state -> state.getBlockState() == GLASS).setMinLayerLimited(1))
+                .where('#', TraceabilityPredicate.AIR)
+                .build();
+
+        BlockPos xStep = RelativeDirection.setActualRelativeOffset(1, 0, 0, FRONT, UP, false, pattern.structureDir);
+        BlockPos yStep = RelativeDirection.setActualRelativeOffset(0, 1, 0, FRONT, UP, false, pattern.structureDir);
+        BlockPos zStep = RelativeDirection.setActualRelativeOffset(0, 0, 1, FRONT, UP, false, pattern.structureDir);
+        offsets = new int[] { xStep.getX(), xStep.getY(), xStep.getZ(), yStep.getX(), yStep.getY(), yStep.getZ(),
+                zStep.getX(), zStep.getY(), zStep.getZ() };
+
+        world = new DummyWorld();
+        for (int z = 0; z < layout.length; z++) {
+            for (int y = 0; y < layout[z].length; y++) {
+                for (int x = 0; x < layout[z][y].length; x++) {
+                    BlockPos blockPos = RelativeDirection.setActualRelativeOffset(x - centerX, y - centerY, z, FRONT,
+                            UP, false, pattern.structureDir).add(CENTER);
+                    world.setBlockState(blockPos, switch (layout[z][y][x]) {
+                        case 'S' -> CONTROLLER;
+                        case 'G' -> GLASS;
+                        case '#' -> Blocks.AIR.getDefaultState();
+                        default -> CASING;
+                    });
+                }
+            }
+        }
+        if (fullMatch() == null) {
+            throw new IllegalStateException("Benchmark structure does not match its pattern");
+        }
+    }
+
+    /**
+     * A hollow box of casings, with a glass block in the middle of the top of every aisle, which every aisle needs.
+     */
+    private static char[][][] box(int size) {
+        char[][][] layout = new char[size][size][size];
+        for (int z = 0; z < size; z++) {
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    boolean wall = z == 0 || z == size - 1 || y == 0 || y == size - 1 || x == 0 || x == size - 1;
+                    layout[z][y][x] = wall ? 'X' : '#';
+                }
+            }
+            layout[z][size - 1][size / 2] = 'G';
+        }
+        return layout;
+    }
+
+    /**
+     * A 3x3 front and back, with the given amount of hollow slices with a glass block in their top in between.
+     */
+    private static char[][][] line(int size) {
+        char[][][] layout = new char[size + 2][3][3];
+        for (int z = 0; z < layout.length; z++) {
+            for (char[] row : layout[z]) {
+                Arrays.fill(row, 'X');
+            }
+            if (z > 0 && z < layout.length - 1) {
+                layout[z][1][1] = '#';
+                layout[z][2][1] = 'G';
+            }
+        }
+        return layout;
+    }
+
+    @Benchmark
+    public PatternMatchContext fullMatch() {
+        pattern.clearCache();
+        return pattern.checkPatternFastAt(world, CENTER, FRONT, UP, false);
+    }
+
+    @Benchmark
+    public PatternMatchContext cachedMatch() {
+        return pattern.checkPatternFastAt(world, CENTER, FRONT, UP, false);
+    }
+
+    @Benchmark
+    public long relativeOffsets() {
+        long hash = 0;
+        for (int z = 0; z < layout.length; z++) {
+            for (int y = 0; y < layout[z].length; y++) {
+                for (int x = 0; x < layout[z][y].length; x++) {
+                    hash ^= RelativeDirection.setActualRelativeOffset(x - centerX, y - centerY, z, FRONT, UP, false,
+                            pattern.structureDir).add(CENTER).toLong();
+                }
+            }
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public long offsetTable() {
+        long hash = 0;
+        for (int z = 0; z < layout.length; z++) {
+            for (int y = 0; y < layout[z].length; y++) {
+                for (int x = 0; x < layout[z][y].length; x++) {
+                    int dx = x - centerX;
+                    int dy = y - centerY;
+                    pos.setPos(CENTER.getX() + dx * offsets[0] + dy * offsets[3] + z * offsets[6],
+                            CENTER.getY() + dx * offsets[1] + dy * offsets[4] + z * offsets[7],
+                            CENTER.getZ() + dx * offsets[2] + dy * offsets[5] + z * offsets[8]);
+                    hash ^= pos.toLong();
+                }
+            }
+        }
+        return hash;
+    }
+}
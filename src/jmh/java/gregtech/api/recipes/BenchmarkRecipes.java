@@ -0,0 +1,143 @@
+package gregtech.api.recipes;
+
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.recipes.ingredients.GTRecipeInput;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds synthetic RecipeMaps of a given size for the benchmarks, shaped like a typical processing map: every recipe
+ * has one to three distinct item inputs, and some also have a fluid input.
+ */
+public final class BenchmarkRecipes {
+
+    private static int mapId = 0;
+
+    private BenchmarkRecipes() {}
+
+    /**
+     * @return a stack of every registered item, including the first metadata variants of vanilla items
+     */
+    @NotNull
+    public static List<ItemStack> itemPool() {
+        List<ItemStack> pool = new ObjectArrayList<>();
+        for (Item item : Item.REGISTRY) {
+            ResourceLocation name = item.getRegistryName();
+            int variants = item.getHasSubtypes() && name != null && "minecraft".equals(name.getNamespace()) ? 16 : 1;
+            for (int meta = 0; meta < variants; meta++) {
+                ItemStack stack = new ItemStack(item, 1, meta);
+                if (!stack.isEmpty()) {
+                    pool.add(stack);
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * @return every registered fluid
+     */
+    @NotNull
+    public static List<Fluid> fluidPool() {
+        List<Fluid> pool = new ArrayList<>(FluidRegistry.getRegisteredFluids().values());
+        pool.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return pool;
+    }
+
+    /**
+     * Creates a RecipeMap filled with random recipes. Recipes conflicting with already added ones are skipped, so the
+     * resulting map may hold slightly fewer recipes than requested.
+     *
+     * @param recipeCount the amount of recipes to try to add
+     * @param seed        the seed for picking inputs
+     * @return the new RecipeMap
+     */
+    @NotNull
+    public static RecipeMap<SimpleRecipeBuilder> createRecipeMap(int recipeCount, long seed) {
+        RecipeMap<SimpleRecipeBuilder> map = new RecipeMapBuilder<>("benchmark_" + mapId++,
+                new SimpleRecipeBuilder())
+                        .itemInputs(3)
+                        .itemOutputs(1)
+                        .fluidInputs(1)
+                        .fluidOutputs(1)
+                        .build();
+
+        List<ItemStack> items = itemPool();
+        List<Fluid> fluids = fluidPool();
+        Random random = new Random(seed);
+        for (int i = 0; i < recipeCount; i++) {
+            SimpleRecipeBuilder builder = map.recipeBuilder();
+            List<ItemStack> inputs = pickDistinct(items, 1 + random.nextInt(3), random);
+            for (ItemStack input : inputs) {
+                builder.inputs(copyWithCount(input, 1 + random.nextInt(4)));
+            }
+            if (random.nextInt(4) == 0) {
+                builder.fluidInputs(new FluidStack(fluids.get(random.nextInt(fluids.size())), 1000));
+            }
+            builder.outputs(items.get(random.nextInt(items.size())).copy())
+                    .EUt(1 + random.nextInt(512))
+                    .duration(1 + random.nextInt(400))
+                    .buildAndRegister();
+        }
+        return map;
+    }
+
+    /**
+     * @param recipe the recipe
+     * @return item inputs exactly satisfying the recipe
+     */
+    @NotNull
+    public static List<ItemStack> itemInputsOf(@NotNull Recipe recipe) {
+        List<ItemStack> stacks = new ObjectArrayList<>(recipe.getInputs().size());
+        for (GTRecipeInput input : recipe.getInputs()) {
+            stacks.add(copyWithCount(input.getInputStacks()[0], input.getAmount()));
+        }
+        return stacks;
+    }
+
+    /**
+     * @param recipe the recipe
+     * @return fluid inputs exactly satisfying the recipe
+     */
+    @NotNull
+    public static List<FluidStack> fluidInputsOf(@NotNull Recipe recipe) {
+        List<FluidStack> stacks = new ObjectArrayList<>(recipe.getFluidInputs().size());
+        for (GTRecipeInput input : recipe.getFluidInputs()) {
+            stacks.add(new FluidStack(input.getInputFluidStack(), input.getAmount()));
+        }
+        return stacks;
+    }
+
+    @NotNull
+    private static List<ItemStack> pickDistinct(@NotNull List<ItemStack> pool, int amount, @NotNull Random random) {
+        List<ItemStack> picked = new ObjectArrayList<>(amount);
+        while (picked.size() < amount) {
+            ItemStack stack = pool.get(random.nextInt(pool.size()));
+            if (!picked.contains(stack)) {
+                picked.add(stack);
+            }
+        }
+        Collections.shuffle(picked, random);
+        return picked;
+    }
+
+    @NotNull
+    private static ItemStack copyWithCount(@NotNull ItemStack stack, int count) {
+        ItemStack copy = stack.copy();
+        copy.setCount(count);
+        return copy;
+    }
+}
@@ -0,0 +1,90 @@
+package gregtech.api.recipes;
+
+import gregtech.Bootstrap;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.common.ConfigHolder;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RecipeMap#findRecipe(long, List, List)} on maps of realistic sizes, for inputs matching a recipe
+ * exactly and for inputs matching none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeLookupBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({ "1000", "10000", "60000" })
+    public int recipeCount;
+
+    @Param({ "false", "true" })
+    public boolean compiledLookup;
+
+    @Param({ "0", "512" })
+    public int noMatchCacheSize;
+
+    private RecipeMap<SimpleRecipeBuilder> recipeMap;
+    private final List<List<ItemStack>> matchingItems = new ObjectArrayList<>(SAMPLES);
+    private final List<List<FluidStack>> matchingFluids = new ObjectArrayList<>(SAMPLES);
+    private final List<List<ItemStack>> missingItems = new ObjectArrayList<>(SAMPLES);
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.perform();
+        ConfigHolder.recipes.recipeLookupNoMatchCacheSize = noMatchCacheSize;
+        recipeMap = BenchmarkRecipes.createRecipeMap(recipeCount, 42L);
+        recipeMap.setCompiledLookup(compiledLookup);
+        recipeMap.compileLookup();
+
+        List<Recipe> recipes = new ObjectArrayList<>(recipeMap.getRecipeList());
+        List<ItemStack> pool = BenchmarkRecipes.itemPool();
+        for (int i = 0; i < SAMPLES; i++) {
+            Recipe recipe = recipes.get((i * 7919) % recipes.size());
+            matchingItems.add(BenchmarkRecipes.itemInputsOf(recipe));
+            matchingFluids.add(BenchmarkRecipes.fluidInputsOf(recipe));
+
+            // a single item of a multi-input recipe walks into the tree without reaching a recipe
+            List<ItemStack> partial = BenchmarkRecipes.itemInputsOf(recipe);
+            missingItems.add(partial.size() > 1 ? partial.subList(0, 1) :
+                    Collections.singletonList(pool.get((i * 31) % pool.size())));
+        }
+    }
+
+    @Benchmark
+    public Recipe findMatching() {
+        int i = index++ & (SAMPLES - 1);
+        return recipeMap.findRecipe(Long.MAX_VALUE, matchingItems.get(i), matchingFluids.get(i));
+    }
+
+    @Benchmark
+    public Recipe findNoMatch() {
+        int i = index++ & (SAMPLES - 1);
+        return recipeMap.findRecipe(Long.MAX_VALUE, missingItems.get(i), Collections.emptyList());
+    }
+}
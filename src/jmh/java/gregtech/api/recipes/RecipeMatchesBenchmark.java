@@ -0,0 +1,73 @@
+package gregtech.api.recipes;
+
+import gregtech.Bootstrap;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Recipe#matches(boolean, List, List)} against input inventories of different sizes, which is what
+ * every recipe check after a lookup pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeMatchesBenchmark {
+
+    private static final int SAMPLES = 256;
+
+    @Param({ "4", "16", "64" })
+    public int inventorySlots;
+
+    private final List<Recipe> recipes = new ObjectArrayList<>(SAMPLES);
+    private final List<List<ItemStack>> inventories = new ObjectArrayList<>(SAMPLES);
+    private final List<List<FluidStack>> tanks = new ObjectArrayList<>(SAMPLES);
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.perform();
+        RecipeMap<SimpleRecipeBuilder> recipeMap = BenchmarkRecipes.createRecipeMap(SAMPLES, 7L);
+        List<ItemStack> pool = BenchmarkRecipes.itemPool();
+        int i = 0;
+        for (Recipe recipe : recipeMap.getRecipeList()) {
+            // pad the inventory with unrelated stacks, with the recipe inputs in the last slots
+            List<ItemStack> inventory = new ObjectArrayList<>(inventorySlots);
+            List<ItemStack> inputs = BenchmarkRecipes.itemInputsOf(recipe);
+            while (inventory.size() + inputs.size() < inventorySlots) {
+                inventory.add(pool.get((i++ * 31) % pool.size()).copy());
+            }
+            inventory.addAll(inputs);
+            recipes.add(recipe);
+            inventories.add(inventory);
+            tanks.add(BenchmarkRecipes.fluidInputsOf(recipe));
+        }
+    }
+
+    @Benchmark
+    public boolean matches() {
+        int i = index++ % recipes.size();
+        return recipes.get(i).matches(false, inventories.get(i), tanks.get(i));
+    }
+}
@@ -0,0 +1,75 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.api.GTValues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static gregtech.api.recipes.logic.OverclockingLogic.*;
+
+/**
+ * Measures the {@link OverclockingLogic} functions for an LV recipe overclocked by a varying amount of tiers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverclockingBenchmark {
+
+    private static final long RECIPE_EUT = GTValues.VA[GTValues.LV];
+    private static final int RECIPE_DURATION = 200;
+
+    @Param({ "1", "4", "13" })
+    public int ocAmount;
+
+    private final OCParams params = new OCParams();
+    private final OCResult result = new OCResult();
+
+    private long maxVoltage() {
+        return GTValues.V[Math.min(GTValues.LV + ocAmount, GTValues.MAX)];
+    }
+
+    @Benchmark
+    public OCResult standard() {
+        params.initialize(RECIPE_EUT, RECIPE_DURATION, ocAmount);
+        result.reset();
+        standardOC(params, result, maxVoltage(), STD_DURATION_FACTOR, STD_VOLTAGE_FACTOR);
+        return result;
+    }
+
+    @Benchmark
+    public OCResult subTickParallel() {
+        params.initialize(RECIPE_EUT, RECIPE_DURATION, ocAmount);
+        result.reset();
+        subTickParallelOC(params, result, maxVoltage(), STD_DURATION_FACTOR, STD_VOLTAGE_FACTOR);
+        return result;
+    }
+
+    @Benchmark
+    public OCResult subTickNonParallel() {
+        params.initialize(RECIPE_EUT, RECIPE_DURATION, ocAmount);
+        result.reset();
+        subTickNonParallelOC(params, result, maxVoltage(), STD_DURATION_FACTOR, STD_VOLTAGE_FACTOR);
+        return result;
+    }
+
+    @Benchmark
+    public OCResult heatingCoil() {
+        params.initialize(RECIPE_EUT, RECIPE_DURATION, ocAmount);
+        result.reset();
+        heatingCoilOC(params, result, maxVoltage(), 4500, 1800);
+        return result;
+    }
+}
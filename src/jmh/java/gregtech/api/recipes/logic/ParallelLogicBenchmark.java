@@ -0,0 +1,101 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.Bootstrap;
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.recipes.BenchmarkRecipes;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.IItemHandlerModifiable;
+import net.minecraftforge.items.ItemStackHandler;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parallel amount calculations of {@link ParallelLogic} for input and output inventories shaped like a
+ * large multiblock's buses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelLogicBenchmark {
+
+    private static final int SAMPLES = 64;
+    private static final int SLOTS = 16;
+
+    @Param({ "4", "64", "256" })
+    public int parallelLimit;
+
+    private final List<Recipe> recipes = new ObjectArrayList<>(SAMPLES);
+    private final List<IItemHandlerModifiable> inputInventories = new ObjectArrayList<>(SAMPLES);
+    private final List<IMultipleTankHandler> inputTanks = new ObjectArrayList<>(SAMPLES);
+    private IItemHandlerModifiable outputInventory;
+    private IMultipleTankHandler outputTanks;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.perform();
+        RecipeMap<SimpleRecipeBuilder> recipeMap = BenchmarkRecipes.createRecipeMap(SAMPLES, 13L);
+        for (Recipe recipe : recipeMap.getRecipeList()) {
+            ItemStackHandler inventory = new ItemStackHandler(SLOTS);
+            int slot = 0;
+            for (ItemStack stack : BenchmarkRecipes.itemInputsOf(recipe)) {
+                stack.setCount(stack.getMaxStackSize());
+                inventory.setStackInSlot(slot++, stack);
+            }
+            FluidTank tank = new FluidTank(64_000);
+            for (FluidStack stack : BenchmarkRecipes.fluidInputsOf(recipe)) {
+                stack.amount = tank.getCapacity();
+                tank.fill(stack, true);
+            }
+            recipes.add(recipe);
+            inputInventories.add(inventory);
+            inputTanks.add(new FluidTankList(false, tank));
+        }
+
+        outputInventory = new ItemStackHandler(SLOTS);
+        FluidTank[] tanks = new FluidTank[4];
+        for (int i = 0; i < tanks.length; i++) {
+            tanks[i] = new FluidTank(64_000);
+        }
+        outputTanks = new FluidTankList(false, tanks);
+    }
+
+    @Benchmark
+    public int maxRecipeMultiplier() {
+        int i = index++ % recipes.size();
+        return ParallelLogic.getMaxRecipeMultiplier(recipes.get(i), inputInventories.get(i), inputTanks.get(i),
+                parallelLimit);
+    }
+
+    @Benchmark
+    public int limitByOutputMerging() {
+        int i = index++ % recipes.size();
+        return ParallelLogic.limitByOutputMerging(recipes.get(i), outputInventory, outputTanks, parallelLimit, false,
+                false);
+    }
+}
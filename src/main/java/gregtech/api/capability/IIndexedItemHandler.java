@@ -0,0 +1,22 @@
+package gregtech.api.capability;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Interface for item handlers which find the slots accepting an item without checking each of their slots.
+ */
+public interface IIndexedItemHandler extends IItemHandler {
+
+    /**
+     * Inserts an item into the slots holding the same item first, and into empty slots after.
+     *
+     * @param stack    the item to insert
+     * @param simulate if the insertion should only be simulated
+     * @return the items which could not be inserted
+     */
+    @NotNull
+    ItemStack insertItem(@NotNull ItemStack stack, boolean simulate);
+}
@@ -16,6 +16,7 @@ import gregtech.api.metatileentity.multiblock.ParallelLogicType;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeBuilder;
 import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMatchScratch;
 import gregtech.api.recipes.logic.IParallelableRecipeLogic;
 import gregtech.api.recipes.logic.OCParams;
 import gregtech.api.recipes.logic.OCResult;
@@ -65,6 +66,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
     private long overclockVoltage;
     private final OCParams ocParams = new OCParams();
     private final OCResult ocResult = new OCResult();
+    protected final RecipeMatchScratch recipeMatchScratch = new RecipeMatchScratch();
 
     protected boolean canRecipeProgress = true;
 
@@ -434,7 +436,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
     protected boolean checkPreviousRecipe() {
         if (this.previousRecipe == null) return false;
         if (this.previousRecipe.getEUt() > this.getMaxVoltage()) return false;
-        return this.previousRecipe.matches(false, getInputInventory(), getInputTank());
+        return this.previousRecipe.matches(false, getInputInventory(), getInputTank(), recipeMatchScratch);
     }
 
     /**
@@ -729,7 +731,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
 
         if (checkOutputSpaceItems(recipe, getOutputInventory()) && checkOutputSpaceFluids(recipe, getOutputTank())) {
             this.isOutputsFull = false;
-            if (recipe.matches(true, importInventory, importFluids)) {
+            if (recipe.matches(true, importInventory, importFluids, recipeMatchScratch)) {
                 this.metaTileEntity.addNotifiedInput(importInventory);
                 return recipe;
             }
@@ -4,9 +4,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2IntArrayMap;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import org.jetbrains.annotations.NotNull;
 
@@ -17,8 +15,10 @@ import java.util.*;
  */
 public class ItemHandlerList implements IItemHandlerModifiable {
 
-    private final Int2ObjectMap<IItemHandler> handlerBySlotIndex = new Int2ObjectOpenHashMap<>();
-    private final Object2IntMap<IItemHandler> baseIndexOffset = new Object2IntArrayMap<>();
+    private final Object2IntMap<IItemHandler> baseIndexOffset = new Object2IntLinkedOpenHashMap<>();
+    // the handler and the index offset of each slot, as every slot access needs both
+    private final IItemHandler[] handlerBySlot;
+    private final int[] offsetBySlot;
 
     public ItemHandlerList(List<? extends IItemHandler> itemHandlerList) {
         int currentSlotIndex = 0;
@@ -27,11 +27,17 @@ public class ItemHandlerList implements IItemHandlerModifiable {
                 throw new IllegalArgumentException("Attempted to add item handler " + itemHandler + " twice");
             }
             baseIndexOffset.put(itemHandler, currentSlotIndex);
-            int slotsCount = itemHandler.getSlots();
+            currentSlotIndex += itemHandler.getSlots();
+        }
+        this.handlerBySlot = new IItemHandler[currentSlotIndex];
+        this.offsetBySlot = new int[currentSlotIndex];
+        for (Object2IntMap.Entry<IItemHandler> entry : baseIndexOffset.object2IntEntrySet()) {
+            int offset = entry.getIntValue();
+            int slotsCount = entry.getKey().getSlots();
             for (int slotIndex = 0; slotIndex < slotsCount; slotIndex++) {
-                handlerBySlotIndex.put(currentSlotIndex + slotIndex, itemHandler);
+                handlerBySlot[offset + slotIndex] = entry.getKey();
+                offsetBySlot[offset + slotIndex] = offset;
             }
-            currentSlotIndex += slotsCount;
         }
     }
 
@@ -41,14 +47,14 @@ public class ItemHandlerList implements IItemHandlerModifiable {
 
     @Override
     public int getSlots() {
-        return handlerBySlotIndex.size();
+        return handlerBySlot.length;
     }
 
     @Override
     public void setStackInSlot(int slot, @NotNull ItemStack stack) {
         if (invalidSlot(slot)) return;
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        int actualSlot = slot - baseIndexOffset.get(itemHandler);
+        IItemHandler itemHandler = handlerBySlot[slot];
+        int actualSlot = slot - offsetBySlot[slot];
         if (itemHandler instanceof IItemHandlerModifiable modifiable) {
             modifiable.setStackInSlot(actualSlot, stack);
         } else {
@@ -61,31 +67,27 @@ public class ItemHandlerList implements IItemHandlerModifiable {
     @Override
     public ItemStack getStackInSlot(int slot) {
         if (invalidSlot(slot)) return ItemStack.EMPTY;
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        return itemHandler.getStackInSlot(slot - baseIndexOffset.get(itemHandler));
+        return handlerBySlot[slot].getStackInSlot(slot - offsetBySlot[slot]);
     }
 
     @Override
     public int getSlotLimit(int slot) {
         if (invalidSlot(slot)) return 0;
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        return itemHandler.getSlotLimit(slot - baseIndexOffset.get(itemHandler));
+        return handlerBySlot[slot].getSlotLimit(slot - offsetBySlot[slot]);
     }
 
     @NotNull
     @Override
     public ItemStack insertItem(int slot, @NotNull ItemStack stack, boolean simulate) {
         if (invalidSlot(slot)) return stack;
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        return itemHandler.insertItem(slot - baseIndexOffset.get(itemHandler), stack, simulate);
+        return handlerBySlot[slot].insertItem(slot - offsetBySlot[slot], stack, simulate);
     }
 
     @NotNull
     @Override
     public ItemStack extractItem(int slot, int amount, boolean simulate) {
         if (invalidSlot(slot)) return ItemStack.EMPTY;
-        IItemHandler itemHandler = handlerBySlotIndex.get(slot);
-        return itemHandler.extractItem(slot - baseIndexOffset.get(itemHandler), amount, simulate);
+        return handlerBySlot[slot].extractItem(slot - offsetBySlot[slot], amount, simulate);
     }
 
     @NotNull
@@ -94,6 +96,6 @@ public class ItemHandlerList implements IItemHandlerModifiable {
     }
 
     private boolean invalidSlot(int slot) {
-        return slot < 0 && slot >= this.getSlots();
+        return slot < 0 || slot >= this.getSlots();
     }
 }
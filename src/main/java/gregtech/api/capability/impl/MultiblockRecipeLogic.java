@@ -27,6 +27,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.IntFunction;
 
 import static gregtech.api.recipes.logic.OverclockingLogic.subTickParallelOC;
 
@@ -36,6 +37,7 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
     protected int lastRecipeIndex = 0;
     protected IItemHandlerModifiable currentDistinctInputBus;
     protected List<IItemHandlerModifiable> invalidatedInputList = new ArrayList<>();
+    private boolean batchedDistinctLookup;
 
     public MultiblockRecipeLogic(RecipeMapMultiblockController tileEntity) {
         super(tileEntity, tileEntity.recipeMap);
@@ -231,28 +233,77 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
 
         // On a cache miss, our efficiency is much worse, as it will check
         // each bus individually instead of the combined inventory all at once.
-        for (int i = 0; i < importInventory.size(); i++) {
-            IItemHandlerModifiable bus = importInventory.get(i);
-            // Skip this bus if no recipe was found last time
-            if (invalidatedInputList.contains(bus)) {
-                continue;
+        // The buses are searched together, so stacks found in many of them are only prepared for the search once.
+        findRecipeDistinct(maxVoltage, importInventory, new RecipeMap.InputSetVisitor() {
+
+            @Override
+            public boolean shouldSearch(int index) {
+                // Skip this bus if no recipe was found last time
+                return !invalidatedInputList.contains(importInventory.get(index));
             }
-            // Look for a new recipe after a cache miss
-            currentRecipe = findRecipe(maxVoltage, bus, getInputTank(bus));
-            // Cache the current recipe, if one is found
-            if (currentRecipe != null && checkRecipe(currentRecipe)) {
-                this.previousRecipe = currentRecipe;
-                currentDistinctInputBus = bus;
-                if (prepareRecipeDistinct(currentRecipe)) {
-                    lastRecipeIndex = i;
-                    return;
+
+            @Override
+            public boolean visit(int index, @Nullable Recipe recipe) {
+                IItemHandlerModifiable bus = importInventory.get(index);
+                if (recipe == null) {
+                    // no valid recipe found, invalidate this bus
+                    invalidatedInputList.add(bus);
+                    return false;
+                }
+                // Cache the current recipe, if one is found
+                if (checkRecipe(recipe)) {
+                    previousRecipe = recipe;
+                    currentDistinctInputBus = bus;
+                    if (prepareRecipeDistinct(recipe)) {
+                        lastRecipeIndex = index;
+                        return true;
+                    }
                 }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Find recipes for the input buses in turn, like {@link #findRecipe(long, IItemHandlerModifiable,
+     * IMultipleTankHandler)} for each bus, until the visitor stops the search.
+     * <p>
+     * By default {@code findRecipe} is called for each bus. If {@link #setBatchedDistinctLookup(boolean) batched
+     * lookups} are enabled, the buses are passed to {@link RecipeMap#findRecipeDistinct(long, List, IntFunction,
+     * RecipeMap.InputSetVisitor)} together instead, which may search all of them at once.
+     *
+     * @param maxVoltage the maximum voltage the recipes may use
+     * @param buses      the input buses
+     * @param visitor    the visitor receiving the recipe found for each bus
+     */
+    protected void findRecipeDistinct(long maxVoltage, @NotNull List<IItemHandlerModifiable> buses,
+                                      @NotNull RecipeMap.InputSetVisitor visitor) {
+        if (!batchedDistinctLookup) {
+            for (int i = 0; i < buses.size(); i++) {
+                if (!visitor.shouldSearch(i)) continue;
+                IItemHandlerModifiable bus = buses.get(i);
+                if (visitor.visit(i, findRecipe(maxVoltage, bus, getInputTank(bus)))) return;
             }
-            if (currentRecipe == null) {
-                // no valid recipe found, invalidate this bus
-                invalidatedInputList.add(bus);
+            return;
+        }
+        RecipeMap<?> map = getRecipeMap();
+        if (map == null || !isRecipeMapValid(map)) {
+            for (int i = 0; i < buses.size(); i++) {
+                if (visitor.shouldSearch(i) && visitor.visit(i, null)) return;
             }
+            return;
         }
+        map.findRecipeDistinct(maxVoltage, buses, i -> getInputTank(buses.get(i)), visitor);
+    }
+
+    /**
+     * Let distinct mode hand all input buses to the RecipeMap in one lookup. Only enable this for logics which do
+     * not override {@link #findRecipe(long, IItemHandlerModifiable, IMultipleTankHandler)}, as that is skipped.
+     *
+     * @param batchedDistinctLookup if the input buses should be looked up together
+     */
+    public void setBatchedDistinctLookup(boolean batchedDistinctLookup) {
+        this.batchedDistinctLookup = batchedDistinctLookup;
     }
 
     @Override
@@ -268,7 +319,8 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
     }
 
     protected boolean checkPreviousRecipeDistinct(IItemHandlerModifiable previousBus) {
-        return previousRecipe != null && previousRecipe.matches(false, previousBus, getInputTank(previousBus));
+        return previousRecipe != null && previousRecipe.matches(false, previousBus, getInputTank(previousBus),
+                recipeMatchScratch);
     }
 
     protected boolean prepareRecipeDistinct(Recipe recipe) {
@@ -0,0 +1,258 @@
+package gregtech.api.capability.impl.miner;
+
+import gregtech.api.util.GTLog;
+import gregtech.api.util.GTUtility;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.BlockStateContainer;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the ores in the layers of a miner's area on a pool of worker threads.
+ * <p>
+ * Chunks must not be read while the world changes them, so the chunk sections of the area are copied on the main
+ * thread, in the same compact form they are sent to clients in: the block state ids of the section's palette and the
+ * packed palette index of every block. Reading the block states out of the copies and checking them against a table
+ * of the minable ore block state ids, which is built on the main thread whenever the ore dictionary changed, happens on
+ * a worker thread.
+ */
+public final class AsyncOreScanner {
+
+    private static final long[] NO_ORES = new long[0];
+
+    private static ExecutorService executor;
+    private static BitSet minableOres;
+    private static int minableOresGeneration;
+
+    private AsyncOreScanner() {}
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 4));
+            AtomicInteger threadId = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "GregTech Ore Scanner #" + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Copy the blocks of an area and start looking for ores in it on a worker thread. Must be called on the main
+     * thread.
+     *
+     * @param world   the world to scan
+     * @param minX    the lowest x coordinate of the area
+     * @param minZ    the lowest z coordinate of the area
+     * @param maxX    the highest x coordinate of the area, inclusive
+     * @param maxZ    the highest z coordinate of the area, inclusive
+     * @param topY    the highest layer of the area
+     * @param bottomY the lowest layer of the area, inclusive
+     * @return the pending scan, resulting in the packed positions of the minable ores, ordered from the top layer
+     *         down and by z, then x
+     */
+    @NotNull
+    public static Future<long[]> submit(@NotNull World world, int minX, int minZ, int maxX, int maxZ, int topY,
+                                        int bottomY) {
+        Snapshot snapshot = new Snapshot(world, minX, minZ, maxX, maxZ, topY, bottomY);
+        return getExecutor().submit(snapshot::findOres);
+    }
+
+    /**
+     * @param scan a finished scan
+     * @return the result of the scan, or null if it failed
+     */
+    @Nullable
+    public static long[] getResult(@NotNull Future<long[]> scan) {
+        try {
+            return scan.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            GTLog.logger.error("Failed to scan for ores", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Must be called on the main thread.
+     *
+     * @return the minable ore block states, by their id in {@link Block#BLOCK_STATE_IDS}, which is not changed anymore
+     *         and can be read from any thread
+     */
+    @NotNull
+    private static synchronized BitSet getMinableOres() {
+        int generation = GTUtility.getOreStateGeneration();
+        if (minableOres == null || minableOresGeneration != generation) {
+            BitSet ores = new BitSet();
+            for (IBlockState state : Block.BLOCK_STATE_IDS) {
+                if (state.getBlock().blockHardness >= 0 && GTUtility.isOre(state)) {
+                    ores.set(Block.BLOCK_STATE_IDS.get(state));
+                }
+            }
+            minableOres = ores;
+            minableOresGeneration = generation;
+        }
+        return minableOres;
+    }
+
+    private static final class Snapshot {
+
+        private final int minX;
+        private final int minZ;
+        private final int width;
+        private final int depth;
+        private final int topY;
+        private final int height;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int chunksZ;
+        // where the chunk section of each chunk starts in the data, by x then z, or -1 for empty sections
+        private final int[] sectionOffsets;
+        private final PacketBuffer data = new PacketBuffer(Unpooled.buffer());
+        private final BitSet minableOres;
+        private final LongSet tileEntities = new LongOpenHashSet();
+
+        private Snapshot(World world, int minX, int minZ, int maxX, int maxZ, int topY, int bottomY) {
+            this.minX = minX;
+            this.minZ = minZ;
+            this.width = maxX - minX + 1;
+            this.depth = maxZ - minZ + 1;
+            this.topY = topY;
+            this.height = topY - bottomY + 1;
+            this.minChunkX = minX >> 4;
+            this.minChunkZ = minZ >> 4;
+            this.chunksZ = (maxZ >> 4) - minChunkZ + 1;
+            this.sectionOffsets = new int[((maxX >> 4) - minChunkX + 1) * chunksZ];
+            this.minableOres = getMinableOres();
+
+            for (int chunkX = minChunkX; chunkX <= maxX >> 4; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxZ >> 4; chunkZ++) {
+                    Chunk chunk = world.getChunk(chunkX, chunkZ);
+                    int fromX = Math.max(minX, chunkX << 4);
+                    int toX = Math.min(maxX, (chunkX << 4) + 15);
+                    int fromZ = Math.max(minZ, chunkZ << 4);
+                    int toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+
+                    for (BlockPos pos : chunk.getTileEntityMap().keySet()) {
+                        if (pos.getX() >= fromX && pos.getX() <= toX && pos.getZ() >= fromZ && pos.getZ() <= toZ &&
+                                pos.getY() >= bottomY && pos.getY() <= topY) {
+                            tileEntities.add(pos.toLong());
+                        }
+                    }
+
+                    // the layers are always within a single chunk section
+                    int index = getChunkIndex(chunkX, chunkZ);
+                    ExtendedBlockStorage section = chunk.getBlockStorageArray()[topY >> 4];
+                    if (section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty()) {
+                        sectionOffsets[index] = -1;
+                    } else {
+                        sectionOffsets[index] = data.writerIndex();
+                        section.getData().write(data);
+                    }
+                }
+            }
+        }
+
+        private int getChunkIndex(int chunkX, int chunkZ) {
+            return (chunkX - minChunkX) * chunksZ + chunkZ - minChunkZ;
+        }
+
+        private long[] findOres() {
+            SectionData[] sections = new SectionData[sectionOffsets.length];
+            for (int i = 0; i < sections.length; i++) {
+                if (sectionOffsets[i] != -1) {
+                    data.readerIndex(sectionOffsets[i]);
+                    sections[i] = new SectionData(data);
+                }
+            }
+
+            LongArrayList positions = new LongArrayList();
+            for (int layer = 0; layer < height; layer++) {
+                int y = topY - layer;
+                for (int z = minZ; z < minZ + depth; z++) {
+                    for (int x = minX; x < minX + width; x++) {
+                        SectionData section = sections[getChunkIndex(x >> 4, z >> 4)];
+                        if (section == null || !minableOres.get(section.getStateId(x & 15, y & 15, z & 15))) {
+                            continue;
+                        }
+
+                        long pos = new BlockPos(x, y, z).toLong();
+                        if (!tileEntities.contains(pos)) {
+                            positions.add(pos);
+                        }
+                    }
+                }
+            }
+            return positions.isEmpty() ? NO_ORES : positions.toLongArray();
+        }
+    }
+
+    /**
+     * A chunk section read from the form written by {@link BlockStateContainer#write(PacketBuffer)}.
+     */
+    private static final class SectionData {
+
+        // the global palette is used above this many bits per block, storing block state ids directly
+        private static final int MAX_PALETTE_BITS = 8;
+
+        private final int bits;
+        private final long mask;
+        private final int[] palette;
+        private final long[] storage;
+
+        private SectionData(PacketBuffer buf) {
+            this.bits = buf.readUnsignedByte();
+            this.mask = (1L << bits) - 1;
+            this.palette = new int[buf.readVarInt()];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = buf.readVarInt();
+            }
+            this.storage = new long[buf.readVarInt()];
+            for (int i = 0; i < storage.length; i++) {
+                storage[i] = buf.readLong();
+            }
+        }
+
+        /**
+         * @return the id of the block state at a position in the section, in {@link Block#BLOCK_STATE_IDS}
+         */
+        private int getStateId(int x, int y, int z) {
+            // the index and bit layout of net.minecraft.util.BitArray, where values may span two longs
+            int index = y << 8 | z << 4 | x;
+            long bitIndex = (long) index * bits;
+            int start = (int) (bitIndex >> 6);
+            int end = (int) (((long) (index + 1) * bits - 1) >> 6);
+            int offset = (int) (bitIndex & 63);
+            long value = storage[start] >>> offset;
+            if (start != end) {
+                value |= storage[end] << (64 - offset);
+            }
+            int paletteIndex = (int) (value & mask);
+            if (bits > MAX_PALETTE_BITS) return paletteIndex;
+            return paletteIndex < palette.length ? palette[paletteIndex] : 0;
+        }
+    }
+}
@@ -24,7 +24,6 @@ import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -32,22 +31,17 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import codechicken.lib.render.CCRenderState;
 import codechicken.lib.render.pipeline.IVertexOperation;
 import codechicken.lib.vec.Matrix4;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class MinerLogic {
 
-    private static final short MAX_SPEED = Short.MAX_VALUE;
-    private static final byte POWER = 5;
-    private static final byte TICK_TOLERANCE = 20;
-    private static final double DIVIDEND = MAX_SPEED * Math.pow(TICK_TOLERANCE, POWER);
-
     protected final MetaTileEntity metaTileEntity;
     protected final IMiner miner;
 
@@ -57,7 +51,11 @@ public class MinerLogic {
 
     private final ICubeRenderer PIPE_TEXTURE;
 
-    private final LinkedList<BlockPos> blocksToMine = new LinkedList<>();
+    // the packed positions of the ores found by the last scan, which are mined in order
+    private final LongArrayFIFOQueue blocksToMine = new LongArrayFIFOQueue();
+    private Future<long[]> pendingScan;
+    // the highest layer of the last scan, to scan again after reloading
+    private int scanTopY = Integer.MAX_VALUE;
 
     private final AtomicInteger x = new AtomicInteger(Integer.MAX_VALUE);
     private final AtomicInteger y = new AtomicInteger(Integer.MAX_VALUE);
@@ -171,39 +169,31 @@ public class MinerLogic {
         // if there are blocks to mine and the correct amount of time has passed, do the mining
         if (metaTileEntity.getOffsetTimer() % this.speed == 0 && !blocksToMine.isEmpty()) {
             NonNullList<ItemStack> blockDrops = NonNullList.create();
-            IBlockState blockState = metaTileEntity.getWorld().getBlockState(blocksToMine.getFirst());
+            BlockPos blockToMine = BlockPos.fromLong(blocksToMine.firstLong());
+            IBlockState blockState = world.getBlockState(blockToMine);
 
             // check to make sure the ore is still there,
-            while (!GTUtility.isOre(GTUtility.toItem(blockState))) {
-                blocksToMine.removeFirst();
+            while (!GTUtility.isOre(blockState)) {
+                blocksToMine.dequeueLong();
                 if (blocksToMine.isEmpty()) break;
-                blockState = metaTileEntity.getWorld().getBlockState(blocksToMine.getFirst());
+                blockToMine = BlockPos.fromLong(blocksToMine.firstLong());
+                blockState = world.getBlockState(blockToMine);
             }
-            // When we are here we have an ore to mine! I'm glad we aren't threaded
-            if (!blocksToMine.isEmpty() && GTUtility.isOre(GTUtility.toItem(blockState))) {
+            if (!blocksToMine.isEmpty()) {
                 // get the small ore drops, if a small ore
-                getSmallOreBlockDrops(blockDrops, world, blocksToMine.getFirst(), blockState);
+                getSmallOreBlockDrops(blockDrops, world, blockToMine, blockState);
                 // get the block's drops.
-                getRegularBlockDrops(blockDrops, world, blocksToMine.getFirst(), blockState);
+                getRegularBlockDrops(blockDrops, world, blockToMine, blockState);
                 // try to insert them
-                mineAndInsertItems(blockDrops, world);
+                mineAndInsertItems(blockDrops, world, blockToMine);
             }
-
         }
 
-        if (blocksToMine.isEmpty()) {
-            // there were no blocks to mine, so the current position is the previous position
-            x.set(mineX.get());
-            y.set(mineY.get());
-            z.set(mineZ.get());
-
-            // attempt to get more blocks to mine, if there are none, the miner is done mining
-            blocksToMine.addAll(getBlocksToMine());
-            if (blocksToMine.isEmpty()) {
-                this.isDone = true;
-                this.wasActiveAndNeedsUpdate = true;
-                this.setActive(false);
-            }
+        // the miner is done once every layer was scanned and mined
+        if (blocksToMine.isEmpty() && pendingScan == null && y.get() <= 0) {
+            this.isDone = true;
+            this.wasActiveAndNeedsUpdate = true;
+            this.setActive(false);
         }
     }
 
@@ -277,20 +267,21 @@ public class MinerLogic {
      * called in order to insert the mined items into the inventory and actually remove the block in world
      * marks the inventory as full if the items cannot fit, and not full if it previously was full and items could fit
      *
-     * @param blockDrops the List of items to insert
-     * @param world      the {@link WorldServer} the miner is in
+     * @param blockDrops  the List of items to insert
+     * @param world       the {@link WorldServer} the miner is in
+     * @param blockToMine the {@link BlockPos} of the block being mined
      */
-    private void mineAndInsertItems(List<ItemStack> blockDrops, WorldServer world) {
+    private void mineAndInsertItems(List<ItemStack> blockDrops, WorldServer world, BlockPos blockToMine) {
         // If the block's drops can fit in the inventory, move the previously mined position to the block
         // replace the ore block with cobblestone instead of breaking it to prevent mob spawning
         // remove the ore block's position from the mining queue
         if (GTTransferUtils.addItemsToItemHandler(metaTileEntity.getExportItems(), true, blockDrops)) {
             GTTransferUtils.addItemsToItemHandler(metaTileEntity.getExportItems(), false, blockDrops);
-            world.setBlockState(blocksToMine.getFirst(), oreReplacementBlock);
-            mineX.set(blocksToMine.getFirst().getX());
-            mineZ.set(blocksToMine.getFirst().getZ());
-            mineY.set(blocksToMine.getFirst().getY());
-            blocksToMine.removeFirst();
+            world.setBlockState(blockToMine, oreReplacementBlock);
+            mineX.set(blockToMine.getX());
+            mineZ.set(blockToMine.getZ());
+            mineY.set(blockToMine.getY());
+            blocksToMine.dequeueLong();
             onMineOperation();
 
             // if the inventory was previously considered full, mark it as not since an item was able to fit
@@ -335,11 +326,45 @@ public class MinerLogic {
     }
 
     /**
-     * Checks whether there are any more blocks to mine, if there are currently none queued
+     * Checks whether there are any more blocks to mine, if there are currently none queued. The next layers are
+     * scanned for ores on a worker thread, so the blocks are only queued on a later call.
      */
     public void checkBlocksToMine() {
-        if (blocksToMine.isEmpty())
-            blocksToMine.addAll(getBlocksToMine());
+        if (!blocksToMine.isEmpty()) return;
+        if (pendingScan != null) {
+            if (!pendingScan.isDone()) return;
+            long[] ores = AsyncOreScanner.getResult(pendingScan);
+            pendingScan = null;
+            if (ores == null) {
+                // scan the layers again
+                y.set(scanTopY);
+                return;
+            }
+            for (long pos : ores) {
+                blocksToMine.enqueue(pos);
+            }
+            if (!blocksToMine.isEmpty()) return;
+        }
+        if (y.get() > 0) {
+            scanBlocksToMine();
+        }
+    }
+
+    /**
+     * Starts scanning the layers from the current y position down to the bottom of its chunk section
+     */
+    private void scanBlocksToMine() {
+        int topY = y.get();
+        int bottomY = Math.max(1, topY & ~15);
+        int minX = startX.get();
+        int minZ = startZ.get();
+        pendingScan = AsyncOreScanner.submit(metaTileEntity.getWorld(), minX, minZ, minX + currentRadius * 2,
+                minZ + currentRadius * 2, topY, bottomY);
+        scanTopY = topY;
+        // move to the next layers
+        x.set(minX);
+        y.set(bottomY - 1);
+        z.set(minZ);
     }
 
     /**
@@ -350,92 +375,14 @@ public class MinerLogic {
         if (this.isDone) this.setWorkingEnabled(false);
         this.isDone = false;
         blocksToMine.clear();
+        if (pendingScan != null) {
+            pendingScan.cancel(false);
+            pendingScan = null;
+        }
         checkBlocksToMine();
         resetPipeLength();
     }
 
-    /**
-     * Gets the blocks to mine
-     *
-     * @return a {@link LinkedList} of {@link BlockPos} for each ore to mine
-     */
-    private LinkedList<BlockPos> getBlocksToMine() {
-        LinkedList<BlockPos> blocks = new LinkedList<>();
-
-        // determine how many blocks to retrieve this time
-        double quotient = getQuotient(getMeanTickTime(metaTileEntity.getWorld()));
-        int calcAmount = quotient < 1 ? 1 : (int) (Math.min(quotient, Short.MAX_VALUE));
-        int calculated = 0;
-
-        // keep getting blocks until the target amount is reached
-        while (calculated < calcAmount) {
-            // moving down the y-axis
-            if (y.get() > 0) {
-                // moving across the z-axis
-                if (z.get() <= startZ.get() + currentRadius * 2) {
-                    // check every block along the x-axis
-                    if (x.get() <= startX.get() + currentRadius * 2) {
-                        BlockPos blockPos = new BlockPos(x.get(), y.get(), z.get());
-                        IBlockState state = metaTileEntity.getWorld().getBlockState(blockPos);
-                        if (state.getBlock().blockHardness >= 0 &&
-                                metaTileEntity.getWorld().getTileEntity(blockPos) == null &&
-                                GTUtility.isOre(GTUtility.toItem(state))) {
-                            blocks.addLast(blockPos);
-                        }
-                        // move to the next x position
-                        x.incrementAndGet();
-                    } else {
-                        // reset x and move to the next z layer
-                        x.set(startX.get());
-                        z.incrementAndGet();
-                    }
-                } else {
-                    // reset z and move to the next y layer
-                    z.set(startZ.get());
-                    y.decrementAndGet();
-                }
-            } else
-                return blocks;
-
-            // only count iterations where blocks were found
-            if (!blocks.isEmpty())
-                calculated++;
-        }
-        return blocks;
-    }
-
-    /**
-     * @param values to find the mean of
-     * @return the mean value
-     */
-    private static long mean(@NotNull long[] values) {
-        if (values.length == 0L)
-            return 0L;
-
-        long sum = 0L;
-        for (long v : values)
-            sum += v;
-        return sum / values.length;
-    }
-
-    /**
-     * @param world the {@link World} to get the average tick time of
-     * @return the mean tick time
-     */
-    private static double getMeanTickTime(@NotNull World world) {
-        return mean(Objects.requireNonNull(world.getMinecraftServer()).tickTimeArray) * 1.0E-6D;
-    }
-
-    /**
-     * gets the quotient for determining the amount of blocks to mine
-     *
-     * @param base is a value used for calculation, intended to be the mean tick time of the world the miner is in
-     * @return the quotient
-     */
-    private static double getQuotient(double base) {
-        return DIVIDEND / Math.pow(base, POWER);
-    }
-
     /**
      * Applies a fortune hammer to block drops based on a tier value, intended for small ores
      *
@@ -505,7 +452,9 @@ public class MinerLogic {
      */
     public NBTTagCompound writeToNBT(@NotNull NBTTagCompound data) {
         data.setTag("xPos", new NBTTagInt(x.get()));
-        data.setTag("yPos", new NBTTagInt(y.get()));
+        // queued and pending ores are not saved, so their layers are scanned again
+        boolean scanning = !blocksToMine.isEmpty() || pendingScan != null;
+        data.setTag("yPos", new NBTTagInt(scanning ? Math.max(y.get(), scanTopY) : y.get()));
         data.setTag("zPos", new NBTTagInt(z.get()));
         data.setTag("mxPos", new NBTTagInt(mineX.get()));
         data.setTag("myPos", new NBTTagInt(mineY.get()));
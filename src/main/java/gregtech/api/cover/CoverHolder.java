@@ -1,6 +1,8 @@
 package gregtech.api.cover;
 
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.profiler.TickCategory;
+import gregtech.api.util.profiler.TickProfiler;
 import gregtech.client.utils.RenderUtil;
 
 import net.minecraft.block.Block;
@@ -83,10 +85,18 @@ public interface CoverHolder extends CoverableView {
      * Updates all covers. Should be called every tick.
      */
     default void updateCovers() {
+        boolean profile = TickProfiler.isActive(getWorld());
         for (EnumFacing facing : EnumFacing.VALUES) {
             Cover cover = getCoverAtSide(facing);
             if (cover instanceof ITickable tickable) {
-                tickable.update();
+                if (profile) {
+                    long tickTime = System.nanoTime();
+                    tickable.update();
+                    TickProfiler.record(TickCategory.COVER, cover.getClass(), getWorld(), getPos(),
+                            System.nanoTime() - tickTime);
+                } else {
+                    tickable.update();
+                }
             }
         }
     }
@@ -159,6 +159,8 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
     protected List<IItemHandlerModifiable> notifiedItemInputList = new ArrayList<>();
     protected List<IFluidHandler> notifiedFluidInputList = new ArrayList<>();
     protected List<IFluidHandler> notifiedFluidOutputList = new ArrayList<>();
+    // changed whenever the contents of the inventories and tanks may have changed
+    private int contentsVersion;
 
     protected boolean muffled = false;
 
@@ -209,11 +211,22 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
 
     @Override
     public void markDirty() {
+        contentsVersion++;
         if (holder != null) {
             holder.markAsDirty();
         }
     }
 
+    /**
+     * The inventories of GregTech machines mark their machine dirty, and notifiable tanks notify it, whenever their
+     * contents change. Inventories of other types may change without it.
+     *
+     * @return a number which changes whenever the contents of the inventories or tanks may have changed
+     */
+    public int getContentsVersion() {
+        return contentsVersion;
+    }
+
     public boolean isFirstTick() {
         return holder != null && holder.isFirstTick();
     }
@@ -394,6 +407,7 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
     }
 
     public void addNotifiedInput(Object input) {
+        contentsVersion++;
         if (input instanceof IItemHandlerModifiable) {
             if (!notifiedItemInputList.contains(input)) {
                 this.notifiedItemInputList.add((IItemHandlerModifiable) input);
@@ -407,6 +421,7 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
     }
 
     public void addNotifiedOutput(Object output) {
+        contentsVersion++;
         if (output instanceof IItemHandlerModifiable) {
             if (!notifiedItemOutputList.contains(output)) {
                 this.notifiedItemOutputList.add((IItemHandlerModifiable) output);
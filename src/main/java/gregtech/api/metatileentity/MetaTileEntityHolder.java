@@ -1,5 +1,6 @@
 package gregtech.api.metatileentity;
 
+import gregtech.api.GTValues;
 import gregtech.api.GregTechAPI;
 import gregtech.api.block.machines.BlockMachine;
 import gregtech.api.capability.GregtechDataCodes;
@@ -10,6 +11,9 @@ import gregtech.api.metatileentity.registry.MTERegistry;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.Mods;
 import gregtech.api.util.TextFormattingUtil;
+import gregtech.api.util.profiler.TickCategory;
+import gregtech.api.util.profiler.TickHistogram;
+import gregtech.api.util.profiler.TickProfiler;
 import gregtech.client.particle.GTNameTagParticle;
 import gregtech.client.particle.GTParticleManager;
 import gregtech.common.ConfigHolder;
@@ -48,11 +52,13 @@ import appeng.api.util.DimensionalCoord;
 import appeng.me.helpers.AENetworkProxy;
 import appeng.me.helpers.IGridProxyable;
 import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Map;
 
 import static gregtech.api.capability.GregtechDataCodes.INITIALIZE_MTE;
 
@@ -72,9 +78,21 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
     @SideOnly(Side.CLIENT)
     private GTNameTagParticle nameTagParticle;
 
+    /**
+     * @deprecated tick times are kept in a {@link TickHistogram}, see {@link #getTickHistogram()}
+     */
+    @Deprecated
     public static final int TRACKED_TICKS = 20;
-    private final int[] timeStatistics = new int[TRACKED_TICKS];
-    private int timeStatisticsIndex = 0;
+
+    // the amount of measured ticks after which older tick times start losing their weight
+    private static final int TICK_HISTOGRAM_DECAY = 1200;
+    private static final int CLASS_TICK_HISTOGRAM_DECAY = 1 << 20;
+    // only accessed on the server thread, see getTickHistogram
+    private static final Map<Class<?>, TickHistogram> CLASS_TICK_HISTOGRAMS = new Object2ObjectOpenHashMap<>();
+
+    private TickHistogram tickHistogram;
+    // the amount of ticks left before the next sampled tick
+    private int ticksUntilSample;
     private int lagWarningCount = 0;
     protected static final DecimalFormat tricorderFormat = new DecimalFormat("#.#########");
 
@@ -199,7 +217,9 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
 
     @Override
     public void update() {
-        long tickTime = System.nanoTime();
+        // only sampled ticks are timed, which the lag warnings are checked on as well
+        boolean measureTick = !world.isRemote && shouldSampleTick();
+        long tickTime = measureTick ? System.nanoTime() : 0;
         if (metaTileEntity != null) {
             metaTileEntity.update();
         } else if (world.isRemote) { // recover the mte
@@ -215,11 +235,14 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
             this.needToUpdateLightning = false;
         }
 
-        if (!world.isRemote && metaTileEntity != null && getMetaTileEntity().isValid()) {
+        if (measureTick && metaTileEntity != null && getMetaTileEntity().isValid()) {
             tickTime = System.nanoTime() - tickTime;
-            if (timeStatistics.length > 0) {
-                timeStatistics[timeStatisticsIndex] = (int) tickTime;
-                timeStatisticsIndex = (timeStatisticsIndex + 1) % timeStatistics.length;
+            TickHistogram histogram = getTickHistogram();
+            if (histogram != null) {
+                histogram.add(tickTime);
+            }
+            if (TickProfiler.isActive()) {
+                TickProfiler.record(TickCategory.MACHINE, getMetaTileEntity().getClass(), world, pos, tickTime);
             }
             if (tickTime > 100_000_000L && getMetaTileEntity().doTickProfileMessage() && lagWarningCount++ < 10)
                 GTLog.logger.warn("WARNING: Possible Lag Source at [" + getPos().getX() + ", " + getPos().getY() +
@@ -232,6 +255,22 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
         super.update();
     }
 
+    private boolean shouldSampleTick() {
+        if (TickProfiler.isActive()) return true;
+        double sampleRate = ConfigHolder.misc.machineTickSampleRate;
+        if (sampleRate >= 1) return true;
+        if (sampleRate <= 0) return false;
+        if (ticksUntilSample > 0) {
+            ticksUntilSample--;
+            return false;
+        }
+        // vary the distance to the next sample around its average instead of sampling every n-th tick, so work done
+        // every n ticks is not always hit or always missed
+        int interval = (int) Math.min(Integer.MAX_VALUE / 2, Math.round(1 / sampleRate));
+        ticksUntilSample = GTValues.RNG.nextInt(2 * interval - 1);
+        return true;
+    }
+
     public ArrayList<ITextComponent> getDebugInfo(EntityPlayer player, int logLevel) {
         ArrayList<ITextComponent> list = new ArrayList<>();
         if (logLevel > 2) {
@@ -256,19 +295,25 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
             }
         }
         if (logLevel > 1) {
-            double[] timeStats = getTimeStatistics();
-            if (timeStats != null) {
-                double averageTickTime = timeStats[0];
-                double worstTickTime = timeStats[1];
+            TickHistogram histogram = getTickHistogram();
+            if (histogram != null && histogram.getCount() > 0) {
+                double averageTickTime = histogram.getMean();
+                double worstTickTime = histogram.getMax();
 
                 list.add(new TextComponentTranslation("behavior.tricorder.debug_cpu_load",
-                        new TextComponentTranslation(
-                                TextFormattingUtil.formatNumbers(averageTickTime / timeStatistics.length))
-                                        .setStyle(new Style().setColor(TextFormatting.YELLOW)),
-                        new TextComponentTranslation(TextFormattingUtil.formatNumbers(timeStatistics.length))
+                        new TextComponentTranslation(TextFormattingUtil.formatNumbers(averageTickTime))
+                                .setStyle(new Style().setColor(TextFormatting.YELLOW)),
+                        new TextComponentTranslation(TextFormattingUtil.formatNumbers(histogram.getCount()))
                                 .setStyle(new Style().setColor(TextFormatting.GREEN)),
                         new TextComponentTranslation(TextFormattingUtil.formatNumbers(worstTickTime))
                                 .setStyle(new Style().setColor(TextFormatting.RED))));
+                list.add(new TextComponentTranslation("behavior.tricorder.debug_cpu_load_percentiles",
+                        new TextComponentTranslation(TextFormattingUtil.formatNumbers(histogram.getPercentile(0.5)))
+                                .setStyle(new Style().setColor(TextFormatting.YELLOW)),
+                        new TextComponentTranslation(TextFormattingUtil.formatNumbers(histogram.getPercentile(0.9)))
+                                .setStyle(new Style().setColor(TextFormatting.YELLOW)),
+                        new TextComponentTranslation(TextFormattingUtil.formatNumbers(histogram.getPercentile(0.99)))
+                                .setStyle(new Style().setColor(TextFormatting.RED))));
                 list.add(new TextComponentTranslation("behavior.tricorder.debug_cpu_load_seconds",
                         tricorderFormat.format(worstTickTime / 1000000000)));
             }
@@ -285,22 +330,42 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
     }
 
     /**
-     * @return double array of length 2, with index 0 being the average time and index 1 the worst time, in ns.
-     *         If there is no tick time, it will return null.
+     * @return double array of length 2, with index 0 being the total time of {@link #TRACKED_TICKS} average ticks and
+     *         index 1 the worst time, in ns. If there is no tick time, it will return null.
+     * @deprecated use {@link #getTickHistogram()}
      */
+    @Deprecated
+    @Nullable
     public double[] getTimeStatistics() {
-        if (timeStatistics.length > 0) {
-            double averageTickTime = 0;
-            double worstTickTime = 0;
-            for (int tickTime : timeStatistics) {
-                averageTickTime += tickTime;
-                if (tickTime > worstTickTime) {
-                    worstTickTime = tickTime;
-                }
+        TickHistogram histogram = getTickHistogram();
+        if (histogram == null || histogram.getCount() == 0) return null;
+        return new double[] { histogram.getMean() * TRACKED_TICKS, histogram.getMax() };
+    }
+
+    /**
+     * The tick times of this holder, or of all holders with the same MetaTileEntity class if per machine tick
+     * statistics are disabled. Only a sample of ticks is recorded, see {@code ConfigHolder.misc.machineTickSampleRate}.
+     * <p>
+     * Tick times are only recorded on the server. Must be called on the server thread, as the histograms are not
+     * thread safe and the histograms shared by class are created on demand.
+     *
+     * @return the tick time histogram, or null if there is no MetaTileEntity or this is a client side holder
+     */
+    @Nullable
+    public TickHistogram getTickHistogram() {
+        if (metaTileEntity == null || world == null || world.isRemote) return null;
+        if (ConfigHolder.misc.perMachineTickStatistics) {
+            if (tickHistogram == null) {
+                tickHistogram = new TickHistogram(TICK_HISTOGRAM_DECAY);
             }
-            return new double[] { averageTickTime, worstTickTime };
+            return tickHistogram;
+        }
+        TickHistogram histogram = CLASS_TICK_HISTOGRAMS.get(metaTileEntity.getClass());
+        if (histogram == null) {
+            histogram = new TickHistogram(CLASS_TICK_HISTOGRAM_DECAY);
+            CLASS_TICK_HISTOGRAMS.put(metaTileEntity.getClass(), histogram);
         }
-        return null;
+        return histogram;
     }
 
     @Override
@@ -2,7 +2,7 @@ package gregtech.api.metatileentity;
 
 import gregtech.api.block.BlockStateTileEntity;
 import gregtech.api.metatileentity.interfaces.ISyncedTileEntity;
-import gregtech.api.network.PacketDataList;
+import gregtech.api.network.PacketDataBuffer;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTBase;
@@ -27,7 +27,7 @@ import java.util.function.Consumer;
 public abstract class SyncedTileEntityBase extends BlockStateTileEntity implements ISyncedTileEntity {
 
     public static final int SIZE_THRESHOLD = 10;
-    private final PacketDataList updates = new PacketDataList();
+    private final PacketDataBuffer updates = new PacketDataBuffer();
 
     public @Nullable TileEntity getNeighbor(EnumFacing facing) {
         if (world == null || pos == null) return null;
@@ -36,10 +36,7 @@ public abstract class SyncedTileEntityBase extends BlockStateTileEntity implemen
 
     @Override
     public final void writeCustomData(int discriminator, @NotNull Consumer<@NotNull PacketBuffer> dataWriter) {
-        ByteBuf backedBuffer = Unpooled.buffer();
-        dataWriter.accept(new PacketBuffer(backedBuffer));
-        byte[] updateData = Arrays.copyOfRange(backedBuffer.array(), 0, backedBuffer.writerIndex());
-        this.updates.add(discriminator, updateData);
+        this.updates.add(discriminator, dataWriter);
         notifyWorld();
     }
 
@@ -87,18 +84,28 @@ public abstract class SyncedTileEntityBase extends BlockStateTileEntity implemen
             return null;
         }
         NBTTagCompound updateTag = new NBTTagCompound();
-        updateTag.setTag("d", this.updates.dumpToNbt());
+        updateTag.setByteArray("b", this.updates.dump());
         return new SPacketUpdateTileEntity(getPos(), 0, updateTag);
     }
 
     @Override
     public final void onDataPacket(@NotNull NetworkManager net, @NotNull SPacketUpdateTileEntity pkt) {
         NBTTagCompound updateTag = pkt.getNbtCompound();
+        if (updateTag.hasKey("b", Constants.NBT.TAG_BYTE_ARRAY)) {
+            PacketDataBuffer.read(updateTag.getByteArray("b"), (dataId, backedBuffer) -> {
+                ISyncedTileEntity.addCode(dataId, this);
+                receiveCustomData(dataId, new PacketBuffer(backedBuffer));
+                ISyncedTileEntity.checkData(backedBuffer);
+            });
+            return;
+        }
+
+        // legacy format, with one compound per update keyed by the discriminator
         NBTTagList listTag = updateTag.getTagList("d", Constants.NBT.TAG_COMPOUND);
         for (NBTBase entryBase : listTag) {
             NBTTagCompound entryTag = (NBTTagCompound) entryBase;
             for (String discriminatorKey : entryTag.getKeySet()) {
-                ByteBuf backedBuffer = Unpooled.copiedBuffer(entryTag.getByteArray(discriminatorKey));
+                ByteBuf backedBuffer = Unpooled.wrappedBuffer(entryTag.getByteArray(discriminatorKey));
                 int dataId = Integer.parseInt(discriminatorKey);
                 ISyncedTileEntity.addCode(dataId, this);
                 receiveCustomData(dataId, new PacketBuffer(backedBuffer));
@@ -121,7 +128,7 @@ public abstract class SyncedTileEntityBase extends BlockStateTileEntity implemen
     public final void handleUpdateTag(@NotNull NBTTagCompound tag) {
         super.readFromNBT(tag); // deserializes Forge data and capabilities
         byte[] updateData = tag.getByteArray("d");
-        ByteBuf backedBuffer = Unpooled.copiedBuffer(updateData);
+        ByteBuf backedBuffer = Unpooled.wrappedBuffer(updateData);
         ISyncedTileEntity.track(this);
         receiveInitialSyncData(new PacketBuffer(backedBuffer));
         ISyncedTileEntity.checkData(backedBuffer);
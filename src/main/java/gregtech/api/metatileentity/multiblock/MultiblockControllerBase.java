@@ -24,6 +24,7 @@ import gregtech.client.renderer.ICubeRenderer;
 import gregtech.client.renderer.handler.MultiblockPreviewRenderer;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.client.renderer.texture.cube.SimpleOrientedCubeRenderer;
+import gregtech.common.ConfigHolder;
 import gregtech.common.blocks.MetaBlocks;
 
 import net.minecraft.block.Block;
@@ -83,6 +84,10 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     private final Map<MultiblockAbility<Object>, AbilityInstances> multiblockAbilities = new HashMap<>();
     private final List<IMultiblockPart> multiblockParts = new ArrayList<>();
     private boolean structureFormed;
+    // if the structure blocks are registered in the MultiblockStructureIndex
+    private boolean structureWatched;
+    private boolean structureChanged;
+    private long lastStructureCheck;
 
     protected EnumFacing upwardsFacing = EnumFacing.NORTH;
     protected boolean isFlipped;
@@ -99,13 +104,14 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
 
     public void reinitializeStructurePattern() {
         this.structurePattern = createStructurePattern();
+        this.structureChanged = true;
     }
 
     @Override
     public void update() {
         super.update();
         if (!getWorld().isRemote) {
-            if (getOffsetTimer() % 20 == 0 || isFirstTick()) {
+            if (shouldCheckStructure()) {
                 checkStructurePattern();
             }
             // DummyWorld is the world for the JEI preview. We do not want to update the Multi in this world,
@@ -116,6 +122,39 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         }
     }
 
+    /**
+     * Formed structures registered in the {@link MultiblockStructureIndex} are only checked after one of their blocks
+     * changed, and every {@link ConfigHolder.MachineOptions#structureSafetyCheckInterval} ticks. All other structures
+     * are checked once a second.
+     */
+    private boolean shouldCheckStructure() {
+        if (isFirstTick()) return true;
+        long timer = getOffsetTimer();
+        if (timer % 20 != 0) return false;
+        return !structureWatched || structureChanged ||
+                timer - lastStructureCheck >= ConfigHolder.machines.structureSafetyCheckInterval;
+    }
+
+    /**
+     * Called by the {@link MultiblockStructureIndex} when a block of the formed structure changed
+     */
+    void markStructureChanged() {
+        this.structureChanged = true;
+    }
+
+    private void updateStructureWatch() {
+        boolean watch = structureFormed && structurePattern != null && !structurePattern.cache.isEmpty() &&
+                ConfigHolder.machines.eventDrivenStructureChecks && !getWorld().isRemote &&
+                !(getWorld() instanceof DummyWorld);
+        if (watch) {
+            MultiblockStructureIndex.watch(this, structurePattern.cache.keySet());
+            this.structureWatched = true;
+        } else if (structureWatched) {
+            MultiblockStructureIndex.unwatch(this);
+            this.structureWatched = false;
+        }
+    }
+
     /**
      * Called when the multiblock is formed and validation predicate is matched
      */
@@ -342,6 +381,8 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public void checkStructurePattern() {
         if (structurePattern == null) return;
+        this.structureChanged = false;
+        this.lastStructureCheck = getOffsetTimer();
         PatternMatchContext context = structurePattern.checkPatternFastAt(getWorld(), getPos(),
                 getFrontFacing().getOpposite(), getUpwardsFacing(), allowsFlip());
         if (context != null && !structureFormed) {
@@ -384,6 +425,7 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
                 setFlipped(context.neededFlip());
             }
         }
+        updateStructureWatch();
     }
 
     /**
@@ -398,6 +440,10 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     protected void formStructure(PatternMatchContext context) {}
 
     public void invalidateStructure() {
+        if (structureWatched) {
+            MultiblockStructureIndex.unwatch(this);
+            this.structureWatched = false;
+        }
         this.multiblockParts.forEach(part -> part.removeFromMultiBlock(this));
         this.multiblockAbilities.clear();
         this.multiblockParts.clear();
@@ -414,6 +460,24 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         }
     }
 
+    @Override
+    public void onUnload() {
+        super.onUnload();
+        if (structureWatched) {
+            MultiblockStructureIndex.unwatch(this);
+            this.structureWatched = false;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (structureWatched) {
+            MultiblockStructureIndex.unwatch(this);
+            this.structureWatched = false;
+        }
+    }
+
     public <T> List<T> getAbilities(MultiblockAbility<T> ability) {
         return Collections.unmodifiableList(multiblockAbilities.getOrDefault(ability, AbilityInstances.EMPTY).cast());
     }
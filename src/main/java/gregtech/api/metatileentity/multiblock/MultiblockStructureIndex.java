@@ -0,0 +1,148 @@
+package gregtech.api.metatileentity.multiblock;
+
+import gregtech.api.GTValues;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A per-chunk index of the blocks of formed multiblock structures.
+ * <p>
+ * Formed controllers register the positions of their structure, and are told to check their structure again when a
+ * block changes at one of those positions, or when a chunk containing them is loaded. Block changes are detected with
+ * neighbor notifications, so changes which do not notify their neighbors are only noticed by the slow periodic check
+ * of the controller. Those are changes of a MetaTileEntity's state without a block change, such as a part's facing or
+ * the contents checked by a predicate, and {@code setBlockState} calls without the notify flag.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public final class MultiblockStructureIndex {
+
+    private static final Map<World, MultiblockStructureIndex> INDICES = new HashMap<>();
+
+    private final Long2ObjectMap<List<Watch>> watchesByChunk = new Long2ObjectOpenHashMap<>();
+    private final Map<MultiblockControllerBase, Watch> watches = new Reference2ObjectOpenHashMap<>();
+
+    private MultiblockStructureIndex() {}
+
+    /**
+     * Start watching the blocks of a structure, replacing the previously watched blocks of the controller if they
+     * differ.
+     *
+     * @param controller the controller of the structure
+     * @param positions  the positions of the blocks of the structure, as {@link BlockPos#toLong()}
+     */
+    static void watch(@NotNull MultiblockControllerBase controller, @NotNull LongSet positions) {
+        MultiblockStructureIndex index = INDICES.computeIfAbsent(controller.getWorld(),
+                world -> new MultiblockStructureIndex());
+        Watch previous = index.watches.get(controller);
+        // a formed structure usually matches the same blocks on every check, so keep its watch
+        if (previous != null && previous.positions.equals(positions)) return;
+        index.remove(controller);
+
+        Watch watch = new Watch(controller, new LongOpenHashSet(positions));
+        LongSet chunks = new LongOpenHashSet();
+        for (LongIterator iterator = positions.iterator(); iterator.hasNext();) {
+            BlockPos pos = BlockPos.fromLong(iterator.nextLong());
+            long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+            if (chunks.add(chunk)) {
+                List<Watch> list = index.watchesByChunk.get(chunk);
+                if (list == null) {
+                    list = new ObjectArrayList<>(1);
+                    index.watchesByChunk.put(chunk, list);
+                }
+                list.add(watch);
+            }
+        }
+        watch.chunks = chunks.toLongArray();
+        index.watches.put(controller, watch);
+    }
+
+    /**
+     * Stop watching the blocks of a structure.
+     *
+     * @param controller the controller of the structure
+     */
+    static void unwatch(@NotNull MultiblockControllerBase controller) {
+        MultiblockStructureIndex index = INDICES.get(controller.getWorld());
+        if (index != null) {
+            index.remove(controller);
+        }
+    }
+
+    private void remove(@NotNull MultiblockControllerBase controller) {
+        Watch watch = watches.remove(controller);
+        if (watch == null) return;
+        for (long chunk : watch.chunks) {
+            List<Watch> list = watchesByChunk.get(chunk);
+            if (list != null && list.remove(watch) && list.isEmpty()) {
+                watchesByChunk.remove(chunk);
+            }
+        }
+    }
+
+    @SubscribeEvent(receiveCanceled = true)
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getWorld().isRemote) return;
+        MultiblockStructureIndex index = INDICES.get(event.getWorld());
+        if (index == null) return;
+        BlockPos pos = event.getPos();
+        List<Watch> list = index.watchesByChunk.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (list == null) return;
+        long key = pos.toLong();
+        for (Watch watch : list) {
+            if (watch.positions.contains(key)) {
+                watch.controller.markStructureChanged();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getWorld().isRemote) return;
+        MultiblockStructureIndex index = INDICES.get(event.getWorld());
+        if (index == null) return;
+        List<Watch> list = index.watchesByChunk.get(ChunkPos.asLong(event.getChunk().x, event.getChunk().z));
+        if (list == null) return;
+        for (Watch watch : list) {
+            watch.controller.markStructureChanged();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isRemote) {
+            INDICES.remove(event.getWorld());
+        }
+    }
+
+    private static final class Watch {
+
+        private final MultiblockControllerBase controller;
+        private final LongSet positions;
+        private long[] chunks;
+
+        private Watch(@NotNull MultiblockControllerBase controller, @NotNull LongSet positions) {
+            this.controller = controller;
+            this.positions = positions;
+        }
+    }
+}
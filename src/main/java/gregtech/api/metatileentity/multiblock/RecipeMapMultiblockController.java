@@ -63,6 +63,7 @@ public abstract class RecipeMapMultiblockController extends MultiblockWithDispla
         super(metaTileEntityId);
         this.recipeMap = recipeMap;
         this.recipeMapWorkable = new MultiblockRecipeLogic(this);
+        this.recipeMapWorkable.setBatchedDistinctLookup(true);
         resetTileAbilities();
     }
 
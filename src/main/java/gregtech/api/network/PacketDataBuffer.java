@@ -0,0 +1,147 @@
+package gregtech.api.network;
+
+import net.minecraft.network.PacketBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Collects discriminator - data pairs in a single reused buffer, encoded as
+ * <code>[varint discriminator, varint length, data]*</code>.
+ * <p>
+ * Data is first written to a per-thread scratch buffer and then appended to this buffer, so adding data does not
+ * allocate once the buffers have grown to their working size. Use {@link #read(byte[], Reader)} to decode the dumped
+ * bytes without copying each entry.
+ */
+public class PacketDataBuffer {
+
+    private static final int INITIAL_CAPACITY = 64;
+    // buffers which grew larger than this are dropped after dumping, instead of being kept around by idle tiles
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    private static final ThreadLocal<ByteBuf> SCRATCH = ThreadLocal.withInitial(() -> Unpooled.buffer(256));
+
+    private @Nullable PacketBuffer buffer;
+    private int size = 0;
+
+    /**
+     * Adds a discriminator - data pair to the buffer
+     *
+     * @param discriminator data id
+     * @param dataWriter    the writer of the data
+     */
+    public void add(int discriminator, @NotNull Consumer<@NotNull PacketBuffer> dataWriter) {
+        ByteBuf scratch = SCRATCH.get();
+        boolean nested = scratch.writerIndex() != 0;
+        if (nested) {
+            // a data writer is adding data itself, so the shared scratch buffer is in use
+            scratch = Unpooled.buffer();
+        }
+        try {
+            dataWriter.accept(new PacketBuffer(scratch));
+            PacketBuffer target = getBuffer();
+            target.writeVarInt(discriminator);
+            target.writeVarInt(scratch.readableBytes());
+            target.writeBytes(scratch, scratch.readerIndex(), scratch.readableBytes());
+            this.size++;
+        } finally {
+            if (!nested) scratch.clear();
+        }
+    }
+
+    /**
+     * Adds all discriminator - data pairs from another buffer.
+     * This does not check if the other buffer is empty or the same buffer.
+     *
+     * @param dataBuffer other data buffer
+     */
+    public void addAll(@NotNull PacketDataBuffer dataBuffer) {
+        if (dataBuffer.buffer == null) return;
+        getBuffer().writeBytes(dataBuffer.buffer, dataBuffer.buffer.readerIndex(), dataBuffer.buffer.readableBytes());
+        this.size += dataBuffer.size;
+    }
+
+    /**
+     * @return amount of data packets
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no data packets
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * remove all data packets
+     */
+    public void clear() {
+        if (this.buffer != null) {
+            if (this.buffer.capacity() > MAX_RETAINED_CAPACITY) {
+                this.buffer = null;
+            } else {
+                this.buffer.clear();
+            }
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Copies all discriminator - data pairs to a byte array.
+     * Also removes all data packets from this buffer.
+     *
+     * @return the encoded discriminators and data
+     */
+    public byte @NotNull [] dump() {
+        byte[] bytes;
+        if (this.buffer == null) {
+            bytes = new byte[0];
+        } else {
+            bytes = new byte[this.buffer.readableBytes()];
+            this.buffer.readBytes(bytes);
+        }
+        clear();
+        return bytes;
+    }
+
+    /**
+     * Decodes discriminator - data pairs encoded by {@link #dump()}. The data passed to the reader is a slice of the
+     * given array, and is only valid until the reader returns.
+     *
+     * @param bytes  the encoded data
+     * @param reader the reader for each discriminator - data pair
+     */
+    public static void read(byte @NotNull [] bytes, @NotNull Reader reader) {
+        PacketBuffer buf = new PacketBuffer(Unpooled.wrappedBuffer(bytes));
+        while (buf.isReadable()) {
+            int discriminator = buf.readVarInt();
+            int length = buf.readVarInt();
+            reader.read(discriminator, buf.readSlice(length));
+        }
+    }
+
+    @NotNull
+    private PacketBuffer getBuffer() {
+        if (this.buffer == null) {
+            this.buffer = new PacketBuffer(Unpooled.buffer(INITIAL_CAPACITY));
+        }
+        return this.buffer;
+    }
+
+    @FunctionalInterface
+    public interface Reader {
+
+        /**
+         * @param discriminator data id
+         * @param data          the data
+         */
+        void read(int discriminator, @NotNull ByteBuf data);
+    }
+}
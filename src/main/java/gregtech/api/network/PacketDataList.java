@@ -3,6 +3,7 @@ package gregtech.api.network;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
@@ -12,7 +13,11 @@ import java.util.Arrays;
  * This is essentially equivalent to <code>List<Pair<Integer, byte[]>></code>, but more efficient.
  * {@link it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap} can not be used since it doesn't allow duplicate
  * discriminators.
+ *
+ * @deprecated use {@link PacketDataBuffer}, which avoids copying the data and the NBT string keys
  */
+@Deprecated
+@ApiStatus.ScheduledForRemoval(inVersion = "2.10")
 public class PacketDataList {
 
     private int[] discriminators;
@@ -18,14 +18,18 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.World;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -44,8 +48,15 @@ public class BlockPattern {
     protected final int palmLength; // x size
     protected final BlockWorldState worldState = new BlockWorldState();
     protected final PatternMatchContext matchContext = new PatternMatchContext();
-    protected final Map<TraceabilityPredicate.SimplePredicate, Integer> globalCount;
-    protected final Map<TraceabilityPredicate.SimplePredicate, Integer> layerCount;
+    // the limited predicates of the pattern, their ids are their indices
+    protected final TraceabilityPredicate.SimplePredicate[] limitedPredicates;
+    protected final Reference2IntMap<TraceabilityPredicate.SimplePredicate> limitedIds;
+    // counts of the limited predicates by id, -1 if the predicate was not tested yet
+    protected final int[] globalCount;
+    protected final int[] layerCount;
+    private final MutableBlockPos checkPos = new MutableBlockPos();
+    // the offsets of the unit x, y and z steps per front, up and flip orientation
+    private final int[][] offsetTables = new int[EnumFacing.VALUES.length * EnumFacing.VALUES.length * 2][];
 
     public Long2ObjectMap<BlockInfo> cache = new Long2ObjectOpenHashMap<>();
     // x, y, z, minZ, maxZ
@@ -59,8 +70,6 @@ public class BlockPattern {
     public BlockPattern(@NotNull TraceabilityPredicate[][][] predicatesIn, @NotNull RelativeDirection[] structureDir,
                         @NotNull int[][] aisleRepetitions) {
         this.blockMatches = predicatesIn;
-        this.globalCount = new HashMap<>();
-        this.layerCount = new HashMap<>();
         this.fingerLength = predicatesIn.length;
         this.structureDir = structureDir;
         this.aisleRepetitions = aisleRepetitions;
@@ -80,6 +89,25 @@ public class BlockPattern {
         }
 
         initializeCenterOffsets();
+
+        this.limitedIds = new Reference2IntOpenHashMap<>();
+        this.limitedIds.defaultReturnValue(-1);
+        List<TraceabilityPredicate.SimplePredicate> limited = new ArrayList<>();
+        for (TraceabilityPredicate[][] aisle : predicatesIn) {
+            for (TraceabilityPredicate[] row : aisle) {
+                for (TraceabilityPredicate predicate : row) {
+                    for (TraceabilityPredicate.SimplePredicate simplePredicate : predicate.limited) {
+                        if (!limitedIds.containsKey(simplePredicate)) {
+                            limitedIds.put(simplePredicate, limited.size());
+                            limited.add(simplePredicate);
+                        }
+                    }
+                }
+            }
+        }
+        this.limitedPredicates = limited.toArray(new TraceabilityPredicate.SimplePredicate[0]);
+        this.globalCount = new int[limitedPredicates.length];
+        this.layerCount = new int[limitedPredicates.length];
     }
 
     private void initializeCenterOffsets() {
@@ -109,8 +137,8 @@ public class BlockPattern {
                                                   EnumFacing upwardsFacing, boolean allowsFlip) {
         if (!cache.isEmpty()) {
             boolean pass = true;
-            for (Map.Entry<Long, BlockInfo> entry : cache.entrySet()) {
-                BlockPos pos = BlockPos.fromLong(entry.getKey());
+            for (Long2ObjectMap.Entry<BlockInfo> entry : cache.long2ObjectEntrySet()) {
+                BlockPos pos = BlockPos.fromLong(entry.getLongKey());
                 IBlockState blockState = world.getBlockState(pos);
                 if (blockState != entry.getValue().getBlockState()) {
                     pass = false;
@@ -150,9 +178,13 @@ public class BlockPattern {
         int minZ = -centerOffset[4];
 
         this.matchContext.reset();
-        this.globalCount.clear();
-        this.layerCount.clear();
+        Arrays.fill(this.globalCount, -1);
+        Arrays.fill(this.layerCount, -1);
         cache.clear();
+        int[] offsets = getOffsetTable(frontFacing, upwardsFacing, isFlipped);
+        int centerX = centerPos.getX();
+        int centerY = centerPos.getY();
+        int centerZ = centerPos.getZ();
         // Checking aisles
         for (int c = 0, z = minZ++, r; c < this.fingerLength; c++) {
             // Checking repeatable slices
@@ -160,26 +192,28 @@ public class BlockPattern {
             loop:
             for (r = 0; (findFirstAisle ? r < aisleRepetitions[c][1] : z <= -centerOffset[3]); r++) {
                 // Checking single slice
-                this.layerCount.clear();
+                Arrays.fill(this.layerCount, -1);
 
                 for (int b = 0, y = -centerOffset[1]; b < this.thumbLength; b++, y++) {
                     for (int a = 0, x = -centerOffset[0]; a < this.palmLength; a++, x++) {
                         TraceabilityPredicate predicate = this.blockMatches[c][b][a];
-                        BlockPos pos = RelativeDirection.setActualRelativeOffset(x, y, z, frontFacing, upwardsFacing,
-                                isFlipped, structureDir)
-                                .add(centerPos.getX(), centerPos.getY(), centerPos.getZ());
-                        worldState.update(world, pos, matchContext, globalCount, layerCount, predicate);
+                        checkPos.setPos(centerX + x * offsets[0] + y * offsets[3] + z * offsets[6],
+                                centerY + x * offsets[1] + y * offsets[4] + z * offsets[7],
+                                centerZ + x * offsets[2] + y * offsets[5] + z * offsets[8]);
+                        worldState.update(world, checkPos, matchContext, limitedIds, globalCount, layerCount,
+                                predicate);
                         TileEntity tileEntity = worldState.getTileEntity();
                         if (predicate != TraceabilityPredicate.ANY) {
                             if (tileEntity instanceof IGregTechTileEntity) {
                                 if (((IGregTechTileEntity) tileEntity).isValid()) {
-                                    cache.put(pos.toLong(),
+                                    cache.put(checkPos.toLong(),
                                             new BlockInfo(worldState.getBlockState(), tileEntity, predicate));
                                 } else {
-                                    cache.put(pos.toLong(), new BlockInfo(worldState.getBlockState(), null, predicate));
+                                    cache.put(checkPos.toLong(),
+                                            new BlockInfo(worldState.getBlockState(), null, predicate));
                                 }
                             } else {
-                                cache.put(pos.toLong(),
+                                cache.put(checkPos.toLong(),
                                         new BlockInfo(worldState.getBlockState(), tileEntity, predicate));
                             }
                         }
@@ -202,9 +236,9 @@ public class BlockPattern {
                 z++;
 
                 // Check layer-local matcher predicate
-                for (Map.Entry<TraceabilityPredicate.SimplePredicate, Integer> entry : layerCount.entrySet()) {
-                    if (entry.getValue() < entry.getKey().minLayerCount) {
-                        worldState.setError(new TraceabilityPredicate.SinglePredicateError(entry.getKey(), 3));
+                for (int id = 0; id < layerCount.length; id++) {
+                    if (layerCount[id] != -1 && layerCount[id] < limitedPredicates[id].minLayerCount) {
+                        worldState.setError(new TraceabilityPredicate.SinglePredicateError(limitedPredicates[id], 3));
                         return null;
                     }
                 }
@@ -223,9 +257,9 @@ public class BlockPattern {
         }
 
         // Check count matches amount
-        for (Map.Entry<TraceabilityPredicate.SimplePredicate, Integer> entry : globalCount.entrySet()) {
-            if (entry.getValue() < entry.getKey().minGlobalCount) {
-                worldState.setError(new TraceabilityPredicate.SinglePredicateError(entry.getKey(), 1));
+        for (int id = 0; id < globalCount.length; id++) {
+            if (globalCount[id] != -1 && globalCount[id] < limitedPredicates[id].minGlobalCount) {
+                worldState.setError(new TraceabilityPredicate.SinglePredicateError(limitedPredicates[id], 1));
                 return null;
             }
         }
@@ -235,6 +269,30 @@ public class BlockPattern {
         return matchContext;
     }
 
+    /**
+     * The relative offset of a pattern position is linear in its x, y and z coordinates, so it is computed from the
+     * offsets of the unit steps along each of them, which only depend on the orientation of the pattern.
+     *
+     * @return the x, y and z offsets of the unit x, y and z steps, in this order
+     */
+    private int[] getOffsetTable(EnumFacing frontFacing, EnumFacing upwardsFacing, boolean isFlipped) {
+        int index = (frontFacing.getIndex() * EnumFacing.VALUES.length + upwardsFacing.getIndex()) * 2 +
+                (isFlipped ? 1 : 0);
+        int[] table = offsetTables[index];
+        if (table == null) {
+            BlockPos xStep = RelativeDirection.setActualRelativeOffset(1, 0, 0, frontFacing, upwardsFacing,
+                    isFlipped, structureDir);
+            BlockPos yStep = RelativeDirection.setActualRelativeOffset(0, 1, 0, frontFacing, upwardsFacing,
+                    isFlipped, structureDir);
+            BlockPos zStep = RelativeDirection.setActualRelativeOffset(0, 0, 1, frontFacing, upwardsFacing,
+                    isFlipped, structureDir);
+            table = new int[] { xStep.getX(), xStep.getY(), xStep.getZ(), yStep.getX(), yStep.getY(), yStep.getZ(),
+                    zStep.getX(), zStep.getY(), zStep.getZ() };
+            offsetTables[index] = table;
+        }
+        return table;
+    }
+
     public void autoBuild(EntityPlayer player, MultiblockControllerBase controllerBase) {
         World world = player.world;
         BlockWorldState worldState = new BlockWorldState();
@@ -255,7 +313,7 @@ public class BlockPattern {
                                 controllerBase.getUpwardsFacing(),
                                 controllerBase.isFlipped(), structureDir)
                                 .add(centerPos.getX(), centerPos.getY(), centerPos.getZ());
-                        worldState.update(world, pos, matchContext, globalCount, layerCount, predicate);
+                        worldState.update(world, pos, matchContext, limitedIds, globalCount, layerCount, predicate);
                         if (!world.getBlockState(pos).getMaterial().isReplaceable()) {
                             blocks.put(pos, world.getBlockState(pos));
                             for (TraceabilityPredicate.SimplePredicate limit : predicate.limited) {
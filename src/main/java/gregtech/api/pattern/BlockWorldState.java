@@ -7,6 +7,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.World;
 
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
@@ -19,27 +21,57 @@ public class BlockWorldState {
     protected TileEntity tileEntity;
     protected boolean tileEntityInitialized;
     protected PatternMatchContext matchContext;
-    protected Map<TraceabilityPredicate.SimplePredicate, Integer> globalCount;
-    protected Map<TraceabilityPredicate.SimplePredicate, Integer> layerCount;
+    protected Reference2IntMap<TraceabilityPredicate.SimplePredicate> limitedIds;
+    protected int[] globalCount;
+    protected int[] layerCount;
     protected TraceabilityPredicate predicate;
     protected PatternError error;
 
+    /**
+     * @param limitedIds  the ids of the limited predicates, with a default return value of -1, or null to not keep
+     *                    counts
+     * @param globalCount the counts of the limited predicates in the whole pattern by id, -1 if not tested yet
+     * @param layerCount  the counts of the limited predicates in the current layer by id, -1 if not tested yet
+     */
     public void update(World worldIn, BlockPos posIn, PatternMatchContext matchContext,
-                       Map<TraceabilityPredicate.SimplePredicate, Integer> globalCount,
-                       Map<TraceabilityPredicate.SimplePredicate, Integer> layerCount,
-                       TraceabilityPredicate predicate) {
+                       Reference2IntMap<TraceabilityPredicate.SimplePredicate> limitedIds,
+                       int[] globalCount, int[] layerCount, TraceabilityPredicate predicate) {
         this.world = worldIn;
         this.pos = posIn;
         this.state = null;
         this.tileEntity = null;
         this.tileEntityInitialized = false;
         this.matchContext = matchContext;
+        this.limitedIds = limitedIds;
         this.globalCount = globalCount;
         this.layerCount = layerCount;
         this.predicate = predicate;
         this.error = null;
     }
 
+    /**
+     * Update the state without keeping counts of the limited predicates.
+     */
+    public void update(World worldIn, BlockPos posIn, PatternMatchContext matchContext,
+                       TraceabilityPredicate predicate) {
+        update(worldIn, posIn, matchContext, null, null, null, predicate);
+    }
+
+    /**
+     * @deprecated the counts are kept by id, use
+     *             {@link #update(World, BlockPos, PatternMatchContext, Reference2IntMap, int[], int[], TraceabilityPredicate)}
+     *             or {@link #update(World, BlockPos, PatternMatchContext, TraceabilityPredicate)}. The given maps are
+     *             not updated anymore.
+     */
+    @Deprecated
+    @ApiStatus.ScheduledForRemoval(inVersion = "2.10")
+    public void update(World worldIn, BlockPos posIn, PatternMatchContext matchContext,
+                       Map<TraceabilityPredicate.SimplePredicate, Integer> globalCount,
+                       Map<TraceabilityPredicate.SimplePredicate, Integer> layerCount,
+                       TraceabilityPredicate predicate) {
+        update(worldIn, posIn, matchContext, predicate);
+    }
+
     public boolean hasError() {
         return error != null;
     }
@@ -51,6 +83,25 @@ public class BlockWorldState {
         }
     }
 
+    int countGlobal(TraceabilityPredicate.SimplePredicate predicate, boolean matched) {
+        return count(globalCount, predicate, matched);
+    }
+
+    int countLayer(TraceabilityPredicate.SimplePredicate predicate, boolean matched) {
+        return count(layerCount, predicate, matched);
+    }
+
+    private int count(int[] counts, TraceabilityPredicate.SimplePredicate predicate, boolean matched) {
+        int id = limitedIds == null ? -1 : limitedIds.getInt(predicate);
+        if (id == -1) {
+            // not a predicate of the pattern, so there is nothing to count it with
+            return matched ? 1 : 0;
+        }
+        int count = Math.max(counts[id], 0) + (matched ? 1 : 0);
+        counts[id] = count;
+        return count;
+    }
+
     public PatternMatchContext getMatchContext() {
         return matchContext;
     }
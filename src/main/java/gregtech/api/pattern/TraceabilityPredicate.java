@@ -221,7 +221,13 @@ public class TraceabilityPredicate {
                 flag = true;
             }
         }
-        return flag || common.stream().anyMatch(predicate -> predicate.test(blockWorldState));
+        if (flag) return true;
+        for (SimplePredicate predicate : common) {
+            if (predicate.test(blockWorldState)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public TraceabilityPredicate or(TraceabilityPredicate other) {
@@ -306,10 +312,8 @@ public class TraceabilityPredicate {
 
         public boolean testGlobal(BlockWorldState blockWorldState) {
             if (minGlobalCount == -1 && maxGlobalCount == -1) return true;
-            Integer count = blockWorldState.globalCount.get(this);
             boolean base = predicate.test(blockWorldState);
-            count = (count == null ? 0 : count) + (base ? 1 : 0);
-            blockWorldState.globalCount.put(this, count);
+            int count = blockWorldState.countGlobal(this, base);
             if (maxGlobalCount == -1 || count <= maxGlobalCount) return base;
             blockWorldState.setError(new SinglePredicateError(this, 0));
             return false;
@@ -317,10 +321,8 @@ public class TraceabilityPredicate {
 
         public boolean testLayer(BlockWorldState blockWorldState) {
             if (minLayerCount == -1 && maxLayerCount == -1) return true;
-            Integer count = blockWorldState.layerCount.get(this);
             boolean base = predicate.test(blockWorldState);
-            count = (count == null ? 0 : count) + (base ? 1 : 0);
-            blockWorldState.layerCount.put(this, count);
+            int count = blockWorldState.countLayer(this, base);
             if (maxLayerCount == -1 || count <= maxLayerCount) return base;
             blockWorldState.setError(new SinglePredicateError(this, 2));
             return false;
@@ -0,0 +1,83 @@
+package gregtech.api.pipenet;
+
+import gregtech.api.util.GTLog;
+
+import net.minecraft.util.math.BlockPos;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Walks {@link PipeNetSnapshot}s on a pool of worker threads.
+ * <p>
+ * Nets submit a walk when routes are requested and collect the finished walk on a later request, using no routes in
+ * the meantime. A finished walk must be checked with {@link PipeNet#isSnapshotCurrent(PipeNetSnapshot)} before using
+ * it, as the net may have changed while walking.
+ */
+public final class AsyncPipeNetWalker {
+
+    private static ExecutorService executor;
+
+    private AsyncPipeNetWalker() {}
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+            AtomicInteger threadId = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "GregTech Pipe Net Walker #" + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Stops the worker threads, discarding all walks which did not finish yet. The threads are started again on the
+     * next submitted walk.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Start walking a snapshot on a worker thread.
+     *
+     * @param snapshot the snapshot to walk
+     * @param source   the position to start walking from
+     * @return the pending walk
+     */
+    @NotNull
+    public static <T> Future<PipeNetSnapshot.Walk<T>> submit(@NotNull PipeNetSnapshot<T> snapshot,
+                                                             @NotNull BlockPos source) {
+        long sourcePos = source.toLong();
+        return getExecutor().submit(() -> snapshot.walk(sourcePos));
+    }
+
+    /**
+     * @param walk a finished walk
+     * @return the result of the walk, or null if it failed
+     */
+    @Nullable
+    public static <T> PipeNetSnapshot.Walk<T> getResult(@NotNull Future<PipeNetSnapshot.Walk<T>> walk) {
+        try {
+            return walk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            GTLog.logger.error("Failed to walk pipe net", e.getCause());
+            return null;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants.NBT;
@@ -12,25 +11,40 @@ import net.minecraftforge.common.util.INBTSerializable;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayDeque;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCompound> {
 
     protected final WorldPipeNet<NodeDataType, PipeNet<NodeDataType>> worldData;
-    private final Map<BlockPos, Node<NodeDataType>> nodeByBlockPos = new HashMap<>();
-    private final Map<BlockPos, Node<NodeDataType>> unmodifiableNodeByBlockPos = Collections
-            .unmodifiableMap(nodeByBlockPos);
-    private final Map<ChunkPos, Integer> ownedChunks = new HashMap<>();
+    // keyed by BlockPos#toLong
+    private final Long2ObjectOpenHashMap<Node<NodeDataType>> nodeByBlockPos = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<Node<NodeDataType>> unmodifiableNodeByBlockPos = Long2ObjectMaps
+            .unmodifiable(nodeByBlockPos);
+    // node count per chunk, keyed by ChunkPos#asLong
+    private final Long2IntOpenHashMap ownedChunks = new Long2IntOpenHashMap();
+    // the chunks of ownedChunks, created when first needed after they changed
+    private Set<ChunkPos> containedChunks;
     private long lastUpdate;
+    private PipeNetSnapshot<NodeDataType> snapshot;
     boolean isValid = false;
 
     public PipeNet(WorldPipeNet<NodeDataType, ? extends PipeNet<NodeDataType>> world) {
@@ -38,8 +52,19 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         this.worldData = (WorldPipeNet<NodeDataType, PipeNet<NodeDataType>>) world;
     }
 
+    /**
+     * @return an unmodifiable set of all chunks containing at least one node of this net
+     */
     public Set<ChunkPos> getContainedChunks() {
-        return Collections.unmodifiableSet(ownedChunks.keySet());
+        if (containedChunks == null) {
+            Set<ChunkPos> chunks = new ObjectOpenHashSet<>(ownedChunks.size());
+            for (LongIterator iterator = ownedChunks.keySet().iterator(); iterator.hasNext();) {
+                long chunkKey = iterator.nextLong();
+                chunks.add(new ChunkPos((int) chunkKey, (int) (chunkKey >> 32)));
+            }
+            this.containedChunks = Collections.unmodifiableSet(chunks);
+        }
+        return containedChunks;
     }
 
     public World getWorldData() {
@@ -59,6 +84,27 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
      */
     protected void onNodeConnectionsUpdate() {
         this.lastUpdate = System.currentTimeMillis();
+        this.snapshot = null;
+    }
+
+    /**
+     * The snapshot is taken lazily and reused until any node of this net changes.
+     *
+     * @return an immutable copy of the current node graph of this net
+     */
+    public PipeNetSnapshot<NodeDataType> getSnapshot() {
+        if (snapshot == null) {
+            snapshot = new PipeNetSnapshot<>(this);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @param snapshot the snapshot to check
+     * @return if the snapshot is still equal to the node graph of this net
+     */
+    public boolean isSnapshotCurrent(PipeNetSnapshot<NodeDataType> snapshot) {
+        return this.snapshot == snapshot;
     }
 
     /**
@@ -73,23 +119,78 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
      */
     public void onChunkUnload() {}
 
+    /**
+     * Is called when any Pipe TE in the PipeNet is unloaded. Calls {@link #onChunkUnload()} by default, override this
+     * to only invalidate data depending on the unloaded pipe.
+     *
+     * @param pipePos the position of the unloaded pipe
+     */
+    public void onChunkUnload(BlockPos pipePos) {
+        onChunkUnload();
+    }
+
+    /**
+     * @return a new map of all nodes in this net
+     * @deprecated copies every node, use {@link #getNodes()} instead
+     */
+    @Deprecated
+    @ApiStatus.ScheduledForRemoval(inVersion = "2.10")
     public Map<BlockPos, Node<NodeDataType>> getAllNodes() {
+        return toBlockPosMap(nodeByBlockPos, new Object2ObjectOpenHashMap<>(nodeByBlockPos.size()));
+    }
+
+    private static <N, M extends Map<BlockPos, N>> M toBlockPosMap(Long2ObjectMap<N> nodes, M target) {
+        for (Long2ObjectMap.Entry<N> entry : nodes.long2ObjectEntrySet()) {
+            target.put(BlockPos.fromLong(entry.getLongKey()), entry.getValue());
+        }
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <N> Long2ObjectMap<N> toLongMap(Map<BlockPos, N> nodes) {
+        if (nodes instanceof BlockPosNodeView) {
+            return ((BlockPosNodeView<N>) nodes).nodes;
+        }
+        Long2ObjectMap<N> target = new Long2ObjectOpenHashMap<>(nodes.size());
+        nodes.forEach((pos, node) -> target.put(pos.toLong(), node));
+        return target;
+    }
+
+    /**
+     * @return an unmodifiable view of all nodes in this net, keyed by {@link BlockPos#toLong()}
+     */
+    public Long2ObjectMap<Node<NodeDataType>> getNodes() {
         return unmodifiableNodeByBlockPos;
     }
 
     public Node<NodeDataType> getNodeAt(BlockPos blockPos) {
+        return nodeByBlockPos.get(blockPos.toLong());
+    }
+
+    public Node<NodeDataType> getNodeAt(long blockPos) {
         return nodeByBlockPos.get(blockPos);
     }
 
     public boolean containsNode(BlockPos blockPos) {
+        return nodeByBlockPos.containsKey(blockPos.toLong());
+    }
+
+    public boolean containsNode(long blockPos) {
         return nodeByBlockPos.containsKey(blockPos);
     }
 
     protected void addNodeSilently(BlockPos nodePos, Node<NodeDataType> node) {
-        this.nodeByBlockPos.put(nodePos, node);
+        this.nodeByBlockPos.put(nodePos.toLong(), node);
+        this.snapshot = null;
         checkAddedInChunk(nodePos);
     }
 
+    private void addNodeSilently(long nodePos, Node<NodeDataType> node) {
+        this.nodeByBlockPos.put(nodePos, node);
+        this.snapshot = null;
+        addToChunk(unpackX(nodePos) >> 4, unpackZ(nodePos) >> 4);
+    }
+
     protected void addNode(BlockPos nodePos, Node<NodeDataType> node) {
         addNodeSilently(nodePos, node);
         onNodeConnectionsUpdate();
@@ -97,34 +198,48 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     }
 
     protected Node<NodeDataType> removeNodeWithoutRebuilding(BlockPos nodePos) {
+        return removeNodeWithoutRebuilding(nodePos.toLong());
+    }
+
+    private Node<NodeDataType> removeNodeWithoutRebuilding(long nodePos) {
         Node<NodeDataType> removedNode = this.nodeByBlockPos.remove(nodePos);
-        ensureRemovedFromChunk(nodePos);
+        this.snapshot = null;
+        removeFromChunk(unpackX(nodePos) >> 4, unpackZ(nodePos) >> 4);
         worldData.markDirty();
         return removedNode;
     }
 
     protected void removeNode(BlockPos nodePos) {
-        if (nodeByBlockPos.containsKey(nodePos)) {
+        if (containsNode(nodePos)) {
             Node<NodeDataType> selfNode = removeNodeWithoutRebuilding(nodePos);
             rebuildNetworkOnNodeRemoval(nodePos, selfNode);
         }
     }
 
     protected void checkAddedInChunk(BlockPos nodePos) {
-        ChunkPos chunkPos = new ChunkPos(nodePos);
-        int newValue = this.ownedChunks.compute(chunkPos, (pos, old) -> (old == null ? 0 : old) + 1);
-        if (newValue == 1 && isValid()) {
-            this.worldData.addPipeNetToChunk(chunkPos, this);
-        }
+        addToChunk(nodePos.getX() >> 4, nodePos.getZ() >> 4);
     }
 
     protected void ensureRemovedFromChunk(BlockPos nodePos) {
-        ChunkPos chunkPos = new ChunkPos(nodePos);
-        int newValue = this.ownedChunks.compute(chunkPos, (pos, old) -> old == null ? 0 : old - 1);
-        if (newValue == 0) {
-            this.ownedChunks.remove(chunkPos);
+        removeFromChunk(nodePos.getX() >> 4, nodePos.getZ() >> 4);
+    }
+
+    private void addToChunk(int chunkX, int chunkZ) {
+        if (this.ownedChunks.addTo(ChunkPos.asLong(chunkX, chunkZ), 1) == 0) {
+            this.containedChunks = null;
+            if (isValid()) {
+                this.worldData.addPipeNetToChunk(new ChunkPos(chunkX, chunkZ), this);
+            }
+        }
+    }
+
+    private void removeFromChunk(int chunkX, int chunkZ) {
+        long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.ownedChunks.addTo(chunkKey, -1) <= 1) {
+            this.ownedChunks.remove(chunkKey);
+            this.containedChunks = null;
             if (isValid()) {
-                this.worldData.removePipeNetFromChunk(chunkPos, this);
+                this.worldData.removePipeNetFromChunk(new ChunkPos(chunkX, chunkZ), this);
             }
         }
     }
@@ -156,14 +271,14 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                 if (canNodesConnect(selfNode, facing, getNodeAt(offsetPos), this)) {
                     // now block again to call findAllConnectedBlocks
                     setBlocked(selfNode, facing, true);
-                    HashMap<BlockPos, Node<NodeDataType>> thisENet = findAllConnectedBlocks(nodePos);
-                    if (!getAllNodes().equals(thisENet)) {
+                    Long2ObjectMap<Node<NodeDataType>> thisENet = findConnectedNodes(nodePos);
+                    if (thisENet.size() != nodeByBlockPos.size()) {
                         // node visibility has changed, split network into 2
                         // node that code below is similar to removeNodeInternal, but only for 2 networks, and without
                         // node removal
                         PipeNet<NodeDataType> newPipeNet = worldData.createNetInstance();
-                        thisENet.keySet().forEach(this::removeNodeWithoutRebuilding);
-                        newPipeNet.transferNodeData(thisENet, this);
+                        removeNodesWithoutRebuilding(thisENet);
+                        newPipeNet.transferNodes(thisENet, this);
                         worldData.addPipeNet(newPipeNet);
                     }
                 }
@@ -189,7 +304,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         if (!containsNode(nodePos)) {
             return;
         }
-        HashMap<BlockPos, Node<NodeDataType>> selfConnectedBlocks = null;
+        Long2ObjectMap<Node<NodeDataType>> selfConnectedBlocks = null;
         Node<NodeDataType> selfNode = getNodeAt(nodePos);
         int oldMark = selfNode.mark;
         selfNode.mark = newMark;
@@ -215,19 +330,19 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                 // search connected nodes from newly marked node
                 // populate self connected blocks lazily only once
                 if (selfConnectedBlocks == null) {
-                    selfConnectedBlocks = findAllConnectedBlocks(nodePos);
+                    selfConnectedBlocks = findConnectedNodes(nodePos);
                 }
-                if (getAllNodes().equals(selfConnectedBlocks)) {
+                if (selfConnectedBlocks.size() == nodeByBlockPos.size()) {
                     continue; // if this node is still connected to this network, just continue
                 }
                 // otherwise, it is not connected
-                HashMap<BlockPos, Node<NodeDataType>> offsetConnectedBlocks = findAllConnectedBlocks(offsetPos);
                 // if in the result of remarking offset node has separated from main network,
                 // and it is also separated from current cable too, form new network for it
-                if (!offsetConnectedBlocks.equals(selfConnectedBlocks)) {
-                    offsetConnectedBlocks.keySet().forEach(this::removeNodeWithoutRebuilding);
+                if (!selfConnectedBlocks.containsKey(offsetPos.toLong())) {
+                    Long2ObjectMap<Node<NodeDataType>> offsetConnectedBlocks = findConnectedNodes(offsetPos);
+                    removeNodesWithoutRebuilding(offsetConnectedBlocks);
                     PipeNet<NodeDataType> offsetPipeNet = worldData.createNetInstance();
-                    offsetPipeNet.transferNodeData(offsetConnectedBlocks, this);
+                    offsetPipeNet.transferNodes(offsetConnectedBlocks, this);
                     worldData.addPipeNet(offsetPipeNet);
                 }
             }
@@ -237,6 +352,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     }
 
     private void setBlocked(Node<NodeDataType> selfNode, EnumFacing facing, boolean isBlocked) {
+        this.snapshot = null;
         if (!isBlocked) {
             selfNode.openConnections |= 1 << facing.getIndex();
         } else {
@@ -255,10 +371,16 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     }
 
     protected final void uniteNetworks(PipeNet<NodeDataType> unitedPipeNet) {
-        Map<BlockPos, Node<NodeDataType>> allNodes = new HashMap<>(unitedPipeNet.getAllNodes());
+        Long2ObjectMap<Node<NodeDataType>> allNodes = new Long2ObjectOpenHashMap<>(unitedPipeNet.nodeByBlockPos);
         worldData.removePipeNet(unitedPipeNet);
-        allNodes.keySet().forEach(unitedPipeNet::removeNodeWithoutRebuilding);
-        transferNodeData(allNodes, unitedPipeNet);
+        unitedPipeNet.removeNodesWithoutRebuilding(allNodes);
+        transferNodes(allNodes, unitedPipeNet);
+    }
+
+    private void removeNodesWithoutRebuilding(Long2ObjectMap<Node<NodeDataType>> nodes) {
+        for (LongIterator iterator = nodes.keySet().iterator(); iterator.hasNext();) {
+            removeNodeWithoutRebuilding(iterator.nextLong());
+        }
     }
 
     private boolean areNodeBlockedConnectionsCompatible(Node<NodeDataType> first, EnumFacing firstFacing,
@@ -282,36 +404,66 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                 areNodesCustomContactable(first.data, second.data, secondPipeNet);
     }
 
-    // we need to search only this network
+    /**
+     * @deprecated copies every connected node, use {@link #findAllConnectedNodes(BlockPos)} instead
+     */
+    @Deprecated
+    @ApiStatus.ScheduledForRemoval(inVersion = "2.10")
     protected HashMap<BlockPos, Node<NodeDataType>> findAllConnectedBlocks(BlockPos startPos) {
-        HashMap<BlockPos, Node<NodeDataType>> observedSet = new HashMap<>();
-        observedSet.put(startPos, getNodeAt(startPos));
-        Node<NodeDataType> firstNode = getNodeAt(startPos);
-        MutableBlockPos currentPos = new MutableBlockPos(startPos);
-        Deque<EnumFacing> moveStack = new ArrayDeque<>();
-        main:
-        while (true) {
+        return toBlockPosMap(findAllConnectedNodes(startPos), new HashMap<>());
+    }
+
+    // called through the deprecated finder so overrides of either one are used, only happens when a net splits
+    @SuppressWarnings("deprecation")
+    private Long2ObjectMap<Node<NodeDataType>> findConnectedNodes(BlockPos startPos) {
+        return toLongMap(findAllConnectedBlocks(startPos));
+    }
+
+    // we need to search only this network
+    protected Long2ObjectOpenHashMap<Node<NodeDataType>> findAllConnectedNodes(BlockPos startPos) {
+        long startKey = startPos.toLong();
+        Long2ObjectOpenHashMap<Node<NodeDataType>> observedSet = new Long2ObjectOpenHashMap<>();
+        observedSet.put(startKey, nodeByBlockPos.get(startKey));
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        queue.enqueue(startKey);
+        while (!queue.isEmpty()) {
+            long currentKey = queue.dequeueLong();
+            Node<NodeDataType> currentNode = observedSet.get(currentKey);
             for (EnumFacing facing : EnumFacing.VALUES) {
-                currentPos.move(facing);
-                Node<NodeDataType> secondNode = getNodeAt(currentPos);
-                // if there is node, and it can connect with previous node, add it to list, and set previous node as
-                // current
-                if (secondNode != null && canNodesConnect(firstNode, facing, secondNode, this) &&
-                        !observedSet.containsKey(currentPos)) {
-                    observedSet.put(currentPos.toImmutable(), getNodeAt(currentPos));
-                    firstNode = secondNode;
-                    moveStack.push(facing.getOpposite());
-                    continue main;
-                } else currentPos.move(facing.getOpposite());
+                long offsetKey = offset(currentKey, facing);
+                if (observedSet.containsKey(offsetKey)) continue;
+                Node<NodeDataType> secondNode = nodeByBlockPos.get(offsetKey);
+                // if there is node, and it can connect with current node, add it to list and visit it later
+                if (secondNode != null && canNodesConnect(currentNode, facing, secondNode, this)) {
+                    observedSet.put(offsetKey, secondNode);
+                    queue.enqueue(offsetKey);
+                }
             }
-            if (!moveStack.isEmpty()) {
-                currentPos.move(moveStack.pop());
-                firstNode = getNodeAt(currentPos);
-            } else break;
         }
         return observedSet;
     }
 
+    // the following unpack and offset positions packed by BlockPos#toLong without creating BlockPos instances
+
+    private static int unpackX(long pos) {
+        return (int) (pos >> 38);
+    }
+
+    private static int unpackY(long pos) {
+        return (int) (pos << 26 >> 52);
+    }
+
+    private static int unpackZ(long pos) {
+        return (int) (pos << 38 >> 38);
+    }
+
+    static long offset(long pos, EnumFacing facing) {
+        long x = unpackX(pos) + facing.getXOffset();
+        long y = unpackY(pos) + facing.getYOffset();
+        long z = unpackZ(pos) + facing.getZOffset();
+        return (x & 0x3FFFFFFL) << 38 | (y & 0xFFFL) << 26 | z & 0x3FFFFFFL;
+    }
+
     // called when node is removed to rebuild network
     protected void rebuildNetworkOnNodeRemoval(BlockPos nodePos, Node<NodeDataType> selfNode) {
         int amountOfConnectedSides = 0;
@@ -331,8 +483,8 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                     // if there isn't any neighbour node, or it wasn't connected with us, just skip it
                     continue;
                 }
-                HashMap<BlockPos, Node<NodeDataType>> thisENet = findAllConnectedBlocks(offsetPos);
-                if (getAllNodes().equals(thisENet)) {
+                Long2ObjectMap<Node<NodeDataType>> thisENet = findConnectedNodes(offsetPos);
+                if (thisENet.size() == nodeByBlockPos.size()) {
                     // if cable on some direction contains all nodes of this network
                     // the network didn't change so keep it as is
                     break;
@@ -340,13 +492,13 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                     // and use them to create new network with caching active nodes set
                     PipeNet<NodeDataType> energyNet = worldData.createNetInstance();
                     // remove blocks that aren't connected with this network
-                    thisENet.keySet().forEach(this::removeNodeWithoutRebuilding);
-                    energyNet.transferNodeData(thisENet, this);
+                    removeNodesWithoutRebuilding(thisENet);
+                    energyNet.transferNodes(thisENet, this);
                     worldData.addPipeNet(energyNet);
                 }
             }
         }
-        if (getAllNodes().isEmpty()) {
+        if (nodeByBlockPos.isEmpty()) {
             // if this energy net is empty now, remove it
             worldData.removePipeNet(this);
         }
@@ -370,13 +522,31 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
      * from parent network and add it to it's own tank, keeping network contents when old network is split
      * Note that it should be called when parent net doesn't have transferredNodes in allNodes already
      */
-    protected void transferNodeData(Map<BlockPos, Node<NodeDataType>> transferredNodes,
+    protected void transferNodeData(Long2ObjectMap<Node<NodeDataType>> transferredNodes,
                                     PipeNet<NodeDataType> parentNet) {
-        transferredNodes.forEach(this::addNodeSilently);
+        for (Long2ObjectMap.Entry<Node<NodeDataType>> entry : transferredNodes.long2ObjectEntrySet()) {
+            addNodeSilently(entry.getLongKey(), entry.getValue());
+        }
         onNodeConnectionsUpdate();
         worldData.markDirty();
     }
 
+    /**
+     * @deprecated override {@link #transferNodeData(Long2ObjectMap, PipeNet)} instead
+     */
+    @Deprecated
+    @ApiStatus.ScheduledForRemoval(inVersion = "2.10")
+    protected void transferNodeData(Map<BlockPos, Node<NodeDataType>> transferredNodes,
+                                    PipeNet<NodeDataType> parentNet) {
+        transferNodeData(toLongMap(transferredNodes), parentNet);
+    }
+
+    // called through the deprecated hook with a view, so overrides of either one are used without copying the nodes
+    @SuppressWarnings("deprecation")
+    private void transferNodes(Long2ObjectMap<Node<NodeDataType>> transferredNodes, PipeNet<NodeDataType> parentNet) {
+        transferNodeData(new BlockPosNodeView<>(transferredNodes), parentNet);
+    }
+
     /**
      * Serializes node data into specified tag compound
      * Used for writing persistent node data
@@ -390,9 +560,10 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     protected abstract NodeDataType readNodeData(NBTTagCompound tagCompound);
 
     @Override
+    @SuppressWarnings("deprecation")
     public NBTTagCompound serializeNBT() {
         NBTTagCompound compound = new NBTTagCompound();
-        compound.setTag("Nodes", serializeAllNodeList(nodeByBlockPos));
+        compound.setTag("Nodes", serializeAllNodeList(new BlockPosNodeView<>(unmodifiableNodeByBlockPos)));
         return compound;
     }
 
@@ -400,6 +571,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     public void deserializeNBT(NBTTagCompound nbt) {
         this.nodeByBlockPos.clear();
         this.ownedChunks.clear();
+        this.containedChunks = null;
         deserializeAllNodeList(nbt.getCompoundTag("Nodes"));
     }
 
@@ -430,7 +602,16 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         }
     }
 
+    /**
+     * @deprecated override {@link #serializeAllNodeList(Long2ObjectMap)} instead
+     */
+    @Deprecated
+    @ApiStatus.ScheduledForRemoval(inVersion = "2.10")
     protected NBTTagCompound serializeAllNodeList(Map<BlockPos, Node<NodeDataType>> allNodes) {
+        return serializeAllNodeList(toLongMap(allNodes));
+    }
+
+    protected NBTTagCompound serializeAllNodeList(Long2ObjectMap<Node<NodeDataType>> allNodes) {
         NBTTagCompound compound = new NBTTagCompound();
         NBTTagList allNodesList = new NBTTagList();
         NBTTagList wirePropertiesList = new NBTTagList();
@@ -438,13 +619,13 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         alreadyWritten.defaultReturnValue(-1);
         int currentIndex = 0;
 
-        for (Entry<BlockPos, Node<NodeDataType>> entry : allNodes.entrySet()) {
-            BlockPos nodePos = entry.getKey();
+        for (Long2ObjectMap.Entry<Node<NodeDataType>> entry : allNodes.long2ObjectEntrySet()) {
+            long nodePos = entry.getLongKey();
             Node<NodeDataType> node = entry.getValue();
             NBTTagCompound nodeTag = new NBTTagCompound();
-            nodeTag.setInteger("x", nodePos.getX());
-            nodeTag.setInteger("y", nodePos.getY());
-            nodeTag.setInteger("z", nodePos.getZ());
+            nodeTag.setInteger("x", unpackX(nodePos));
+            nodeTag.setInteger("y", unpackY(nodePos));
+            nodeTag.setInteger("z", unpackZ(nodePos));
             int wirePropertiesIndex = alreadyWritten.getInt(node.data);
             if (wirePropertiesIndex == -1) {
                 wirePropertiesIndex = currentIndex;
@@ -475,4 +656,63 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         compound.setTag("WireProperties", wirePropertiesList);
         return compound;
     }
+
+    /**
+     * A read-only view keyed by BlockPos of nodes keyed by {@link BlockPos#toLong()}. Passed to the deprecated BlockPos
+     * keyed hooks, which unwrap it again when not overridden.
+     */
+    private static final class BlockPosNodeView<N> extends AbstractMap<BlockPos, N> {
+
+        private final Long2ObjectMap<N> nodes;
+
+        private BlockPosNodeView(Long2ObjectMap<N> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public int size() {
+            return nodes.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof BlockPos && nodes.containsKey(((BlockPos) key).toLong());
+        }
+
+        @Override
+        public N get(Object key) {
+            return key instanceof BlockPos ? nodes.get(((BlockPos) key).toLong()) : null;
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<BlockPos, N>> entrySet() {
+            return new AbstractSet<Entry<BlockPos, N>>() {
+
+                @Override
+                public int size() {
+                    return nodes.size();
+                }
+
+                @NotNull
+                @Override
+                public Iterator<Entry<BlockPos, N>> iterator() {
+                    Iterator<Long2ObjectMap.Entry<N>> iterator = nodes.long2ObjectEntrySet().iterator();
+                    return new Iterator<Entry<BlockPos, N>>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<BlockPos, N> next() {
+                            Long2ObjectMap.Entry<N> entry = iterator.next();
+                            return new SimpleImmutableEntry<>(BlockPos.fromLong(entry.getLongKey()), entry.getValue());
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,189 @@
+package gregtech.api.pipenet;
+
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable copy of the node graph of a {@link PipeNet}.
+ * <p>
+ * Walking a snapshot only uses the copied nodes and never touches the world, so it is safe to do on any thread.
+ * Everything depending on tile entities, like checking what a pipe is connected to, has to be done on the server
+ * thread with the result of the walk.
+ *
+ * @see PipeNet#getSnapshot()
+ */
+public final class PipeNetSnapshot<NodeDataType> {
+
+    private final PipeNet<NodeDataType> pipeNet;
+    private final Long2ObjectOpenHashMap<Node<NodeDataType>> nodes;
+
+    PipeNetSnapshot(@NotNull PipeNet<NodeDataType> pipeNet) {
+        this.pipeNet = pipeNet;
+        this.nodes = new Long2ObjectOpenHashMap<>(pipeNet.getNodes().size());
+        for (Long2ObjectMap.Entry<Node<NodeDataType>> entry : pipeNet.getNodes().long2ObjectEntrySet()) {
+            Node<NodeDataType> node = entry.getValue();
+            nodes.put(entry.getLongKey(), new Node<>(node.data, node.openConnections, node.mark, node.isActive));
+        }
+    }
+
+    /**
+     * @return the net this snapshot was taken of
+     */
+    @NotNull
+    public PipeNet<NodeDataType> getPipeNet() {
+        return pipeNet;
+    }
+
+    /**
+     * @param pos the position, as {@link BlockPos#toLong()}
+     * @return the node at the position, or null if there is none
+     */
+    @Nullable
+    public Node<NodeDataType> getNode(long pos) {
+        return nodes.get(pos);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Walks the node graph breadth-first from a node, finding the shortest path to every connected node and every
+     * open side of a connected node which does not lead to another node of the net.
+     *
+     * @param source the node to start from, as {@link BlockPos#toLong()}
+     * @return the result of the walk, or null if there is no node at the source
+     */
+    @Nullable
+    public Walk<NodeDataType> walk(long source) {
+        Node<NodeDataType> sourceNode = nodes.get(source);
+        if (sourceNode == null) return null;
+
+        Long2LongOpenHashMap parents = new Long2LongOpenHashMap();
+        LongArrayList endpointNodes = new LongArrayList();
+        IntArrayList endpointFacings = new IntArrayList();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        parents.put(source, source);
+        queue.enqueue(source);
+        while (!queue.isEmpty()) {
+            long currentPos = queue.dequeueLong();
+            Node<NodeDataType> currentNode = nodes.get(currentPos);
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                if (currentNode.isBlocked(facing)) continue;
+                long offsetPos = PipeNet.offset(currentPos, facing);
+                Node<NodeDataType> offsetNode = nodes.get(offsetPos);
+                if (offsetNode == null) {
+                    // the side is open, but there is no pipe of this net, so something else may be there
+                    endpointNodes.add(currentPos);
+                    endpointFacings.add(facing.getIndex());
+                } else if (!parents.containsKey(offsetPos) &&
+                        pipeNet.canNodesConnect(currentNode, facing, offsetNode, pipeNet)) {
+                            parents.put(offsetPos, currentPos);
+                            queue.enqueue(offsetPos);
+                        }
+            }
+        }
+        return new Walk<>(this, source, parents, endpointNodes.toLongArray(), endpointFacings.toIntArray());
+    }
+
+    /**
+     * The result of walking a snapshot. Endpoints are ordered by their distance from the source.
+     */
+    public static final class Walk<NodeDataType> {
+
+        private final PipeNetSnapshot<NodeDataType> snapshot;
+        private final long source;
+        private final Long2LongOpenHashMap parents;
+        private final long[] endpointNodes;
+        private final int[] endpointFacings;
+
+        private Walk(@NotNull PipeNetSnapshot<NodeDataType> snapshot, long source,
+                     @NotNull Long2LongOpenHashMap parents, long @NotNull [] endpointNodes,
+                     int @NotNull [] endpointFacings) {
+            this.snapshot = snapshot;
+            this.source = source;
+            this.parents = parents;
+            this.endpointNodes = endpointNodes;
+            this.endpointFacings = endpointFacings;
+        }
+
+        /**
+         * @return the snapshot which was walked
+         */
+        @NotNull
+        public PipeNetSnapshot<NodeDataType> getSnapshot() {
+            return snapshot;
+        }
+
+        public long getSource() {
+            return source;
+        }
+
+        /**
+         * @param pos the position, as {@link BlockPos#toLong()}
+         * @return if the node at the position is connected to the source
+         */
+        public boolean isReached(long pos) {
+            return parents.containsKey(pos);
+        }
+
+        /**
+         * @return the amount of reached nodes, including the source
+         */
+        public int getReachedCount() {
+            return parents.size();
+        }
+
+        public int getEndpointCount() {
+            return endpointNodes.length;
+        }
+
+        /**
+         * @param index the endpoint index
+         * @return the position of the node of the endpoint, as {@link BlockPos#toLong()}
+         */
+        public long getEndpointNode(int index) {
+            return endpointNodes[index];
+        }
+
+        /**
+         * @param index the endpoint index
+         * @return the open side of the endpoint node
+         */
+        @NotNull
+        public EnumFacing getEndpointFacing(int index) {
+            return EnumFacing.VALUES[endpointFacings[index]];
+        }
+
+        /**
+         * @param pos the position of a reached node, as {@link BlockPos#toLong()}
+         * @return the positions of the shortest path from the source to the node, both inclusive
+         * @throws IllegalArgumentException if the node was not reached
+         */
+        public long @NotNull [] getPath(long pos) {
+            if (!parents.containsKey(pos)) {
+                throw new IllegalArgumentException("Node at " + BlockPos.fromLong(pos) + " was not reached");
+            }
+            int length = 1;
+            for (long current = pos; current != source; current = parents.get(current)) {
+                length++;
+            }
+            long[] path = new long[length];
+            long current = pos;
+            for (int i = length - 1; i >= 0; i--) {
+                path[i] = current;
+                current = parents.get(current);
+            }
+            return path;
+        }
+    }
+}
@@ -11,20 +11,20 @@ import net.minecraft.world.World;
 import net.minecraft.world.storage.WorldSavedData;
 import net.minecraftforge.common.util.Constants.NBT;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>> extends WorldSavedData {
 
     private WeakReference<World> worldRef = new WeakReference<>(null);
     protected List<T> pipeNets = new ArrayList<>();
-    protected final Map<ChunkPos, List<T>> pipeNetsByChunk = new HashMap<>();
+    // keyed by ChunkPos#asLong
+    protected final Long2ObjectMap<List<T>> pipeNetsByChunk = new Long2ObjectOpenHashMap<>();
 
     public WorldPipeNet(String name) {
         super(name);
@@ -65,7 +65,7 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
         for (EnumFacing facing : EnumFacing.VALUES) {
             BlockPos offsetPos = nodePos.offset(facing);
             T pipeNet = getNetFromPos(offsetPos);
-            Node<NodeDataType> secondNode = pipeNet == null ? null : pipeNet.getAllNodes().get(offsetPos);
+            Node<NodeDataType> secondNode = pipeNet == null ? null : pipeNet.getNodeAt(offsetPos);
             if (pipeNet != null && pipeNet.canAttachNode(nodeData) &&
                     pipeNet.canNodesConnect(secondNode, facing.getOpposite(), node, null)) {
                 if (myPipeNet == null) {
@@ -86,15 +86,22 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     }
 
     protected void addPipeNetToChunk(ChunkPos chunkPos, T pipeNet) {
-        this.pipeNetsByChunk.computeIfAbsent(chunkPos, any -> new ArrayList<>()).add(pipeNet);
+        long chunkKey = ChunkPos.asLong(chunkPos.x, chunkPos.z);
+        List<T> list = this.pipeNetsByChunk.get(chunkKey);
+        if (list == null) {
+            list = new ArrayList<>();
+            this.pipeNetsByChunk.put(chunkKey, list);
+        }
+        list.add(pipeNet);
     }
 
     protected void removePipeNetFromChunk(ChunkPos chunkPos, T pipeNet) {
-        List<T> list = this.pipeNetsByChunk.get(chunkPos);
+        long chunkKey = ChunkPos.asLong(chunkPos.x, chunkPos.z);
+        List<T> list = this.pipeNetsByChunk.get(chunkKey);
         if (list != null) {
             list.remove(pipeNet);
             if (list.isEmpty()) {
-                this.pipeNetsByChunk.remove(chunkPos);
+                this.pipeNetsByChunk.remove(chunkKey);
             }
         }
     }
@@ -122,9 +129,13 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     }
 
     public T getNetFromPos(BlockPos blockPos) {
-        List<T> pipeNetsInChunk = pipeNetsByChunk.getOrDefault(new ChunkPos(blockPos), Collections.emptyList());
+        List<T> pipeNetsInChunk = pipeNetsByChunk.get(ChunkPos.asLong(blockPos.getX() >> 4, blockPos.getZ() >> 4));
+        if (pipeNetsInChunk == null) {
+            return null;
+        }
+        long nodePos = blockPos.toLong();
         for (T pipeNet : pipeNetsInChunk) {
-            if (pipeNet.containsNode(blockPos))
+            if (pipeNet.containsNode(nodePos))
                 return pipeNet;
         }
         return null;
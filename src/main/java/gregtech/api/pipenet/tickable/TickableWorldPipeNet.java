@@ -44,7 +44,7 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
 
     public void onChunkLoaded(Chunk chunk) {
         ChunkPos chunkPos = chunk.getPos();
-        List<T> pipeNetsInThisChunk = this.pipeNetsByChunk.get(chunkPos);
+        List<T> pipeNetsInThisChunk = this.pipeNetsByChunk.get(ChunkPos.asLong(chunk.x, chunk.z));
         if (pipeNetsInThisChunk == null) return;
         for (T pipeNet : pipeNetsInThisChunk) {
             List<ChunkPos> loadedChunks = getOrCreateChunkListForPipeNet(pipeNet);
@@ -57,7 +57,7 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
 
     public void onChunkUnloaded(Chunk chunk) {
         ChunkPos chunkPos = chunk.getPos();
-        List<T> pipeNetsInThisChunk = this.pipeNetsByChunk.get(chunkPos);
+        List<T> pipeNetsInThisChunk = this.pipeNetsByChunk.get(ChunkPos.asLong(chunk.x, chunk.z));
         if (pipeNetsInThisChunk == null) return;
         for (T pipeNet : pipeNetsInThisChunk) {
             List<ChunkPos> loadedChunks = this.loadedChunksByPipeNet.get(pipeNet);
@@ -186,30 +186,50 @@ public class Recipe {
 
     public final boolean matches(boolean consumeIfSuccessful, IItemHandlerModifiable inputs,
                                  IMultipleTankHandler fluidInputs) {
-        Pair<Boolean, int[]> fluids = null;
-        Pair<Boolean, int[]> items = null;
+        return matches(consumeIfSuccessful, inputs, fluidInputs, new RecipeMatchScratch());
+    }
 
-        if (fluidInputs.getFluidTanks().size() > 0) {
-            fluids = matchesFluid(GTUtility.fluidHandlerToList(fluidInputs));
-            if (!fluids.getKey()) {
-                return false;
+    /**
+     * Verify if the recipe matches the contents of the given handlers, reading the slots and tanks directly.
+     *
+     * @param consumeIfSuccessful if true will consume the inputs of the recipe.
+     * @param inputs              the item inputs
+     * @param fluidInputs         the fluid inputs
+     * @param scratch             the buffers to match in, reused between calls by the same caller
+     * @return true if the recipe matches the given inputs false otherwise.
+     */
+    public final boolean matches(boolean consumeIfSuccessful, IItemHandlerModifiable inputs,
+                                 IMultipleTankHandler fluidInputs, @NotNull RecipeMatchScratch scratch) {
+        int tanks = fluidInputs.getTanks();
+        int slots = inputs.getSlots();
+        scratch.ensureCapacity(slots, tanks);
+        try {
+            int fluidsIndexed = 0;
+            if (tanks > 0) {
+                for (int i = 0; i < tanks; i++) {
+                    scratch.fluids[i] = fluidInputs.getTankAt(i).getFluid();
+                }
+                fluidsIndexed = matchesFluid(scratch.fluids, tanks, scratch.fluidAmounts);
+                if (fluidsIndexed < 0) {
+                    return false;
+                }
             }
-        }
 
-        if (inputs.getSlots() > 0) {
-            items = matchesItems(GTUtility.itemHandlerToList(inputs));
-            if (!items.getKey()) {
-                return false;
+            int itemsIndexed = 0;
+            if (slots > 0) {
+                for (int i = 0; i < slots; i++) {
+                    scratch.items[i] = inputs.getStackInSlot(i);
+                }
+                itemsIndexed = matchesItems(scratch.items, slots, scratch.itemAmounts);
+                if (itemsIndexed < 0) {
+                    return false;
+                }
             }
-        }
 
-        if (consumeIfSuccessful) {
-            if (fluids != null) {
-                int[] fluidAmountInTank = fluids.getValue();
-                var backedList = fluidInputs.getFluidTanks();
-
-                for (int i = 0; i < fluidAmountInTank.length; i++) {
-                    var tank = backedList.get(i);
+            if (consumeIfSuccessful) {
+                int[] fluidAmountInTank = scratch.fluidAmounts;
+                for (int i = 0; i < fluidsIndexed; i++) {
+                    var tank = fluidInputs.getTankAt(i);
                     FluidStack fluidStack = tank.getFluid();
                     int fluidAmount = fluidAmountInTank[i];
 
@@ -218,10 +238,9 @@ public class Recipe {
                     }
                     tank.drain(Math.abs(fluidAmount - fluidStack.amount), true);
                 }
-            }
-            if (items != null) {
-                int[] itemAmountInSlot = items.getValue();
-                for (int i = 0; i < itemAmountInSlot.length; i++) {
+
+                int[] itemAmountInSlot = scratch.itemAmounts;
+                for (int i = 0; i < itemsIndexed; i++) {
                     ItemStack itemInSlot = inputs.getStackInSlot(i);
                     int itemAmount = itemAmountInSlot[i];
 
@@ -231,9 +250,11 @@ public class Recipe {
                     inputs.extractItem(i, Math.abs(itemAmount - itemInSlot.getCount()), false);
                 }
             }
-        }
 
-        return true;
+            return true;
+        } finally {
+            scratch.clear(slots, tanks);
+        }
     }
 
     /**
@@ -248,20 +269,21 @@ public class Recipe {
         if (inputs.size() == 0 && fluidInputs.size() == 0)
             return false;
 
-        Pair<Boolean, int[]> fluids = matchesFluid(fluidInputs);
-        if (!fluids.getKey()) {
+        int[] fluidAmountInTank = new int[fluidInputs.size()];
+        int fluidsIndexed = matchesFluid(fluidInputs.toArray(new FluidStack[0]), fluidAmountInTank.length,
+                fluidAmountInTank);
+        if (fluidsIndexed < 0) {
             return false;
         }
 
-        Pair<Boolean, int[]> items = matchesItems(inputs);
-        if (!items.getKey()) {
+        int[] itemAmountInSlot = new int[inputs.size()];
+        int itemsIndexed = matchesItems(inputs.toArray(new ItemStack[0]), itemAmountInSlot.length, itemAmountInSlot);
+        if (itemsIndexed < 0) {
             return false;
         }
 
         if (consumeIfSuccessful) {
-            int[] fluidAmountInTank = fluids.getValue();
-
-            for (int i = 0; i < fluidAmountInTank.length; i++) {
+            for (int i = 0; i < fluidsIndexed; i++) {
                 FluidStack fluidStack = fluidInputs.get(i);
                 int fluidAmount = fluidAmountInTank[i];
                 if (fluidStack == null || fluidStack.amount == fluidAmount)
@@ -271,9 +293,7 @@ public class Recipe {
                     fluidInputs.set(i, null);
             }
 
-            int[] itemAmountInSlot = items.getValue();
-
-            for (int i = 0; i < itemAmountInSlot.length; i++) {
+            for (int i = 0; i < itemsIndexed; i++) {
                 ItemStack itemInSlot = inputs.get(i);
                 int itemAmount = itemAmountInSlot[i];
                 if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount)
@@ -285,15 +305,29 @@ public class Recipe {
         return true;
     }
 
-    private Pair<Boolean, int[]> matchesItems(List<ItemStack> inputs) {
-        int[] itemAmountInSlot = new int[inputs.size()];
+    private boolean matchesItems(List<ItemStack> inputs) {
+        return matchesItems(inputs.toArray(new ItemStack[0]), inputs.size(), new int[inputs.size()]) >= 0;
+    }
+
+    private boolean matchesFluid(List<FluidStack> fluidInputs) {
+        return matchesFluid(fluidInputs.toArray(new FluidStack[0]), fluidInputs.size(),
+                new int[fluidInputs.size()]) >= 0;
+    }
+
+    /**
+     * @param inputs           the stacks to match, of which only the first {@code size} are used
+     * @param size             the amount of stacks
+     * @param itemAmountInSlot filled with the amount left in each slot after consuming the recipe inputs
+     * @return the amount of slots filled in {@code itemAmountInSlot}, or -1 if the recipe does not match
+     */
+    private int matchesItems(ItemStack[] inputs, int size, int[] itemAmountInSlot) {
         int indexed = 0;
 
         List<GTRecipeInput> gtRecipeInputs = this.inputs;
         for (GTRecipeInput ingredient : gtRecipeInputs) {
             int ingredientAmount = ingredient.getAmount();
-            for (int j = 0; j < inputs.size(); j++) {
-                ItemStack inputStack = inputs.get(j);
+            for (int j = 0; j < size; j++) {
+                ItemStack inputStack = inputs[j];
 
                 if (j == indexed) {
                     itemAmountInSlot[j] = inputStack.isEmpty() ? 0 : inputStack.getCount();
@@ -308,23 +342,25 @@ public class Recipe {
                 if (ingredientAmount == 0) break;
             }
             if (ingredientAmount > 0)
-                return Pair.of(false, itemAmountInSlot);
+                return -1;
         }
-        int[] retItemAmountInSlot = new int[indexed];
-        System.arraycopy(itemAmountInSlot, 0, retItemAmountInSlot, 0, indexed);
-
-        return Pair.of(true, retItemAmountInSlot);
+        return indexed;
     }
 
-    private Pair<Boolean, int[]> matchesFluid(List<FluidStack> fluidInputs) {
-        int[] fluidAmountInTank = new int[fluidInputs.size()];
+    /**
+     * @param fluidInputs       the fluids to match, of which only the first {@code size} are used
+     * @param size              the amount of fluids
+     * @param fluidAmountInTank filled with the amount left in each tank after consuming the recipe inputs
+     * @return the amount of tanks filled in {@code fluidAmountInTank}, or -1 if the recipe does not match
+     */
+    private int matchesFluid(FluidStack[] fluidInputs, int size, int[] fluidAmountInTank) {
         int indexed = 0;
 
         List<GTRecipeInput> gtRecipeInputs = this.fluidInputs;
         for (GTRecipeInput fluid : gtRecipeInputs) {
             int fluidAmount = fluid.getAmount();
-            for (int j = 0; j < fluidInputs.size(); j++) {
-                FluidStack tankFluid = fluidInputs.get(j);
+            for (int j = 0; j < size; j++) {
+                FluidStack tankFluid = fluidInputs[j];
 
                 if (j == indexed) {
                     indexed++;
@@ -339,12 +375,9 @@ public class Recipe {
                 if (fluidAmount == 0) break;
             }
             if (fluidAmount > 0)
-                return Pair.of(false, fluidAmountInTank);
+                return -1;
         }
-        int[] retfluidAmountInTank = new int[indexed];
-        System.arraycopy(fluidAmountInTank, 0, retfluidAmountInTank, 0, indexed);
-
-        return Pair.of(true, retfluidAmountInTank);
+        return indexed;
     }
 
     @Override
@@ -385,7 +418,7 @@ public class Recipe {
         for (GTRecipeInput otherInputs : otherRecipe.inputs) {
             otherStackList.addAll(Arrays.asList(otherInputs.getInputStacks()));
         }
-        if (!this.matchesItems(otherStackList).getLeft()) {
+        if (!this.matchesItems(otherStackList)) {
             return false;
         }
 
@@ -393,7 +426,7 @@ public class Recipe {
         for (GTRecipeInput thisInputs : this.inputs) {
             thisStackList.addAll(Arrays.asList(thisInputs.getInputStacks()));
         }
-        return otherRecipe.matchesItems(thisStackList).getLeft();
+        return otherRecipe.matchesItems(thisStackList);
     }
 
     public static int hashFluidList(@NotNull List<GTRecipeInput> fluids) {
@@ -410,7 +443,7 @@ public class Recipe {
             FluidStack fluidStack = otherInputs.getInputFluidStack();
             otherFluidList.add(fluidStack);
         }
-        if (!this.matchesFluid(otherFluidList).getLeft()) {
+        if (!this.matchesFluid(otherFluidList)) {
             return false;
         }
 
@@ -419,7 +452,7 @@ public class Recipe {
             FluidStack fluidStack = thisFluidInputs.getInputFluidStack();
             thisFluidsList.add(fluidStack);
         }
-        return otherRecipe.matchesFluid(thisFluidsList).getLeft();
+        return otherRecipe.matchesFluid(thisFluidsList);
     }
 
     @Override
@@ -13,19 +13,24 @@ import gregtech.api.recipes.ingredients.GTRecipeInput;
 import gregtech.api.recipes.ingredients.IntCircuitIngredient;
 import gregtech.api.recipes.map.AbstractMapIngredient;
 import gregtech.api.recipes.map.Branch;
+import gregtech.api.recipes.map.CompiledRecipeLookup;
 import gregtech.api.recipes.map.Either;
 import gregtech.api.recipes.map.MapFluidIngredient;
+import gregtech.api.recipes.map.MapIngredientCache;
 import gregtech.api.recipes.map.MapItemStackIngredient;
 import gregtech.api.recipes.map.MapItemStackNBTIngredient;
 import gregtech.api.recipes.map.MapOreDictIngredient;
 import gregtech.api.recipes.map.MapOreDictNBTIngredient;
+import gregtech.api.recipes.map.RecipeNoMatchCache;
 import gregtech.api.recipes.ui.RecipeMapUI;
 import gregtech.api.recipes.ui.RecipeMapUIFunction;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.util.EnumValidationResult;
+import gregtech.api.util.FluidStackHashStrategy;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.ItemStackHashStrategy;
 import gregtech.api.util.LocalizationUtils;
 import gregtech.api.util.Mods;
 import gregtech.api.util.ValidationResult;
@@ -78,6 +83,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.function.DoubleSupplier;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -93,6 +99,9 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     private static boolean foundInvalidRecipe = false;
 
+    private static final ThreadLocal<RecipeReachTracker> REACH_TRACKER = ThreadLocal
+            .withInitial(RecipeReachTracker::new);
+
     public static final ChanceBoostFunction DEFAULT_CHANCE_FUNCTION = ChanceBoostFunction.OVERCLOCK;
     protected RecipeMapUI<?> recipeMapUI;
 
@@ -119,6 +128,12 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     private final Object grsVirtualizedRecipeMap;
     private final Branch lookup = new Branch();
+    private boolean compiledLookupEnabled;
+    private boolean batchedDistinctLookup;
+    private @Nullable CompiledRecipeLookup compiledLookup;
+    private final @Nullable RecipeNoMatchCache noMatchCache;
+    private final @Nullable MapIngredientCache<ItemStack> itemIngredientCache;
+    private final @Nullable MapIngredientCache<FluidStack> fluidIngredientCache;
     private boolean hasOreDictedInputs = false;
     private boolean hasNBTMatcherInputs = false;
     private static final WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> ingredientRoot = new WeakHashMap<>();
@@ -159,6 +174,19 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         this.recipeBuilderSample = defaultRecipeBuilder;
         RECIPE_MAP_REGISTRY.put(unlocalizedName, this);
 
+        int noMatchCacheSize = ConfigHolder.recipes.recipeLookupNoMatchCacheSize;
+        this.noMatchCache = noMatchCacheSize > 0 ? new RecipeNoMatchCache(noMatchCacheSize) : null;
+        int ingredientCacheSize = ConfigHolder.recipes.recipeLookupIngredientCacheSize;
+        if (ingredientCacheSize > 0) {
+            this.itemIngredientCache = new MapIngredientCache<>(ItemStackHashStrategy.comparingAllButCount(),
+                    ingredientCacheSize);
+            this.fluidIngredientCache = new MapIngredientCache<>(FluidStackHashStrategy.comparingAllButAmount(),
+                    ingredientCacheSize);
+        } else {
+            this.itemIngredientCache = null;
+            this.fluidIngredientCache = null;
+        }
+
         this.grsVirtualizedRecipeMap = GregTechAPI.moduleManager.isModuleEnabled(GregTechModules.MODULE_GRS) ?
                 new VirtualizedRecipeMap(this) : null;
     }
@@ -331,6 +359,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         }
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
         if (recurseIngredientTreeAdd(recipe, items, lookup, 0, 0)) {
+            onRecipesChanged();
             recipeByCategory.compute(recipe.getRecipeCategory(), (k, v) -> {
                 if (v == null) v = new ArrayList<>();
                 v.add(recipe);
@@ -348,6 +377,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     public boolean removeRecipe(@NotNull Recipe recipe) {
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
         if (recurseIngredientTreeRemove(recipe, items, lookup, 0) != null) {
+            onRecipesChanged();
             if (GroovyScriptModule.isCurrentlyRunning()) {
                 this.getGroovyScriptRecipeMap().addBackup(recipe);
             }
@@ -372,9 +402,24 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         }
         this.lookup.getNodes().clear();
         this.lookup.getSpecialNodes().clear();
+        onRecipesChanged();
         this.recipeByCategory.clear();
     }
 
+    /**
+     * Discards everything derived from the ingredient tree after it was modified.
+     */
+    private void onRecipesChanged() {
+        this.compiledLookup = null;
+        if (this.noMatchCache != null) {
+            this.noMatchCache.clear();
+        }
+        // which ingredients items convert to depends on the recipes, see buildFromItemStacks
+        if (this.itemIngredientCache != null) {
+            this.itemIngredientCache.clear();
+        }
+    }
+
     /**
      * Performs additional validation of recipes before adding to the ingredient tree.
      *
@@ -508,6 +553,133 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         });
     }
 
+    /**
+     * Finds recipes for several sets of inputs, like {@link #findRecipe(long, IItemHandlerModifiable,
+     * IMultipleTankHandler)} for each set, and passes them to the visitor in order until it stops the search.
+     * <p>
+     * By default, {@link #findRecipe(long, List, List, boolean)} is called for each set, so overrides of it are
+     * respected. If {@link #setBatchedDistinctLookup(boolean) batched lookups} are enabled, the ingredient tree is
+     * walked once for the inputs of all sets instead.
+     *
+     * @param voltage     Voltage of the Machine or Long.MAX_VALUE if it has no Voltage
+     * @param inputs      the Item Inputs of each set
+     * @param fluidInputs the Fluid Inputs of the set at an index
+     * @param visitor     the visitor receiving the recipe found for each set
+     * @return the index of the set the visitor stopped the search at, or -1 if it did not stop it
+     */
+    public int findRecipeDistinct(long voltage, @NotNull List<? extends IItemHandlerModifiable> inputs,
+                                  @NotNull IntFunction<IMultipleTankHandler> fluidInputs,
+                                  @NotNull InputSetVisitor visitor) {
+        if (!batchedDistinctLookup) {
+            for (int i = 0; i < inputs.size(); i++) {
+                if (!visitor.shouldSearch(i)) continue;
+                Recipe recipe = findRecipe(voltage, GTUtility.itemHandlerToList(inputs.get(i)),
+                        GTUtility.fluidHandlerToList(fluidInputs.apply(i)), false);
+                if (visitor.visit(i, recipe)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean[] search = new boolean[inputs.size()];
+        for (int i = 0; i < search.length; i++) {
+            search[i] = visitor.shouldSearch(i);
+        }
+        Recipe[] found = findRecipesBatched(voltage, inputs, fluidInputs, search);
+        for (int i = 0; i < search.length; i++) {
+            if (!search[i]) continue;
+            if (visitor.visit(i, found[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the recipes of several sets of inputs with a single walk of the ingredient tree over the inputs of all
+     * sets.
+     *
+     * @param search if a recipe should be searched for the set at an index
+     * @return the recipe found for each set, null for sets without a recipe or which were not searched
+     */
+    private Recipe @NotNull [] findRecipesBatched(long voltage, @NotNull List<? extends IItemHandlerModifiable> inputs,
+                                                  @NotNull IntFunction<IMultipleTankHandler> fluidInputs,
+                                                  boolean @NotNull [] search) {
+        int sets = search.length;
+        Recipe[] found = new Recipe[sets];
+        List<List<ItemStack>> rawItems = new ObjectArrayList<>(sets);
+        List<List<FluidStack>> rawFluids = new ObjectArrayList<>(sets);
+        List<List<ItemStack>> setItems = new ObjectArrayList<>(sets);
+        List<List<FluidStack>> setFluids = new ObjectArrayList<>(sets);
+        List<ItemStack> allItems = new ObjectArrayList<>();
+        List<FluidStack> allFluids = new ObjectArrayList<>();
+        boolean[] pending = new boolean[sets];
+        long[] fingerprints = new long[sets];
+        int pendingCount = 0;
+
+        for (int i = 0; i < sets; i++) {
+            List<ItemStack> itemList = search[i] ? GTUtility.itemHandlerToList(inputs.get(i)) : null;
+            List<FluidStack> fluidList = search[i] ? GTUtility.fluidHandlerToList(fluidInputs.apply(i)) : null;
+            List<ItemStack> items = itemList == null ? null :
+                    itemList.stream().filter(s -> !s.isEmpty()).collect(Collectors.toList());
+            List<FluidStack> fluids = fluidList == null ? null :
+                    fluidList.stream().filter(f -> f != null && f.amount != 0).collect(Collectors.toList());
+            rawItems.add(itemList);
+            rawFluids.add(fluidList);
+            setItems.add(items);
+            setFluids.add(fluids);
+            if (items == null || (items.isEmpty() && fluids.isEmpty())) continue;
+            if (noMatchCache != null) {
+                fingerprints[i] = RecipeNoMatchCache.fingerprint(items, fluids);
+                if (noMatchCache.isNoMatch(fingerprints[i], items, fluids)) continue;
+            }
+
+            allItems.addAll(items);
+            allFluids.addAll(fluids);
+            pending[i] = true;
+            pendingCount++;
+        }
+        if (pendingCount == 0) return found;
+
+        List<List<AbstractMapIngredient>> list = prepareRecipeFind(allItems, allFluids);
+        if (list == null) return found;
+        if (list.size() > Long.SIZE) {
+            // too many ingredients for the skip-list of one walk, so search each set on its own
+            for (int i = 0; i < sets; i++) {
+                if (!pending[i]) continue;
+                List<ItemStack> itemList = rawItems.get(i);
+                List<FluidStack> fluidList = rawFluids.get(i);
+                found[i] = find(setItems.get(i), setFluids.get(i),
+                        recipe -> recipe.getEUt() <= voltage && recipe.matches(false, itemList, fluidList));
+            }
+            return found;
+        }
+
+        boolean[] reachedRecipe = new boolean[1];
+        int[] unresolved = { pendingCount };
+        searchIngredientTree(list, recipe -> {
+            reachedRecipe[0] = true;
+            if (recipe.getEUt() > voltage) return false;
+            for (int i = 0; i < sets; i++) {
+                if (pending[i] && found[i] == null && recipe.matches(false, rawItems.get(i), rawFluids.get(i))) {
+                    found[i] = recipe;
+                    unresolved[0]--;
+                }
+            }
+            // stop the walk once every set has its recipe
+            return unresolved[0] == 0;
+        });
+
+        // sets are only known to match nothing if the walk over the inputs of all sets never reached a recipe
+        if (noMatchCache != null && !reachedRecipe[0]) {
+            for (int i = 0; i < sets; i++) {
+                if (pending[i]) noMatchCache.putNoMatch(fingerprints[i], setItems.get(i), setFluids.get(i));
+            }
+        }
+        return found;
+    }
+
     /**
      * Prepares Items and Fluids for use in recipe search
      *
@@ -528,8 +700,20 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
         // Build input.
         List<List<AbstractMapIngredient>> list = new ObjectArrayList<>(items.size() + fluids.size());
-        if (items.size() > 0) buildFromItemStacks(list, uniqueItems(items));
-        if (fluids.size() > 0) buildFromFluidStacks(list, fluids);
+        if (items.size() > 0) {
+            if (itemIngredientCache == null) {
+                buildFromItemStacks(list, uniqueItems(items));
+            } else {
+                buildFromCachedItemStacks(list, items, itemIngredientCache);
+            }
+        }
+        if (fluids.size() > 0) {
+            if (fluidIngredientCache == null) {
+                buildFromFluidStacks(list, fluids);
+            } else {
+                buildFromCachedFluidStacks(list, fluids, fluidIngredientCache);
+            }
+        }
 
         // nothing was added, so return nothing
         if (list.size() == 0) return null;
@@ -547,12 +731,133 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     @Nullable
     public Recipe find(@NotNull Collection<ItemStack> items, @NotNull Collection<FluidStack> fluids,
                        @NotNull Predicate<Recipe> canHandle) {
+        if (noMatchCache == null || (items.isEmpty() && fluids.isEmpty())) {
+            List<List<AbstractMapIngredient>> list = prepareRecipeFind(items, fluids);
+            // couldn't build any inputs to use for search, so no recipe could be found
+            if (list == null) return null;
+            return searchIngredientTree(list, canHandle);
+        }
+
+        long fingerprint = RecipeNoMatchCache.fingerprint(items, fluids);
+        if (noMatchCache.isNoMatch(fingerprint, items, fluids)) return null;
+
         List<List<AbstractMapIngredient>> list = prepareRecipeFind(items, fluids);
-        // couldn't build any inputs to use for search, so no recipe could be found
         if (list == null) return null;
+
+        // only cache searches which never reached a recipe, as those do not depend on amounts or voltage
+        RecipeReachTracker tracker = REACH_TRACKER.get();
+        if (tracker.canHandle != null) {
+            // canHandle searched again on this thread
+            tracker = new RecipeReachTracker();
+        }
+        tracker.canHandle = canHandle;
+        tracker.reachedRecipe = false;
+        try {
+            Recipe recipe = searchIngredientTree(list, tracker);
+            if (recipe == null && !tracker.reachedRecipe) {
+                noMatchCache.putNoMatch(fingerprint, items, fluids);
+            }
+            return recipe;
+        } finally {
+            tracker.canHandle = null;
+        }
+    }
+
+    @Nullable
+    private Recipe searchIngredientTree(@NotNull List<List<AbstractMapIngredient>> list,
+                                        @NotNull Predicate<Recipe> canHandle) {
+        CompiledRecipeLookup compiled = this.compiledLookup;
+        if (compiled != null) {
+            return compiled.find(list, canHandle);
+        }
         return recurseIngredientTreeFindRecipe(list, lookup, canHandle);
     }
 
+    /**
+     * @return the cache of inputs known to not match any recipe, or null if it is disabled
+     */
+    public @Nullable RecipeNoMatchCache getNoMatchCache() {
+        return noMatchCache;
+    }
+
+    /**
+     * Enable or disable the compiled lookup for this RecipeMap.
+     * <p>
+     * When enabled, {@link #compileLookup()} freezes the ingredient tree into a {@link CompiledRecipeLookup}, which is
+     * then used by {@link #find(Collection, Collection, Predicate)} until recipes are added or removed again.
+     *
+     * @param compiledLookup if the compiled lookup should be used
+     * @return this
+     */
+    public RecipeMap<R> setCompiledLookup(boolean compiledLookup) {
+        this.compiledLookupEnabled = compiledLookup;
+        if (!compiledLookup) {
+            this.compiledLookup = null;
+        }
+        return this;
+    }
+
+    /**
+     * Enable or disable batched lookups for this RecipeMap.
+     * <p>
+     * When enabled, {@link #findRecipeDistinct(long, List, IntFunction, InputSetVisitor)} walks the ingredient tree
+     * once for all sets of inputs instead of calling {@link #findRecipe(long, List, List, boolean)} for each set, so
+     * it must not be enabled for RecipeMaps overriding that method.
+     *
+     * @param batchedDistinctLookup if distinct lookups should be batched
+     * @return this
+     */
+    public RecipeMap<R> setBatchedDistinctLookup(boolean batchedDistinctLookup) {
+        this.batchedDistinctLookup = batchedDistinctLookup;
+        return this;
+    }
+
+    /**
+     * @return if distinct lookups walk the ingredient tree once for all sets of inputs
+     */
+    public boolean isBatchedDistinctLookup() {
+        return batchedDistinctLookup;
+    }
+
+    /**
+     * @return if this RecipeMap uses a compiled lookup once its recipes are frozen
+     */
+    public boolean isCompiledLookupEnabled() {
+        return compiledLookupEnabled || ConfigHolder.recipes.compiledRecipeLookup;
+    }
+
+    /**
+     * @return if a compiled lookup is currently built and used for searching
+     */
+    public boolean hasCompiledLookup() {
+        return compiledLookup != null;
+    }
+
+    /**
+     * Freezes the current ingredient tree into a {@link CompiledRecipeLookup}, if enabled for this RecipeMap.
+     * Any recipe addition or removal afterward discards it, falling back to the tree until compiled again.
+     */
+    public void compileLookup() {
+        this.compiledLookup = isCompiledLookupEnabled() ? CompiledRecipeLookup.compile(lookup) : null;
+    }
+
+    /**
+     * Compiles the lookups of all RecipeMaps which have it enabled. Called when recipe registration is finished.
+     */
+    @ApiStatus.Internal
+    public static void compileLookups() {
+        long start = System.nanoTime();
+        int compiled = 0;
+        for (RecipeMap<?> recipeMap : RECIPE_MAP_REGISTRY.values()) {
+            recipeMap.compileLookup();
+            if (recipeMap.hasCompiledLookup()) compiled++;
+        }
+        if (compiled > 0) {
+            GTLog.logger.info("Compiled recipe lookups for {} RecipeMaps in {}ms", compiled,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
     /**
      * Builds a list of unique ItemStacks from the given Collection of ItemStacks.
      * Used to reduce the number inputs, if for example there is more than one of the same input,
@@ -1217,6 +1522,64 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         }
     }
 
+    /**
+     * Populates a list of MapIngredients from ItemStacks, reusing the ingredients of stacks which were already
+     * converted. Stacks equal to earlier ones are skipped, like {@link #uniqueItems(Collection)} does.
+     *
+     * @param list  the list to populate
+     * @param items the items to convert
+     * @param cache the ingredients of the items already converted
+     */
+    private void buildFromCachedItemStacks(@NotNull List<List<AbstractMapIngredient>> list,
+                                           @NotNull Collection<ItemStack> items,
+                                           @NotNull MapIngredientCache<ItemStack> cache) {
+        int start = list.size();
+        main:
+        for (ItemStack stack : items) {
+            if (stack.isEmpty()) continue;
+            List<AbstractMapIngredient> ls = cache.get(stack);
+            if (ls == null) {
+                // the ingredients keep the stack, so they must be built from a copy which does not change
+                ItemStack copy = stack.copy();
+                List<List<AbstractMapIngredient>> built = new ObjectArrayList<>(1);
+                buildFromItemStacks(built, new ItemStack[] { copy });
+                ls = built.isEmpty() ? Collections.emptyList() : built.get(0);
+                cache.put(copy, ls);
+            }
+            if (ls.isEmpty()) continue;
+
+            // equal stacks share their ingredients, so duplicates are found by identity
+            for (int i = start; i < list.size(); i++) {
+                if (list.get(i) == ls) continue main;
+            }
+            list.add(ls);
+        }
+    }
+
+    /**
+     * Populates a list of MapIngredients from FluidStacks, reusing the ingredients of fluids which were already
+     * converted
+     *
+     * @param list   the list to populate
+     * @param fluids the fluids to convert
+     * @param cache  the ingredients of the fluids already converted
+     */
+    private void buildFromCachedFluidStacks(@NotNull List<List<AbstractMapIngredient>> list,
+                                            @NotNull Collection<FluidStack> fluids,
+                                            @NotNull MapIngredientCache<FluidStack> cache) {
+        for (FluidStack fluid : fluids) {
+            List<AbstractMapIngredient> ls = cache.get(fluid);
+            if (ls == null) {
+                FluidStack copy = fluid.copy();
+                List<List<AbstractMapIngredient>> built = new ObjectArrayList<>(1);
+                buildFromFluidStacks(built, Collections.singletonList(copy));
+                ls = built.isEmpty() ? Collections.emptyList() : built.get(0);
+                cache.put(copy, ls);
+            }
+            if (!ls.isEmpty()) list.add(ls);
+        }
+    }
+
     /**
      * @deprecated {@link RecipeMapUI#setSpecialTexture(TextureArea, int, int, int, int)}
      */
@@ -1463,4 +1826,42 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         if (!(obj instanceof RecipeMap)) return false;
         return ((RecipeMap<?>) obj).unlocalizedName.equals(this.unlocalizedName);
     }
+
+    /**
+     * Receives the recipes found by {@link #findRecipeDistinct(long, List, IntFunction, InputSetVisitor)}.
+     */
+    @FunctionalInterface
+    public interface InputSetVisitor {
+
+        /**
+         * @param index the index of the set of inputs
+         * @return if a recipe should be searched for the set
+         */
+        default boolean shouldSearch(int index) {
+            return true;
+        }
+
+        /**
+         * @param index  the index of the set of inputs
+         * @param recipe the recipe found for the set, or null if there is none
+         * @return if the search should stop at this set
+         */
+        boolean visit(int index, @Nullable Recipe recipe);
+    }
+
+    /**
+     * Remembers if a search reached any recipe before asking the actual predicate, reused by every search on the same
+     * thread.
+     */
+    private static final class RecipeReachTracker implements Predicate<Recipe> {
+
+        private Predicate<Recipe> canHandle;
+        private boolean reachedRecipe;
+
+        @Override
+        public boolean test(Recipe recipe) {
+            this.reachedRecipe = true;
+            return canHandle.test(recipe);
+        }
+    }
 }
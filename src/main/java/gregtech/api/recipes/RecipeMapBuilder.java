@@ -51,6 +51,8 @@ public class RecipeMapBuilder<B extends RecipeBuilder<B>> {
 
     private boolean sortToBack;
 
+    private boolean compiledLookup;
+
     /**
      * @param unlocalizedName      the name of the recipemap
      * @param defaultRecipeBuilder the default recipe builder of the recipemap
@@ -296,6 +298,17 @@ public class RecipeMapBuilder<B extends RecipeBuilder<B>> {
         return this;
     }
 
+    /**
+     * Make the recipemap use a compiled lookup index once recipe registration is finished.
+     *
+     * @return this
+     * @see RecipeMap#setCompiledLookup(boolean)
+     */
+    public @NotNull RecipeMapBuilder<B> compiledLookup() {
+        this.compiledLookup = true;
+        return this;
+    }
+
     /**
      * <strong>Do not call this twice. RecipeMapBuilders are not re-usable.</strong>
      *
@@ -312,6 +325,11 @@ public class RecipeMapBuilder<B extends RecipeBuilder<B>> {
             recipeMap.onRecipeBuild(buildActions);
         }
         recipeMap.getPrimaryRecipeCategory().jeiSortToBack(sortToBack);
+        if (compiledLookup) {
+            recipeMap.setCompiledLookup(true);
+        }
+        // maps built here never override findRecipe, so distinct lookups can share one walk
+        recipeMap.setBatchedDistinctLookup(true);
         return recipeMap;
     }
 }
@@ -0,0 +1,49 @@
+package gregtech.api.recipes;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffers for matching recipes against item and fluid handlers, see
+ * {@link Recipe#matches(boolean, net.minecraftforge.items.IItemHandlerModifiable,
+ * gregtech.api.capability.IMultipleTankHandler, RecipeMatchScratch)}.
+ * <p>
+ * Not thread safe, so every recipe logic should own its own instance.
+ */
+public final class RecipeMatchScratch {
+
+    ItemStack[] items = new ItemStack[0];
+    int[] itemAmounts = new int[0];
+    FluidStack[] fluids = new FluidStack[0];
+    int[] fluidAmounts = new int[0];
+
+    /**
+     * Grow the buffers to hold the contents of a handler.
+     *
+     * @param slots the amount of item slots
+     * @param tanks the amount of fluid tanks
+     */
+    void ensureCapacity(int slots, int tanks) {
+        if (items.length < slots) {
+            items = new ItemStack[slots];
+            itemAmounts = new int[slots];
+        }
+        if (fluids.length < tanks) {
+            fluids = new FluidStack[tanks];
+            fluidAmounts = new int[tanks];
+        }
+    }
+
+    /**
+     * Release the stacks read into the buffers, so they are not kept alive after matching.
+     *
+     * @param slots the amount of item slots used
+     * @param tanks the amount of fluid tanks used
+     */
+    void clear(int slots, int tanks) {
+        Arrays.fill(items, 0, slots, null);
+        Arrays.fill(fluids, 0, tanks, null);
+    }
+}
@@ -0,0 +1,330 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.recipes.Recipe;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectRBTreeMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An immutable, flattened copy of a {@link Branch} tree.
+ * <p>
+ * Every distinct ingredient key in the tree is assigned an int id, and every branch becomes a node whose children are
+ * stored as id-sorted ranges in shared primitive arrays. Searching resolves each input ingredient to its candidate ids
+ * once, then walks the nodes with binary searches instead of hash map lookups and {@link Either} mappings.
+ * <p>
+ * The search order mirrors {@code RecipeMap#recurseIngredientTreeFindRecipe}, so a compiled lookup finds the same
+ * recipes as the tree it was built from. It must be rebuilt whenever the tree changes.
+ */
+public final class CompiledRecipeLookup {
+
+    private static final int NO_TARGET = Integer.MIN_VALUE;
+
+    // the resolved inputs are reused by every lookup on the same thread
+    private static final ThreadLocal<ResolvedInputs> SCRATCH = ThreadLocal.withInitial(ResolvedInputs::new);
+
+    // canonical ingredient for each id, and the ids sharing each hash code
+    private final AbstractMapIngredient[] idKeys;
+    private final Int2ObjectMap<int[]> idsByHash;
+
+    // node n owns [normalStart[n], normalStart[n + 1]) of normalKeys/normalTargets, same for special
+    private final int[] normalStart;
+    private final int[] normalKeys;
+    private final int[] normalTargets;
+    private final int[] specialStart;
+    private final int[] specialKeys;
+    private final int[] specialTargets;
+
+    // targets >= 0 are node indices, targets < 0 are ~recipe indices
+    private final Recipe[] recipes;
+
+    private CompiledRecipeLookup(@NotNull AbstractMapIngredient[] idKeys, @NotNull Int2ObjectMap<int[]> idsByHash,
+                                 int @NotNull [] normalStart, int @NotNull [] normalKeys,
+                                 int @NotNull [] normalTargets, int @NotNull [] specialStart,
+                                 int @NotNull [] specialKeys, int @NotNull [] specialTargets,
+                                 @NotNull Recipe[] recipes) {
+        this.idKeys = idKeys;
+        this.idsByHash = idsByHash;
+        this.normalStart = normalStart;
+        this.normalKeys = normalKeys;
+        this.normalTargets = normalTargets;
+        this.specialStart = specialStart;
+        this.specialKeys = specialKeys;
+        this.specialTargets = specialTargets;
+        this.recipes = recipes;
+    }
+
+    /**
+     * Compile a branch tree into a flat lookup.
+     *
+     * @param root the root branch of the tree
+     * @return the compiled lookup
+     */
+    @NotNull
+    public static CompiledRecipeLookup compile(@NotNull Branch root) {
+        Object2IntOpenHashMap<AbstractMapIngredient> keyIds = new Object2IntOpenHashMap<>();
+        keyIds.defaultReturnValue(-1);
+        List<AbstractMapIngredient> idKeys = new ObjectArrayList<>();
+        Reference2IntOpenHashMap<Recipe> recipeIds = new Reference2IntOpenHashMap<>();
+        recipeIds.defaultReturnValue(-1);
+        List<Recipe> recipes = new ObjectArrayList<>();
+
+        IntArrayList normalStart = new IntArrayList();
+        IntArrayList normalKeys = new IntArrayList();
+        IntArrayList normalTargets = new IntArrayList();
+        IntArrayList specialStart = new IntArrayList();
+        IntArrayList specialKeys = new IntArrayList();
+        IntArrayList specialTargets = new IntArrayList();
+
+        // breadth-first, so node indices are assigned in the order nodes are emitted
+        List<Branch> branches = new ObjectArrayList<>();
+        branches.add(root);
+        for (int i = 0; i < branches.size(); i++) {
+            Branch branch = branches.get(i);
+            normalStart.add(normalKeys.size());
+            appendNode(branch.getNodes(), normalKeys, normalTargets, branches, keyIds, idKeys, recipeIds, recipes);
+            specialStart.add(specialKeys.size());
+            appendNode(branch.getSpecialNodes(), specialKeys, specialTargets, branches, keyIds, idKeys, recipeIds,
+                    recipes);
+        }
+        normalStart.add(normalKeys.size());
+        specialStart.add(specialKeys.size());
+
+        Int2ObjectMap<IntArrayList> hashGroups = new Int2ObjectOpenHashMap<>();
+        for (int id = 0; id < idKeys.size(); id++) {
+            int hash = idKeys.get(id).hashCode();
+            IntArrayList group = hashGroups.get(hash);
+            if (group == null) {
+                group = new IntArrayList(1);
+                hashGroups.put(hash, group);
+            }
+            group.add(id);
+        }
+        Int2ObjectMap<int[]> idsByHash = new Int2ObjectOpenHashMap<>(hashGroups.size());
+        for (Int2ObjectMap.Entry<IntArrayList> entry : hashGroups.int2ObjectEntrySet()) {
+            idsByHash.put(entry.getIntKey(), entry.getValue().toIntArray());
+        }
+
+        return new CompiledRecipeLookup(idKeys.toArray(new AbstractMapIngredient[0]), idsByHash,
+                normalStart.toIntArray(), normalKeys.toIntArray(), normalTargets.toIntArray(),
+                specialStart.toIntArray(), specialKeys.toIntArray(), specialTargets.toIntArray(),
+                recipes.toArray(new Recipe[0]));
+    }
+
+    private static void appendNode(@NotNull Map<AbstractMapIngredient, Either<Recipe, Branch>> nodes,
+                                   @NotNull IntArrayList keys, @NotNull IntArrayList targets,
+                                   @NotNull List<Branch> branches,
+                                   @NotNull Object2IntOpenHashMap<AbstractMapIngredient> keyIds,
+                                   @NotNull List<AbstractMapIngredient> idKeys,
+                                   @NotNull Reference2IntOpenHashMap<Recipe> recipeIds,
+                                   @NotNull List<Recipe> recipes) {
+        if (nodes.isEmpty()) return;
+
+        // sort the children by ingredient id for binary searching
+        Int2ObjectRBTreeMap<Either<Recipe, Branch>> sorted = new Int2ObjectRBTreeMap<>();
+        for (Map.Entry<AbstractMapIngredient, Either<Recipe, Branch>> entry : nodes.entrySet()) {
+            int id = keyIds.getInt(entry.getKey());
+            if (id == -1) {
+                id = idKeys.size();
+                idKeys.add(entry.getKey());
+                keyIds.put(entry.getKey(), id);
+            }
+            sorted.put(id, entry.getValue());
+        }
+
+        for (Int2ObjectMap.Entry<Either<Recipe, Branch>> entry : sorted.int2ObjectEntrySet()) {
+            Either<Recipe, Branch> either = entry.getValue();
+            int target;
+            if (either.left().isPresent()) {
+                Recipe recipe = either.left().get();
+                int recipeId = recipeIds.getInt(recipe);
+                if (recipeId == -1) {
+                    recipeId = recipes.size();
+                    recipes.add(recipe);
+                    recipeIds.put(recipe, recipeId);
+                }
+                target = ~recipeId;
+            } else {
+                target = branches.size();
+                branches.add(either.right().get());
+            }
+            keys.add(entry.getIntKey());
+            targets.add(target);
+        }
+    }
+
+    /**
+     * Finds a recipe in the compiled lookup.
+     *
+     * @param ingredients the ingredients to search with, as built by {@code RecipeMap#prepareRecipeFind}
+     * @param canHandle   if the found recipe is valid
+     * @return the recipe found
+     */
+    @Nullable
+    public Recipe find(@NotNull List<List<AbstractMapIngredient>> ingredients, @NotNull Predicate<Recipe> canHandle) {
+        ResolvedInputs inputs = SCRATCH.get();
+        if (inputs.inUse) {
+            // canHandle searched again on this thread
+            inputs = new ResolvedInputs();
+        }
+        inputs.inUse = true;
+        try {
+            resolve(ingredients, inputs);
+            // Try each ingredient as a starting point, adding it to the skip-list.
+            for (int i = 0; i < inputs.size; i++) {
+                Recipe r = findRecipe(inputs, canHandle, 0, i, 0, (1L << i));
+                if (r != null) {
+                    return r;
+                }
+            }
+            return null;
+        } finally {
+            inputs.inUse = false;
+        }
+    }
+
+    /**
+     * @return the amount of nodes in the compiled lookup
+     */
+    public int getNodeCount() {
+        return normalStart.length - 1;
+    }
+
+    /**
+     * @return the amount of distinct ingredients in the compiled lookup
+     */
+    public int getIngredientCount() {
+        return idKeys.length;
+    }
+
+    private void resolve(@NotNull List<List<AbstractMapIngredient>> ingredients, @NotNull ResolvedInputs inputs) {
+        int entryCount = 0;
+        for (int i = 0; i < ingredients.size(); i++) {
+            entryCount += ingredients.get(i).size();
+        }
+
+        inputs.reset(ingredients.size(), entryCount);
+        int candidateCount = 0;
+        int entry = 0;
+        for (int i = 0; i < ingredients.size(); i++) {
+            inputs.groupStart[i] = entry;
+            List<AbstractMapIngredient> group = ingredients.get(i);
+            // noinspection ForLoopReplaceableByForEach
+            for (int j = 0; j < group.size(); j++) {
+                AbstractMapIngredient ingredient = group.get(j);
+                inputs.candidateStart[entry] = candidateCount;
+                inputs.special[entry] = ingredient.isSpecialIngredient();
+                int[] sameHash = idsByHash.get(ingredient.hashCode());
+                if (sameHash != null) {
+                    for (int id : sameHash) {
+                        // same comparison direction as a hash map lookup with the ingredient as the key
+                        if (ingredient.equals(idKeys[id])) {
+                            inputs.addCandidate(candidateCount++, id);
+                        }
+                    }
+                }
+                entry++;
+            }
+        }
+        inputs.groupStart[ingredients.size()] = entry;
+        inputs.candidateStart[entry] = candidateCount;
+    }
+
+    @Nullable
+    private Recipe findRecipe(@NotNull ResolvedInputs inputs, @NotNull Predicate<Recipe> canHandle, int node,
+                              int index, int count, long skip) {
+        // exhausted all the ingredients, and didn't find anything
+        if (count == inputs.size) return null;
+
+        for (int entry = inputs.groupStart[index]; entry < inputs.groupStart[index + 1]; entry++) {
+            for (int c = inputs.candidateStart[entry]; c < inputs.candidateStart[entry + 1]; c++) {
+                int target = findTarget(node, inputs.special[entry], inputs.candidates[c]);
+                if (target == NO_TARGET) continue;
+
+                Recipe r;
+                if (target < 0) {
+                    Recipe potentialRecipe = recipes[~target];
+                    r = canHandle.test(potentialRecipe) ? potentialRecipe : null;
+                } else {
+                    r = diveRecipe(inputs, canHandle, target, index, count, skip);
+                }
+                if (r != null) {
+                    return r;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Recipe diveRecipe(@NotNull ResolvedInputs inputs, @NotNull Predicate<Recipe> canHandle, int node,
+                              int currentIndex, int count, long skip) {
+        // We loop around the ingredients if we reach the end.
+        int i = (currentIndex + 1) % inputs.size;
+        while (i != currentIndex) {
+            if (((skip & (1L << i)) == 0)) {
+                Recipe found = findRecipe(inputs, canHandle, node, i, count + 1, skip | (1L << i));
+                if (found != null) {
+                    return found;
+                }
+            }
+            i = (i + 1) % inputs.size;
+        }
+        return null;
+    }
+
+    private int findTarget(int node, boolean special, int id) {
+        int pos;
+        if (special) {
+            pos = Arrays.binarySearch(specialKeys, specialStart[node], specialStart[node + 1], id);
+            return pos < 0 ? NO_TARGET : specialTargets[pos];
+        }
+        pos = Arrays.binarySearch(normalKeys, normalStart[node], normalStart[node + 1], id);
+        return pos < 0 ? NO_TARGET : normalTargets[pos];
+    }
+
+    /**
+     * Search ingredients converted to candidate ids. Entry {@code e} of group {@code g} lies in
+     * {@code [groupStart[g], groupStart[g + 1])}, and its candidate ids in
+     * {@code [candidateStart[e], candidateStart[e + 1])}. The arrays only grow, so they can be reused for every
+     * lookup.
+     */
+    private static final class ResolvedInputs {
+
+        private int size;
+        private int[] groupStart = new int[8];
+        private int[] candidateStart = new int[16];
+        private boolean[] special = new boolean[16];
+        private int[] candidates = new int[16];
+        private boolean inUse;
+
+        private void reset(int size, int entryCount) {
+            this.size = size;
+            if (groupStart.length < size + 1) {
+                this.groupStart = new int[size + 1];
+            }
+            if (candidateStart.length < entryCount + 1) {
+                this.candidateStart = new int[entryCount + 1];
+                this.special = new boolean[entryCount];
+            }
+        }
+
+        private void addCandidate(int index, int id) {
+            if (index == candidates.length) {
+                this.candidates = Arrays.copyOf(candidates, candidates.length * 2);
+            }
+            candidates[index] = id;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package gregtech.api.recipes.map;
+
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenCustomHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A bounded cache of the ingredients which inputs are converted to for searching a RecipeMap's ingredient tree, so
+ * searching with the same inputs again reuses the ingredients instead of creating and hashing new ones.
+ * <p>
+ * The keys must not be changed after they are stored, so callers should store copies of their inputs. Once full,
+ * the least recently used inputs are evicted first. The ingredients of items include their ore dictionary entries,
+ * so all caches are cleared when the ore dictionary changes.
+ *
+ * @param <T> the type of the inputs
+ */
+public final class MapIngredientCache<T> {
+
+    private static volatile int oreDictVersion;
+
+    private final Object2ObjectLinkedOpenCustomHashMap<T, List<AbstractMapIngredient>> cache;
+    private final int capacity;
+    private int version = oreDictVersion;
+
+    /**
+     * @param strategy the strategy comparing inputs, which must consider two inputs equal only if they convert to
+     *                 the same ingredients
+     * @param capacity the maximum amount of inputs to store
+     */
+    public MapIngredientCache(@NotNull Hash.Strategy<? super T> strategy, int capacity) {
+        this.cache = new Object2ObjectLinkedOpenCustomHashMap<>(strategy);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Clear all caches, after the ore dictionary changed.
+     */
+    public static void invalidateAll() {
+        oreDictVersion++;
+    }
+
+    /**
+     * @param input the input to look up
+     * @return the ingredients of the input, or null if they are not stored
+     */
+    @Nullable
+    public synchronized List<AbstractMapIngredient> get(@NotNull T input) {
+        checkVersion();
+        return cache.getAndMoveToLast(input);
+    }
+
+    /**
+     * Store the ingredients of an input.
+     *
+     * @param input       the input, which must not be changed afterwards
+     * @param ingredients the ingredients of the input
+     */
+    public synchronized void put(@NotNull T input, @NotNull List<AbstractMapIngredient> ingredients) {
+        if (capacity <= 0) return;
+        checkVersion();
+        cache.putAndMoveToLast(input, ingredients);
+        if (cache.size() > capacity) {
+            cache.removeFirst();
+        }
+    }
+
+    /**
+     * Remove all stored inputs.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return the amount of stored inputs
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    private void checkVersion() {
+        int current = oreDictVersion;
+        if (version != current) {
+            cache.clear();
+            version = current;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package gregtech.api.recipes.map;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.FluidStack;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A bounded cache of input fingerprints which are known to not reach any recipe in a RecipeMap's ingredient tree.
+ * <p>
+ * A fingerprint only covers the unique identities of the inputs (item, metadata, NBT and fluid, NBT), as those are
+ * the only things the ingredient tree uses. Stack sizes, fluid amounts and voltage are deliberately ignored, so only
+ * searches which never reached a recipe at all may be stored, never searches where a recipe was found but rejected.
+ * The identities are stored next to their fingerprint and compared on every hit, so inputs which happen to share a
+ * fingerprint are never mistaken for each other.
+ * <p>
+ * The cache must be cleared whenever recipes are added or removed. Items reach recipes through their ore dictionary
+ * entries as well, so all caches are cleared when the ore dictionary changes. Once full, the oldest fingerprints are
+ * evicted first.
+ */
+public final class RecipeNoMatchCache {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    // the hashes of the inputs are sorted in a buffer reused by every fingerprint on the same thread
+    private static final ThreadLocal<long[][]> HASHES = ThreadLocal.withInitial(() -> new long[][] { new long[16] });
+
+    private static volatile int oreDictVersion;
+
+    private final long[] entries;
+    private final Long2ObjectOpenHashMap<Inputs> lookup;
+    private int nextEntry;
+    private int size;
+    private int version = oreDictVersion;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity the maximum amount of fingerprints to store
+     */
+    public RecipeNoMatchCache(int capacity) {
+        this.entries = new long[capacity];
+        this.lookup = new Long2ObjectOpenHashMap<>(capacity);
+    }
+
+    /**
+     * Clear all caches, after the ore dictionary changed.
+     */
+    public static void invalidateAll() {
+        oreDictVersion++;
+    }
+
+    /**
+     * Computes an order-independent fingerprint of the unique identities of the inputs.
+     *
+     * @param items  the item inputs
+     * @param fluids the fluid inputs
+     * @return the fingerprint
+     */
+    public static long fingerprint(@NotNull Collection<ItemStack> items, @NotNull Collection<FluidStack> fluids) {
+        long[][] buffer = HASHES.get();
+        if (buffer[0].length < items.size() + fluids.size()) {
+            buffer[0] = new long[items.size() + fluids.size()];
+        }
+        long[] hashes = buffer[0];
+        int i = 0;
+        for (ItemStack stack : items) {
+            if (stack.isEmpty()) continue;
+            NBTTagCompound tag = stack.getTagCompound();
+            long hash = ((long) Item.getIdFromItem(stack.getItem()) << 32) | (stack.getMetadata() & 0xFFFFFFFFL);
+            hashes[i++] = HashCommon.murmurHash3(HashCommon.murmurHash3(hash) ^ (tag == null ? 0 : tag.hashCode()));
+        }
+        for (FluidStack stack : fluids) {
+            if (stack == null || stack.amount == 0) continue;
+            // match MapFluidIngredient, which compares fluids by name
+            long hash = ((long) stack.getFluid().getName().hashCode() << 32) ^ GOLDEN_RATIO;
+            hashes[i++] = HashCommon.murmurHash3(HashCommon.murmurHash3(hash) ^ (stack.tag == null ? 0 :
+                    stack.tag.hashCode()));
+        }
+
+        // sort, so the order of the inputs is irrelevant, and skip duplicates, so the amount of them is irrelevant
+        Arrays.sort(hashes, 0, i);
+        long fingerprint = 0;
+        for (int j = 0; j < i; j++) {
+            if (j > 0 && hashes[j] == hashes[j - 1]) continue;
+            fingerprint = fingerprint * GOLDEN_RATIO + hashes[j];
+        }
+        return HashCommon.murmurHash3(fingerprint);
+    }
+
+    /**
+     * @param fingerprint the fingerprint of the inputs, see {@link #fingerprint(Collection, Collection)}
+     * @param items       the item inputs
+     * @param fluids      the fluid inputs
+     * @return if the inputs are known to not match any recipe
+     */
+    public synchronized boolean isNoMatch(long fingerprint, @NotNull Collection<ItemStack> items,
+                                          @NotNull Collection<FluidStack> fluids) {
+        checkVersion();
+        Inputs inputs = lookup.get(fingerprint);
+        if (inputs != null && inputs.matches(items, fluids)) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return false;
+    }
+
+    /**
+     * Store inputs which do not match any recipe.
+     *
+     * @param fingerprint the fingerprint of the inputs, see {@link #fingerprint(Collection, Collection)}
+     * @param items       the item inputs
+     * @param fluids      the fluid inputs
+     */
+    public synchronized void putNoMatch(long fingerprint, @NotNull Collection<ItemStack> items,
+                                        @NotNull Collection<FluidStack> fluids) {
+        if (entries.length == 0) return;
+        checkVersion();
+        // inputs with the same fingerprint replace each other, which is rare enough to not matter
+        if (lookup.put(fingerprint, new Inputs(items, fluids)) != null) return;
+        if (size == entries.length) {
+            lookup.remove(entries[nextEntry]);
+        } else {
+            size++;
+        }
+        entries[nextEntry] = fingerprint;
+        nextEntry = (nextEntry + 1) % entries.length;
+    }
+
+    /**
+     * Remove all stored fingerprints.
+     */
+    public synchronized void clear() {
+        lookup.clear();
+        nextEntry = 0;
+        size = 0;
+    }
+
+    private void checkVersion() {
+        int current = oreDictVersion;
+        if (version != current) {
+            clear();
+            version = current;
+        }
+    }
+
+    /**
+     * @return the amount of searches answered by the cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the amount of searches not answered by the cache
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the amount of stored fingerprints
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Reset the hit and miss counters.
+     */
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * The unique identities of inputs, compared the same way as by the ingredient tree.
+     */
+    private static final class Inputs {
+
+        private final ItemStack[] items;
+        private final FluidStack[] fluids;
+
+        private Inputs(@NotNull Collection<ItemStack> items, @NotNull Collection<FluidStack> fluids) {
+            this.items = items.stream()
+                    .filter(stack -> !stack.isEmpty())
+                    .map(ItemStack::copy)
+                    .toArray(ItemStack[]::new);
+            this.fluids = fluids.stream()
+                    .filter(stack -> stack != null && stack.amount != 0)
+                    .map(FluidStack::copy)
+                    .toArray(FluidStack[]::new);
+        }
+
+        private boolean matches(@NotNull Collection<ItemStack> items, @NotNull Collection<FluidStack> fluids) {
+            // both sides must contain the same distinct identities, in any order and amount
+            for (ItemStack stack : items) {
+                if (!stack.isEmpty() && indexOf(this.items, stack) == -1) return false;
+            }
+            for (ItemStack stored : this.items) {
+                if (!contains(items, stored)) return false;
+            }
+            for (FluidStack stack : fluids) {
+                if (stack != null && stack.amount != 0 && indexOf(this.fluids, stack) == -1) return false;
+            }
+            for (FluidStack stored : this.fluids) {
+                if (!containsFluid(fluids, stored)) return false;
+            }
+            return true;
+        }
+
+        private static int indexOf(@NotNull ItemStack[] stored, @NotNull ItemStack stack) {
+            for (int i = 0; i < stored.length; i++) {
+                if (isSameItem(stored[i], stack)) return i;
+            }
+            return -1;
+        }
+
+        private static int indexOf(@NotNull FluidStack[] stored, @NotNull FluidStack stack) {
+            for (int i = 0; i < stored.length; i++) {
+                if (isSameFluid(stored[i], stack)) return i;
+            }
+            return -1;
+        }
+
+        private static boolean contains(@NotNull Collection<ItemStack> items, @NotNull ItemStack stored) {
+            for (ItemStack stack : items) {
+                if (!stack.isEmpty() && isSameItem(stored, stack)) return true;
+            }
+            return false;
+        }
+
+        private static boolean containsFluid(@NotNull Collection<FluidStack> fluids, @NotNull FluidStack stored) {
+            for (FluidStack stack : fluids) {
+                if (stack != null && stack.amount != 0 && isSameFluid(stored, stack)) return true;
+            }
+            return false;
+        }
+
+        private static boolean isSameItem(@NotNull ItemStack a, @NotNull ItemStack b) {
+            return a.getItem() == b.getItem() && a.getMetadata() == b.getMetadata() &&
+                    Objects.equals(a.getTagCompound(), b.getTagCompound());
+        }
+
+        private static boolean isSameFluid(@NotNull FluidStack a, @NotNull FluidStack b) {
+            // match MapFluidIngredient, which compares fluids by name
+            return a.getFluid().getName().equals(b.getFluid().getName()) && Objects.equals(a.tag, b.tag);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package gregtech.api.unification;
 
 import gregtech.api.GTValues;
 import gregtech.api.GregTechAPI;
+import gregtech.api.recipes.map.MapIngredientCache;
+import gregtech.api.recipes.map.RecipeNoMatchCache;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.material.properties.PropertyKey;
 import gregtech.api.unification.material.registry.MaterialRegistry;
@@ -157,6 +159,10 @@ public class OreDictUnifier {
             }
             orePrefix.processOreRegistration(material);
         }
+        // only once the registration is visible, so searches in between cannot store outdated results
+        GTUtility.invalidateOreStateCache();
+        MapIngredientCache.invalidateAll();
+        RecipeNoMatchCache.invalidateAll();
     }
 
     @NotNull
@@ -0,0 +1,98 @@
+package gregtech.api.unification.stack;
+
+import gregtech.api.unification.OreDictUnifier;
+import gregtech.api.unification.material.Material;
+import gregtech.api.unification.ore.OrePrefix;
+import gregtech.api.util.GTUtility;
+
+import net.minecraft.item.ItemStack;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The unification of the item form of a block state, used to find and identify ores in the world.
+ * <p>
+ * Instances are cached per block state, see {@link GTUtility#getOreStateInfo(net.minecraft.block.state.IBlockState)},
+ * so they are immutable and can be read from any thread.
+ */
+public final class OreStateInfo {
+
+    public static final OreStateInfo EMPTY = new OreStateInfo(null, null, ItemStack.EMPTY);
+
+    @Nullable
+    private final UnificationEntry entry;
+    @Nullable
+    private final MaterialStack material;
+    private final boolean ore;
+    private final ItemStack unificated;
+
+    private OreStateInfo(@Nullable UnificationEntry entry, @Nullable MaterialStack material,
+                         @NotNull ItemStack unificated) {
+        this.entry = entry;
+        this.material = material;
+        this.ore = entry != null && entry.orePrefix.name().startsWith("ore");
+        this.unificated = unificated;
+    }
+
+    /**
+     * @param itemStack the item form of a block state
+     * @return the unification of the item
+     */
+    @NotNull
+    public static OreStateInfo of(@NotNull ItemStack itemStack) {
+        UnificationEntry entry = OreDictUnifier.getUnificationEntry(itemStack);
+        if (entry == null) return EMPTY;
+        return new OreStateInfo(entry, OreDictUnifier.getMaterial(itemStack),
+                OreDictUnifier.getUnificated(itemStack).copy());
+    }
+
+    /**
+     * @return if the block state is an ore block, of any ore prefix
+     */
+    public boolean isOre() {
+        return ore;
+    }
+
+    /**
+     * @return the unification entry of the block state, or null if it has none
+     */
+    @Nullable
+    public UnificationEntry getUnificationEntry() {
+        return entry;
+    }
+
+    /**
+     * @return the ore prefix of the block state, or null if it has none
+     */
+    @Nullable
+    public OrePrefix getPrefix() {
+        return entry == null ? null : entry.orePrefix;
+    }
+
+    /**
+     * @return the material of the block state, or null if it has none
+     */
+    @Nullable
+    public Material getMaterial() {
+        return entry == null ? null : entry.material;
+    }
+
+    /**
+     * @return the material of the block state with the amount it contains, like
+     *         {@link OreDictUnifier#getMaterial(ItemStack)}, or null if it has none
+     */
+    @Nullable
+    public MaterialStack getMaterialStack() {
+        return material;
+    }
+
+    /**
+     * @return a copy of the unificated item form of the block state, which it drops when mined unless it has custom
+     *         drops, or an empty stack if it has no unification entry
+     */
+    @NotNull
+    public ItemStack getUnificated() {
+        return unificated.copy();
+    }
+}
@@ -19,8 +19,10 @@ import gregtech.api.recipes.RecipeMap;
 import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.unification.stack.ItemAndMetadata;
+import gregtech.api.unification.stack.OreStateInfo;
 import gregtech.api.util.function.impl.TimedProgressSupplier;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockRedstoneWire;
 import net.minecraft.block.BlockSnow;
 import net.minecraft.block.material.MapColor;
@@ -67,6 +69,7 @@ import org.jetbrains.annotations.Range;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -695,6 +698,74 @@ public class GTUtility {
         return orePrefix != null && orePrefix.name().startsWith("ore");
     }
 
+    // the unification of each block state by its id, filled lazily
+    private static volatile OreStateInfo[] oreStateCache = new OreStateInfo[0];
+    private static int oreStateGeneration;
+
+    /**
+     * Must be called on the server or client thread, see {@link #getOreStateInfo(IBlockState)}.
+     *
+     * @param state the block state to check
+     * @return if the block state is an ore block, like {@link #isOre(ItemStack)} with its item form
+     */
+    public static boolean isOre(@NotNull IBlockState state) {
+        return getOreStateInfo(state).isOre();
+    }
+
+    /**
+     * Looks up the unification of the item form of a block state. The result is cached per block state id until the
+     * ore dictionary changes, so this is cheap.
+     * <p>
+     * A block state which is not cached yet is looked up in the ore dictionary, which is not thread-safe, so this must
+     * be called on the server or client thread. Worker threads should work with results collected on the main thread
+     * instead, like {@link gregtech.api.capability.impl.miner.AsyncOreScanner} does.
+     *
+     * @param state the block state to look up
+     * @return the unification of the block state
+     */
+    @NotNull
+    public static OreStateInfo getOreStateInfo(@NotNull IBlockState state) {
+        int id = Block.getStateId(state);
+        OreStateInfo[] cache = oreStateCache;
+        if (id < cache.length) {
+            OreStateInfo info = cache[id];
+            if (info != null) return info;
+        }
+        int generation;
+        synchronized (GTUtility.class) {
+            generation = oreStateGeneration;
+        }
+        OreStateInfo info = OreStateInfo.of(toItem(state));
+        synchronized (GTUtility.class) {
+            // the ore dictionary changed while looking it up
+            if (generation != oreStateGeneration) return info;
+            cache = oreStateCache;
+            if (id >= cache.length) {
+                cache = Arrays.copyOf(cache, Math.max(id + 1, cache.length * 2));
+            }
+            cache[id] = info;
+            oreStateCache = cache;
+        }
+        return info;
+    }
+
+    /**
+     * @return a number which changes whenever the cache of {@link #getOreStateInfo(IBlockState)} is cleared
+     */
+    public static synchronized int getOreStateGeneration() {
+        return oreStateGeneration;
+    }
+
+    /**
+     * Clears the cache of {@link #getOreStateInfo(IBlockState)}, after the ore dictionary changed.
+     */
+    public static synchronized void invalidateOreStateCache() {
+        oreStateGeneration++;
+        if (oreStateCache.length > 0) {
+            oreStateCache = new OreStateInfo[0];
+        }
+    }
+
     /**
      * Checks whether a machine is not a multiblock and has a recipemap not present in a blacklist
      *
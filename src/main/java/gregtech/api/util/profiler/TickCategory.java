@@ -0,0 +1,33 @@
+package gregtech.api.util.profiler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The kinds of server-side updates tracked by the {@link TickProfiler}.
+ */
+public enum TickCategory {
+
+    /**
+     * {@code MetaTileEntityHolder#update()}, including the covers of the MetaTileEntity only for chunks
+     */
+    MACHINE("Machine"),
+    /**
+     * Tickable pipe tile entities, including the covers of the pipe only for chunks
+     */
+    PIPE("Pipe"),
+    /**
+     * A single cover's {@code update()}
+     */
+    COVER("Cover");
+
+    private final String name;
+
+    TickCategory(@NotNull String name) {
+        this.name = name;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,144 @@
+package gregtech.api.util.profiler;
+
+/**
+ * A compact histogram of tick times, using fixed log-scale buckets.
+ * <p>
+ * Every power of two from 64 ns up to 2<sup>29</sup> ns (~537 ms) is split into two buckets, with one more bucket for
+ * shorter and one for longer ticks, so percentiles are estimated within a factor of about 1.4. Count, mean and maximum
+ * are exact.
+ * <p>
+ * A histogram may decay: once it holds a given amount of samples, all counts are halved, so older ticks gradually lose
+ * their weight.
+ */
+public final class TickHistogram {
+
+    private static final int MIN_OCTAVE = 6;
+    private static final int MAX_OCTAVE = 28;
+    private static final int BUCKETS = (MAX_OCTAVE - MIN_OCTAVE + 1) * 2 + 2;
+
+    private final int[] buckets = new int[BUCKETS];
+    private final int decayThreshold;
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Create a histogram which never decays.
+     */
+    public TickHistogram() {
+        this(0);
+    }
+
+    /**
+     * @param decayThreshold the amount of samples after which all counts are halved, or 0 to never decay
+     */
+    public TickHistogram(int decayThreshold) {
+        this.decayThreshold = decayThreshold;
+    }
+
+    /**
+     * @param nanos the tick time to add, in ns
+     */
+    public void add(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[bucketOf(nanos)]++;
+        count++;
+        total += nanos;
+        if (nanos > max) {
+            max = nanos;
+        }
+        if (decayThreshold > 0 && count >= decayThreshold) {
+            decay();
+        }
+    }
+
+    /**
+     * Remove all samples.
+     */
+    public void clear() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * @return the amount of samples, after decay
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the sum of all samples, after decay, in ns
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the mean tick time, in ns
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * @return the worst tick time still represented in the histogram, in ns
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile the percentile to estimate, in the range [0, 1]
+     * @return the upper bound of the bucket containing the percentile, in ns
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    private void decay() {
+        long newCount = 0;
+        int highest = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] >>= 1;
+            newCount += buckets[i];
+            if (buckets[i] != 0) {
+                highest = i;
+            }
+        }
+        // keep the mean stable while scaling the total down with the counts
+        total = count == 0 ? 0 : (long) ((double) total / count * newCount);
+        count = newCount;
+        max = Math.min(max, upperBoundOf(highest));
+    }
+
+    private static int bucketOf(long nanos) {
+        int octave = 63 - Long.numberOfLeadingZeros(nanos);
+        if (octave < MIN_OCTAVE) return 0;
+        if (octave > MAX_OCTAVE) return BUCKETS - 1;
+        // the bit after the leading one decides the half of the octave
+        int half = (int) (nanos >>> (octave - 1)) & 1;
+        return 1 + (octave - MIN_OCTAVE) * 2 + half;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket == 0) return 1L << MIN_OCTAVE;
+        if (bucket == BUCKETS - 1) return Long.MAX_VALUE;
+        int octave = MIN_OCTAVE + (bucket - 1) / 2;
+        int half = (bucket - 1) % 2;
+        return (1L << octave) + ((long) (half + 1) << (octave - 1));
+    }
+}
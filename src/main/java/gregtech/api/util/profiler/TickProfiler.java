@@ -0,0 +1,154 @@
+package gregtech.api.util.profiler;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A server-wide profiler aggregating the tick times of machines, pipes and covers per class and per chunk.
+ * <p>
+ * Profiling is off by default, and the tick sources only measure themselves while {@link #isActive()} returns true.
+ * All recording must happen on the server thread.
+ */
+public final class TickProfiler {
+
+    private static final Map<TickCategory, Map<Class<?>, TickStatistics>> CLASS_STATISTICS = new EnumMap<>(
+            TickCategory.class);
+    private static final Int2ObjectMap<Long2ObjectMap<TickStatistics>> CHUNK_STATISTICS = new Int2ObjectOpenHashMap<>();
+
+    private static volatile boolean active;
+    private static long startTime;
+    // the time of the covers updated since the last machine or pipe was recorded, which contains them
+    private static long coverNanos;
+
+    private TickProfiler() {}
+
+    /**
+     * @return if tick times should currently be recorded
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @param world the world being ticked
+     * @return if tick times in the world should currently be recorded
+     */
+    public static boolean isActive(@NotNull World world) {
+        return active && !world.isRemote;
+    }
+
+    /**
+     * Discard all previous results and start recording.
+     */
+    public static void start() {
+        CLASS_STATISTICS.clear();
+        CHUNK_STATISTICS.clear();
+        coverNanos = 0;
+        startTime = System.nanoTime();
+        active = true;
+    }
+
+    /**
+     * Stop recording. The results are kept until the next {@link #start()}.
+     *
+     * @return the duration of the profiling window, in ns
+     */
+    public static long stop() {
+        active = false;
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Record a single update. Covers must be recorded before the machine or pipe holding them, whose time includes
+     * theirs. The time of the covers is only counted once per class, by leaving it out of the holder's class, and only
+     * counted for chunks through the holder.
+     *
+     * @param category the kind of update
+     * @param type     the class of the updated object
+     * @param world    the world of the updated object
+     * @param pos      the position of the updated object
+     * @param nanos    the time the update took, in ns
+     */
+    public static void record(@NotNull TickCategory category, @NotNull Class<?> type, @NotNull World world,
+                              @NotNull BlockPos pos, long nanos) {
+        if (!active) return;
+
+        long selfNanos = nanos;
+        if (category == TickCategory.COVER) {
+            coverNanos += nanos;
+        } else {
+            selfNanos = Math.max(0, nanos - coverNanos);
+            coverNanos = 0;
+        }
+
+        Map<Class<?>, TickStatistics> classes = CLASS_STATISTICS.get(category);
+        if (classes == null) {
+            classes = new Object2ObjectOpenHashMap<>();
+            CLASS_STATISTICS.put(category, classes);
+        }
+        TickStatistics statistics = classes.get(type);
+        if (statistics == null) {
+            statistics = new TickStatistics(category.getName(), type.getName());
+            classes.put(type, statistics);
+        }
+        statistics.add(selfNanos);
+
+        // covers are already part of the tick time of their holder
+        if (category == TickCategory.COVER) return;
+
+        int dimension = world.provider.getDimension();
+        Long2ObjectMap<TickStatistics> chunks = CHUNK_STATISTICS.get(dimension);
+        if (chunks == null) {
+            chunks = new Long2ObjectOpenHashMap<>();
+            CHUNK_STATISTICS.put(dimension, chunks);
+        }
+        int chunkX = pos.getX() >> 4;
+        int chunkZ = pos.getZ() >> 4;
+        long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+        statistics = chunks.get(chunkKey);
+        if (statistics == null) {
+            statistics = new TickStatistics("Chunk", "DIM" + dimension + " [" + chunkX + ", " + chunkZ + "]");
+            chunks.put(chunkKey, statistics);
+        }
+        statistics.add(nanos);
+    }
+
+    /**
+     * @return the per-class statistics of the last profiling window, sorted by total tick time
+     */
+    @NotNull
+    public static List<TickStatistics> getClassStatistics() {
+        List<TickStatistics> list = new ObjectArrayList<>();
+        for (Map<Class<?>, TickStatistics> classes : CLASS_STATISTICS.values()) {
+            list.addAll(classes.values());
+        }
+        list.sort((a, b) -> Long.compare(b.getTotal(), a.getTotal()));
+        return list;
+    }
+
+    /**
+     * @return the per-chunk statistics of the last profiling window, sorted by total tick time
+     */
+    @NotNull
+    public static List<TickStatistics> getChunkStatistics() {
+        List<TickStatistics> list = new ObjectArrayList<>();
+        for (Long2ObjectMap<TickStatistics> chunks : CHUNK_STATISTICS.values()) {
+            list.addAll(chunks.values());
+        }
+        list.sort((a, b) -> Long.compare(b.getTotal(), a.getTotal()));
+        return list;
+    }
+}
@@ -0,0 +1,75 @@
+package gregtech.api.util.profiler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Aggregated tick times of one profiled source, such as a class or a chunk.
+ */
+public final class TickStatistics {
+
+    private final String type;
+    private final String name;
+    private final TickHistogram histogram = new TickHistogram();
+
+    /**
+     * @param type the kind of the profiled source
+     * @param name the name of the profiled source
+     */
+    public TickStatistics(@NotNull String type, @NotNull String name) {
+        this.type = type;
+        this.name = name;
+    }
+
+    /**
+     * @param nanos the tick time to add, in ns
+     */
+    public void add(long nanos) {
+        histogram.add(nanos);
+    }
+
+    @NotNull
+    public String getType() {
+        return type;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the amount of recorded ticks
+     */
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    /**
+     * @return the sum of all recorded tick times, in ns
+     */
+    public long getTotal() {
+        return histogram.getTotal();
+    }
+
+    /**
+     * @return the mean tick time, in ns
+     */
+    public double getMean() {
+        return histogram.getMean();
+    }
+
+    /**
+     * @return the worst recorded tick time, in ns
+     */
+    public long getMax() {
+        return histogram.getMax();
+    }
+
+    /**
+     * @param percentile the percentile to estimate, in the range [0, 1]
+     * @return the estimated tick time at the percentile, in ns
+     */
+    public long getPercentile(double percentile) {
+        return histogram.getPercentile(percentile);
+    }
+}
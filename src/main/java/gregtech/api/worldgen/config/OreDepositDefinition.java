@@ -41,12 +41,15 @@ public class OreDepositDefinition implements IWorldgenDefinition {
     private BlockFiller blockFiller;
     private ShapeGenerator shapeGenerator;
 
+    private int configHash;
+
     public OreDepositDefinition(String depositName) {
         this.depositName = depositName;
     }
 
     @Override
     public boolean initializeFromConfig(@NotNull JsonObject configRoot) {
+        this.configHash = configRoot.toString().hashCode();
         this.weight = configRoot.get("weight").getAsInt();
         this.density = configRoot.get("density").getAsFloat();
         if (configRoot.has("name")) {
@@ -164,6 +167,13 @@ public class OreDepositDefinition implements IWorldgenDefinition {
         return shapeGenerator;
     }
 
+    /**
+     * @return the hash of the whole config the definition was initialized from
+     */
+    public int getConfigHash() {
+        return configHash;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (!(obj instanceof OreDepositDefinition))
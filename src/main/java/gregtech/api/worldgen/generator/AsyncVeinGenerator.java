@@ -0,0 +1,66 @@
+package gregtech.api.worldgen.generator;
+
+import gregtech.api.util.GTLog;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the vein layouts of grid entries on a pool of worker threads, see
+ * {@link gregtech.common.ConfigHolder.WorldGenOptions#asyncVeinGeneration}.
+ * <p>
+ * Only the layouts are generated on the workers. They depend on nothing but the seed of the grid entry, the vein
+ * definitions and the heights found when the entry was created, and the blocks are still placed on the main thread.
+ */
+final class AsyncVeinGenerator {
+
+    private static ExecutorService executor;
+
+    private AsyncVeinGenerator() {}
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            AtomicInteger threadId = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "GregTech Vein Generator #" + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * @param generation the generation of the veins of a grid entry
+     * @return the pending generation
+     */
+    @NotNull
+    static Future<?> submit(@NotNull Runnable generation) {
+        return getExecutor().submit(generation);
+    }
+
+    /**
+     * Wait for a generation to finish.
+     *
+     * @param generation the pending generation
+     * @return if the generation succeeded
+     */
+    static boolean await(@NotNull Future<?> generation) {
+        try {
+            generation.get();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            GTLog.logger.error("Failed to generate ore veins on a worker thread", e.getCause());
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package gregtech.api.worldgen.generator;
 
+import gregtech.api.util.GTLog;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.random.XoShiRo256PlusPlusRandom;
 import gregtech.api.worldgen.config.OreDepositDefinition;
@@ -13,6 +14,7 @@ import gregtech.common.ConfigHolder;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.World;
@@ -21,13 +23,20 @@ import net.minecraft.world.chunk.Chunk;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.longs.*;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.apache.commons.lang3.tuple.MutablePair;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IBlockModifierAccess {
 
@@ -35,20 +44,102 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
 
     public static CachedGridEntry getOrCreateEntry(World world, int gridX, int gridZ, int primerChunkX,
                                                    int primerChunkZ) {
-        Cache<Long, CachedGridEntry> currentValue = gridEntryCache.get(world);
-        if (currentValue == null) {
-            currentValue = createGridCache();
-            gridEntryCache.put(world, currentValue);
-        }
+        Cache<Long, CachedGridEntry> currentValue = getGridCache(world);
         Long gridEntryKey = (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
         CachedGridEntry gridEntry = currentValue.getIfPresent(gridEntryKey);
+        if (gridEntry != null && !gridEntry.awaitVeins()) {
+            // the veins failed to generate on a worker thread, so start over on this one
+            gridEntry = null;
+        }
         if (gridEntry == null) {
-            gridEntry = new CachedGridEntry(world, gridX, gridZ, primerChunkX, primerChunkZ);
+            gridEntry = loadEntry(world, gridX, gridZ);
+            if (gridEntry == null) {
+                gridEntry = new CachedGridEntry(world, gridX, gridZ, primerChunkX, primerChunkZ, true);
+            }
             currentValue.put(gridEntryKey, gridEntry);
         }
         return gridEntry;
     }
 
+    /**
+     * Create a grid entry if it does not exist yet, and start generating its veins on a worker thread.
+     * {@link #getOrCreateEntry(World, int, int, int, int)} waits for the veins to finish.
+     *
+     * @param world        the world of the grid entry
+     * @param gridX        the x position of the grid entry
+     * @param gridZ        the z position of the grid entry
+     * @param primerChunkX the x position of the chunk being populated
+     * @param primerChunkZ the z position of the chunk being populated
+     */
+    public static void submitEntry(World world, int gridX, int gridZ, int primerChunkX, int primerChunkZ) {
+        Cache<Long, CachedGridEntry> currentValue = getGridCache(world);
+        Long gridEntryKey = (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
+        if (currentValue.getIfPresent(gridEntryKey) == null) {
+            CachedGridEntry gridEntry = loadEntry(world, gridX, gridZ);
+            if (gridEntry == null) {
+                gridEntry = new CachedGridEntry(world, gridX, gridZ, primerChunkX, primerChunkZ, false);
+                gridEntry.pendingVeins = AsyncVeinGenerator.submit(gridEntry::generateVeins);
+            }
+            currentValue.put(gridEntryKey, gridEntry);
+        }
+    }
+
+    /**
+     * Start generating the veins of a grid entry ahead of the chunks needing it, if it can be created without
+     * loading or generating chunks.
+     *
+     * @param world the world of the grid entry
+     * @param gridX the x position of the grid entry
+     * @param gridZ the z position of the grid entry
+     */
+    public static void prefetchEntry(World world, int gridX, int gridZ) {
+        Long gridEntryKey = (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
+        if (getGridCache(world).getIfPresent(gridEntryKey) != null) return;
+
+        // the chunk the grid entry takes its heights from, see searchMasterOrNull
+        int startChunkX = gridX * WorldGeneratorImpl.GRID_SIZE_X;
+        int startChunkZ = gridZ * WorldGeneratorImpl.GRID_SIZE_Z;
+        for (int x = 0; x < WorldGeneratorImpl.GRID_SIZE_X; x++) {
+            for (int z = 0; z < WorldGeneratorImpl.GRID_SIZE_Z; z++) {
+                int chunkX = startChunkX + x;
+                int chunkZ = startChunkZ + z;
+                if (world.isChunkGeneratedAt(chunkX, chunkZ)) {
+                    if (world.getChunkProvider().getLoadedChunk(chunkX, chunkZ) != null) {
+                        submitEntry(world, gridX, gridZ, chunkX, chunkZ);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the grid entry read from the vein layout store of the world, or null if it is not stored
+     */
+    @Nullable
+    private static CachedGridEntry loadEntry(World world, int gridX, int gridZ) {
+        VeinLayoutStore layoutStore = VeinLayoutStore.get(world);
+        if (layoutStore == null) return null;
+        ByteBuffer layout = layoutStore.read(gridX, gridZ);
+        if (layout == null) return null;
+        try {
+            return new CachedGridEntry(world, gridX, gridZ, layoutStore, layoutStore::getDefinition,
+                    new PacketBuffer(Unpooled.wrappedBuffer(layout)));
+        } catch (RuntimeException e) {
+            GTLog.logger.warn("Discarding unreadable vein layout of grid entry {} {}", gridX, gridZ, e);
+            return null;
+        }
+    }
+
+    private static Cache<Long, CachedGridEntry> getGridCache(World world) {
+        Cache<Long, CachedGridEntry> currentValue = gridEntryCache.get(world);
+        if (currentValue == null) {
+            currentValue = createGridCache();
+            gridEntryCache.put(world, currentValue);
+        }
+        return currentValue;
+    }
+
     private static Cache<Long, CachedGridEntry> createGridCache() {
         return CacheBuilder.newBuilder()
                 .maximumSize(300)
@@ -76,12 +167,22 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
 
     private int veinCenterX, veinCenterY, veinCenterZ;
     private OreDepositDefinition currentOreVein;
+    @Nullable
+    private Future<?> pendingVeins;
+    @Nullable
+    private final VeinLayoutStore layoutStore;
 
     public CachedGridEntry(World world, int gridX, int gridZ, int primerChunkX, int primerChunkZ) {
+        this(world, gridX, gridZ, primerChunkX, primerChunkZ, true);
+    }
+
+    private CachedGridEntry(World world, int gridX, int gridZ, int primerChunkX, int primerChunkZ,
+                            boolean generateVeins) {
         this.gridX = gridX;
         this.gridZ = gridZ;
         long worldSeed = world.getSeed();
         this.gridRandom = new XoShiRo256PlusPlusRandom(31L * 31 * gridX + gridZ * 31L + Long.hashCode(worldSeed));
+        this.layoutStore = VeinLayoutStore.get(world);
 
         int gridSizeX = WorldGeneratorImpl.GRID_SIZE_X * 16;
         int gridSizeZ = WorldGeneratorImpl.GRID_SIZE_Z * 16;
@@ -106,7 +207,47 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
             this.masterEntry.setMaxHeight(masterHeight, masterBottomHeight);
         }
 
-        triggerVeinsGeneration();
+        if (generateVeins) {
+            generateVeins();
+        } else {
+            // the master entry may be the capability of a chunk, which the main thread can change while the veins
+            // are generated elsewhere
+            GTWorldGenCapability snapshot = new GTWorldGenCapability();
+            snapshot.setFrom(masterEntry);
+            this.masterEntry = snapshot;
+        }
+    }
+
+    /**
+     * Create a grid entry from a layout written by {@link #writeLayout(PacketBuffer)}.
+     *
+     * @param layoutStore the store the layout was read from, or null
+     * @param definitions the vein definitions by name, returning null for definitions which do not exist anymore
+     */
+    CachedGridEntry(World world, int gridX, int gridZ, @Nullable VeinLayoutStore layoutStore,
+                    Function<String, OreDepositDefinition> definitions, PacketBuffer layout) {
+        this.gridX = gridX;
+        this.gridZ = gridZ;
+        long worldSeed = world.getSeed();
+        this.gridRandom = new XoShiRo256PlusPlusRandom(31L * 31 * gridX + gridZ * 31L + Long.hashCode(worldSeed));
+        this.layoutStore = layoutStore;
+        // the veins are read instead of chosen, so the deposits are not needed
+        this.cachedDepositMap = Collections.emptyList();
+        this.worldSeaLevel = world.getSeaLevel();
+        this.masterEntry = new GTWorldGenCapability();
+        readLayout(layout, definitions);
+    }
+
+    /**
+     * Wait for the veins generating on a worker thread, if there are any.
+     *
+     * @return if the veins were generated successfully
+     */
+    private boolean awaitVeins() {
+        Future<?> veins = this.pendingVeins;
+        if (veins == null) return true;
+        this.pendingVeins = null;
+        return AsyncVeinGenerator.await(veins);
     }
 
     private static BlockPos findOptimalSpot(int gridX, int gridZ, int chunkX, int chunkZ) {
@@ -206,6 +347,101 @@ public class CachedGridEntry implements GridEntryInfo, IBlockGeneratorAccess, IB
         return world.getChunk(chunkX, chunkZ).getCapability(GTWorldGenCapability.CAPABILITY, null);
     }
 
+    private void generateVeins() {
+        triggerVeinsGeneration();
+        if (layoutStore != null) {
+            PacketBuffer layout = new PacketBuffer(Unpooled.buffer());
+            writeLayout(layout);
+            layoutStore.write(gridX, gridZ, layout.nioBuffer());
+        }
+    }
+
+    /**
+     * Write the heights, veins and blocks of this grid entry, which must not be populated yet.
+     */
+    void writeLayout(PacketBuffer buf) {
+        Object2IntMap<OreDepositDefinition> definitionIds = new Object2IntOpenHashMap<>();
+        List<OreDepositDefinition> definitions = new ArrayList<>();
+        for (OreDepositDefinition definition : veinGeneratedMap.keySet()) {
+            definitionIds.put(definition, definitions.size());
+            definitions.add(definition);
+        }
+        for (ChunkDataEntry dataEntry : dataByChunkPos.values()) {
+            for (OreDepositDefinition definition : dataEntry.oreBlocks.keySet()) {
+                if (!definitionIds.containsKey(definition)) {
+                    definitionIds.put(definition, definitions.size());
+                    definitions.add(definition);
+                }
+            }
+        }
+
+        buf.writeVarInt(masterEntry.getMaxHeight());
+        buf.writeVarInt(masterEntry.getMaxBottomHeight());
+        buf.writeVarInt(definitions.size());
+        for (OreDepositDefinition definition : definitions) {
+            buf.writeString(definition.getDepositName());
+        }
+        buf.writeVarInt(veinGeneratedMap.size());
+        for (Entry<OreDepositDefinition, BlockPos> entry : veinGeneratedMap.entrySet()) {
+            buf.writeVarInt(definitionIds.getInt(entry.getKey()));
+            buf.writeLong(entry.getValue().toLong());
+        }
+        buf.writeVarInt(dataByChunkPos.size());
+        for (ChunkDataEntry dataEntry : dataByChunkPos.values()) {
+            buf.writeInt(dataEntry.chunkX);
+            buf.writeInt(dataEntry.chunkZ);
+            buf.writeVarInt(dataEntry.oreBlocks.size());
+            for (Entry<OreDepositDefinition, MutablePair<LongList, Integer>> entry : dataEntry.oreBlocks.entrySet()) {
+                LongList blockIndexList = entry.getValue().getLeft();
+                buf.writeVarInt(definitionIds.getInt(entry.getKey()));
+                buf.writeVarInt(entry.getValue().getRight());
+                buf.writeVarInt(blockIndexList.size());
+                for (int i = 0; i < blockIndexList.size(); i++) {
+                    buf.writeLong(blockIndexList.getLong(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the heights, veins and blocks written by {@link #writeLayout(PacketBuffer)}. Throws if the layout is
+     * corrupted or uses vein definitions which do not exist anymore.
+     */
+    private void readLayout(PacketBuffer buf, Function<String, OreDepositDefinition> definitionsByName) {
+        int maxHeight = buf.readVarInt();
+        this.masterEntry.setMaxHeight(maxHeight, buf.readVarInt());
+        OreDepositDefinition[] definitions = new OreDepositDefinition[buf.readVarInt()];
+        for (int i = 0; i < definitions.length; i++) {
+            String name = buf.readString(Short.MAX_VALUE);
+            definitions[i] = definitionsByName.apply(name);
+            if (definitions[i] == null) {
+                throw new IllegalArgumentException("Unknown vein definition " + name);
+            }
+        }
+        this.veinGeneratedMap = new Object2ObjectOpenHashMap<>();
+        int veinCount = buf.readVarInt();
+        for (int i = 0; i < veinCount; i++) {
+            veinGeneratedMap.put(definitions[buf.readVarInt()], BlockPos.fromLong(buf.readLong()));
+        }
+        int chunkCount = buf.readVarInt();
+        for (int i = 0; i < chunkCount; i++) {
+            int chunkX = buf.readInt();
+            int chunkZ = buf.readInt();
+            ChunkDataEntry dataEntry = new ChunkDataEntry(chunkX, chunkZ, gridRandom);
+            int oreCount = buf.readVarInt();
+            for (int j = 0; j < oreCount; j++) {
+                OreDepositDefinition definition = definitions[buf.readVarInt()];
+                int lowestY = buf.readVarInt();
+                long[] blockIndexes = new long[buf.readVarInt()];
+                for (int k = 0; k < blockIndexes.length; k++) {
+                    blockIndexes[k] = buf.readLong();
+                }
+                dataEntry.oreBlocks.put(definition, MutablePair.of(LongArrayList.wrap(blockIndexes), lowestY));
+            }
+            dataByChunkPos.put((long) chunkX << 32 | chunkZ & 0xFFFFFFFFL, dataEntry);
+        }
+    }
+
     public void triggerVeinsGeneration() {
         this.veinGeneratedMap = new Object2ObjectOpenHashMap<>();
         if (!cachedDepositMap.isEmpty()) {
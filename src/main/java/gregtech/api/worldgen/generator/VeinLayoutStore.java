@@ -0,0 +1,277 @@
+package gregtech.api.worldgen.generator;
+
+import gregtech.api.util.GTLog;
+import gregtech.api.worldgen.config.OreDepositDefinition;
+import gregtech.api.worldgen.config.WorldGenRegistry;
+import gregtech.common.ConfigHolder;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Stores the vein layouts of grid entries on disk, see
+ * {@link gregtech.common.ConfigHolder.WorldGenOptions#persistVeinLayouts}, so grid entries evicted from memory are
+ * read back instead of generated again.
+ * <p>
+ * The layouts are kept in region files of 32 by 32 grid entries in the {@code gregtech/veins} folder of the
+ * dimension. A region file starts with the fingerprint of the vein definitions and options the layouts were generated
+ * with, followed by the offset and length of the layout of every grid entry in the region. Layouts are appended to
+ * the end of the file and read through memory mapping. Region files with another fingerprint are discarded.
+ */
+@EventBusSubscriber
+public final class VeinLayoutStore {
+
+    private static final Map<World, VeinLayoutStore> STORES = new WeakHashMap<>();
+
+    private static final int MAGIC = 0x47545645;
+    private static final int FORMAT_VERSION = 1;
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+    private static final int HEADER_SIZE = 16;
+    private static final int TABLE_SIZE = REGION_SIZE * REGION_SIZE * 8;
+    private static final int MAX_OPEN_REGIONS = 16;
+
+    private final File directory;
+    private final long fingerprint;
+    private final Map<String, OreDepositDefinition> definitions = new HashMap<>();
+    private final Long2ObjectLinkedOpenHashMap<RegionFile> regions = new Long2ObjectLinkedOpenHashMap<>();
+    private boolean closed;
+
+    private VeinLayoutStore(@NotNull File directory, long fingerprint) {
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+        for (OreDepositDefinition definition : WorldGenRegistry.getOreDeposits()) {
+            definitions.put(definition.getDepositName(), definition);
+        }
+    }
+
+    /**
+     * Must be called on the main thread.
+     *
+     * @param world the world to store the layouts of
+     * @return the store of the world, or null if layouts are not stored
+     */
+    @Nullable
+    static VeinLayoutStore get(@NotNull World world) {
+        if (!ConfigHolder.worldgen.persistVeinLayouts || world.isRemote) return null;
+        long fingerprint = computeFingerprint(world);
+        VeinLayoutStore store = STORES.get(world);
+        if (store != null && store.fingerprint != fingerprint) {
+            // the vein definitions were reloaded
+            store.close();
+            store = null;
+        }
+        if (store == null) {
+            File directory = world.getSaveHandler().getWorldDirectory();
+            String saveFolder = world.provider.getSaveFolder();
+            if (saveFolder != null) {
+                directory = new File(directory, saveFolder);
+            }
+            store = new VeinLayoutStore(new File(directory, "gregtech/veins"), fingerprint);
+            STORES.put(world, store);
+        }
+        return store;
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        VeinLayoutStore store = STORES.remove(event.getWorld());
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private static long computeFingerprint(@NotNull World world) {
+        long hash = world.getSeed();
+        hash = 31 * hash + ConfigHolder.worldgen.minVeinsInSection;
+        hash = 31 * hash + ConfigHolder.worldgen.additionalVeinsInSection;
+        hash = 31 * hash + (ConfigHolder.worldgen.generateVeinsInCenterOfChunk ? 1 : 0);
+        for (OreDepositDefinition definition : WorldGenRegistry.getOreDeposits()) {
+            hash = 31 * hash + definition.getDepositName().hashCode();
+            hash = 31 * hash + definition.getWeight();
+            hash = 31 * hash + definition.getPriority();
+            hash = 31 * hash + Float.floatToIntBits(definition.getDensity());
+            hash = 31 * hash + Arrays.hashCode(definition.getHeightLimit());
+            hash = 31 * hash + (definition.isVein() ? 1 : 0);
+            hash = 31 * hash + definition.getShapeGenerator().getMaxSize().hashCode();
+            // covers everything else read from the config, like the shape, filters and populator
+            hash = 31 * hash + definition.getConfigHash();
+        }
+        return hash;
+    }
+
+    /**
+     * @param name the name of a vein definition
+     * @return the vein definition, or null if it does not exist anymore
+     */
+    @Nullable
+    OreDepositDefinition getDefinition(@NotNull String name) {
+        return definitions.get(name);
+    }
+
+    /**
+     * @param gridX the x position of the grid entry
+     * @param gridZ the z position of the grid entry
+     * @return the stored layout of the grid entry, or null if it is not stored
+     */
+    @Nullable
+    synchronized ByteBuffer read(int gridX, int gridZ) {
+        if (closed) return null;
+        try {
+            RegionFile region = getRegion(gridX >> REGION_SHIFT, gridZ >> REGION_SHIFT);
+            return region.read(getIndex(gridX, gridZ));
+        } catch (IOException e) {
+            GTLog.logger.error("Failed to read the vein layout of grid entry {} {}", gridX, gridZ, e);
+            return null;
+        }
+    }
+
+    /**
+     * Store the layout of a grid entry, replacing the stored one. May be called from any thread.
+     *
+     * @param gridX  the x position of the grid entry
+     * @param gridZ  the z position of the grid entry
+     * @param layout the layout to store
+     */
+    synchronized void write(int gridX, int gridZ, @NotNull ByteBuffer layout) {
+        if (closed) return;
+        try {
+            RegionFile region = getRegion(gridX >> REGION_SHIFT, gridZ >> REGION_SHIFT);
+            region.write(getIndex(gridX, gridZ), layout);
+        } catch (IOException e) {
+            GTLog.logger.error("Failed to write the vein layout of grid entry {} {}", gridX, gridZ, e);
+        }
+    }
+
+    private synchronized void close() {
+        this.closed = true;
+        for (RegionFile region : regions.values()) {
+            region.close();
+        }
+        regions.clear();
+    }
+
+    private static int getIndex(int gridX, int gridZ) {
+        return (gridX & (REGION_SIZE - 1)) << REGION_SHIFT | gridZ & (REGION_SIZE - 1);
+    }
+
+    @NotNull
+    private RegionFile getRegion(int regionX, int regionZ) throws IOException {
+        long key = (long) regionX << 32 | regionZ & 0xFFFFFFFFL;
+        RegionFile region = regions.getAndMoveToLast(key);
+        if (region == null) {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Failed to create directory " + directory);
+            }
+            region = new RegionFile(new File(directory, "r." + regionX + "." + regionZ + ".gtv"), fingerprint);
+            regions.putAndMoveToLast(key, region);
+            if (regions.size() > MAX_OPEN_REGIONS) {
+                regions.removeFirst().close();
+            }
+        }
+        return region;
+    }
+
+    private static final class RegionFile {
+
+        private final File path;
+        private final FileChannel channel;
+        private final int[] offsets = new int[REGION_SIZE * REGION_SIZE];
+        private final int[] lengths = new int[REGION_SIZE * REGION_SIZE];
+        // the end of the last layout, after which new layouts are appended
+        private long end = HEADER_SIZE + TABLE_SIZE;
+
+        private RegionFile(@NotNull File path, long fingerprint) throws IOException {
+            this.path = path;
+            this.channel = new RandomAccessFile(path, "rw").getChannel();
+            if (!readHeader(fingerprint)) {
+                writeHeader(fingerprint);
+            }
+        }
+
+        private boolean readHeader(long fingerprint) throws IOException {
+            long size = channel.size();
+            if (size < HEADER_SIZE + TABLE_SIZE) return false;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE + TABLE_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION || header.getLong() != fingerprint) {
+                return false;
+            }
+            for (int i = 0; i < offsets.length; i++) {
+                int offset = header.getInt();
+                int length = header.getInt();
+                if (length == 0) continue;
+                if (offset < HEADER_SIZE + TABLE_SIZE || length < 0 || (long) offset + length > size) {
+                    GTLog.logger.warn("Discarding corrupted vein layout region file {}", path);
+                    return false;
+                }
+                offsets[i] = offset;
+                lengths[i] = length;
+                end = Math.max(end, (long) offset + length);
+            }
+            return true;
+        }
+
+        private void writeHeader(long fingerprint) throws IOException {
+            // the old layouts are overwritten instead of truncating the file, which fails while parts are mapped
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + TABLE_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(fingerprint);
+            header.rewind();
+            writeFully(header, 0);
+            Arrays.fill(offsets, 0);
+            Arrays.fill(lengths, 0);
+            this.end = HEADER_SIZE + TABLE_SIZE;
+        }
+
+        @Nullable
+        private ByteBuffer read(int index) throws IOException {
+            if (lengths[index] == 0) return null;
+            return channel.map(FileChannel.MapMode.READ_ONLY, offsets[index], lengths[index]);
+        }
+
+        private void write(int index, @NotNull ByteBuffer layout) throws IOException {
+            int length = layout.remaining();
+            if (length == 0 || end + length > Integer.MAX_VALUE) return;
+            int offset = (int) end;
+            writeFully(layout, offset);
+            // the layout is written before the table points at it
+            ByteBuffer entry = ByteBuffer.allocate(8);
+            entry.putInt(offset).putInt(length);
+            entry.rewind();
+            writeFully(entry, HEADER_SIZE + index * 8L);
+            offsets[index] = offset;
+            lengths[index] = length;
+            this.end = offset + (long) length;
+        }
+
+        private void writeFully(@NotNull ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                GTLog.logger.error("Failed to close vein layout region file {}", path, e);
+            }
+        }
+    }
+}
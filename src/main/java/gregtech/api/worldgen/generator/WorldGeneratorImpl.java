@@ -1,5 +1,7 @@
 package gregtech.api.worldgen.generator;
 
+import gregtech.common.ConfigHolder;
+
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.gen.IChunkGenerator;
@@ -28,6 +30,20 @@ public class WorldGeneratorImpl implements IWorldGenerator {
                                          Random random) {
         int halfSizeX = (GRID_SIZE_X - 1) / 2;
         int halfSizeZ = (GRID_SIZE_Z - 1) / 2;
+        if (ConfigHolder.worldgen.asyncVeinGeneration) {
+            // generate the missing entries around this chunk together, and the ones after them ahead of time
+            for (int gridX = -halfSizeX; gridX <= halfSizeX; gridX++) {
+                for (int gridZ = -halfSizeZ; gridZ <= halfSizeZ; gridZ++) {
+                    CachedGridEntry.submitEntry(world, selfGridX + gridX, selfGridZ + gridZ, chunkX, chunkZ);
+                }
+            }
+            for (int gridX = -halfSizeX - 1; gridX <= halfSizeX + 1; gridX++) {
+                for (int gridZ = -halfSizeZ - 1; gridZ <= halfSizeZ + 1; gridZ++) {
+                    if (Math.abs(gridX) <= halfSizeX && Math.abs(gridZ) <= halfSizeZ) continue;
+                    CachedGridEntry.prefetchEntry(world, selfGridX + gridX, selfGridZ + gridZ);
+                }
+            }
+        }
         for (int gridX = -halfSizeX; gridX <= halfSizeX; gridX++) {
             for (int gridZ = -halfSizeZ; gridZ <= halfSizeZ; gridZ++) {
                 CachedGridEntry cachedGridEntry = CachedGridEntry.getOrCreateEntry(world, selfGridX + gridX,
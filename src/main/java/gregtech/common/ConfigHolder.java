@@ -76,6 +76,35 @@ public class ConfigHolder {
                 "unless placed directly onto another pipe or cable.", "Default: true" })
         public boolean gt6StylePipesCables = true;
 
+        @Config.Comment({ "Whether cables should search for energy routes on worker threads.",
+                "Prevents lag spikes when the routes of large cable nets change, but new routes are only used once " +
+                        "the search is done.",
+                "Default: false" })
+        public boolean asyncPipeNetWalking = false;
+
+        @Config.Comment({ "Whether fluid pipes should move fluid straight to the fluid handlers reached through " +
+                "their pipe net, instead of passing it from pipe to pipe.",
+                "Each route moves at most the throughput of its slowest pipe. Covers between two pipes split the " +
+                        "net, and fluid is passed across them from pipe to pipe.",
+                "Default: false" })
+        public boolean fluidPipeNetTransfer = false;
+
+        @Config.Comment({ "Whether formed multiblocks should only check their structure after a block in it changed.",
+                "Otherwise, every multiblock checks its whole structure once a second.",
+                "Changes which do not notify neighboring blocks are only noticed by the fallback check below. " +
+                        "These include",
+                "changes to the state of a machine or pipe without a block change, like a part changing its " +
+                        "facing or contents,",
+                "and blocks placed without notifications by other mods, commands or world editors.",
+                "Default: false" })
+        public boolean eventDrivenStructureChecks = false;
+
+        @Config.Comment({ "How often formed multiblocks check their structure anyway, in ticks, when only checking " +
+                "after block changes. Catches changes which did not notify their neighbors.",
+                "Default: 100" })
+        @Config.RangeInt(min = 20, max = 72000)
+        public int structureSafetyCheckInterval = 100;
+
         @Config.Comment({ "Minimum distance between Long Distance Item Pipe Endpoints", "Default: 50" })
         public int ldItemPipeMinDistance = 50;
 
@@ -173,6 +202,18 @@ public class ConfigHolder {
         @Config.Comment({ "Whether veins should be generated in the center of chunks.", "Default: true" })
         public boolean generateVeinsInCenterOfChunk = true;
 
+        @Config.Comment({ "Whether to generate the layouts of ore veins on worker threads, ahead of the chunks",
+                "using them. Speeds up generating many chunks at once, like when pre-generating a world.",
+                "Blocks are still placed on the main thread. Vein shapes added by other mods must be thread safe.",
+                "Default: false" })
+        public boolean asyncVeinGeneration = false;
+
+        @Config.Comment({ "Whether to store the layouts of ore veins in the world folder, so they are read back",
+                "instead of generated again when chunks next to already generated ones are generated later.",
+                "Stored layouts are discarded when the vein definitions or vein options change.",
+                "Default: false" })
+        public boolean persistVeinLayouts = false;
+
         @Config.Comment({ "Whether to disable Vanilla ore generation in world.", "Default: true" })
         public boolean disableVanillaOres = true;
 
@@ -281,6 +322,27 @@ public class ConfigHolder {
                 "Whether to nerf the output amounts of the first circuit in a set to 1 (from 2) and SoC to 2 (from 4).",
                 "Default: false" })
         public boolean harderCircuitRecipes = false;
+
+        @Config.Comment({ "Whether all RecipeMaps should use a compiled lookup index after recipe registration.",
+                "Uses more memory, but makes recipe searches faster on large recipe sets.",
+                "RecipeMaps can also enable this individually.",
+                "Default: false" })
+        @Config.RequiresMcRestart
+        public boolean compiledRecipeLookup = false;
+
+        @Config.Comment({ "How many input combinations which do not match any recipe to remember per RecipeMap.",
+                "Lets machines skip searching again for inputs which already failed. Set to 0 to disable.",
+                "Default: 512" })
+        @Config.RangeInt(min = 0, max = 65536)
+        @Config.RequiresMcRestart
+        public int recipeLookupNoMatchCacheSize = 512;
+
+        @Config.Comment({ "How many different items and fluids to remember the lookup ingredients of per RecipeMap.",
+                "Lets recipe searches reuse the ingredients of inputs seen before. Set to 0 to disable.",
+                "Default: 1024" })
+        @Config.RangeInt(min = 0, max = 65536)
+        @Config.RequiresMcRestart
+        public int recipeLookupIngredientCacheSize = 1024;
     }
 
     public static class CompatibilityOptions {
@@ -369,6 +431,18 @@ public class ConfigHolder {
 
         @Config.Comment({ "Whether to give the terminal to new players on login", "Default: true" })
         public boolean spawnTerminal = true;
+
+        @Config.Comment({ "The fraction of Machine ticks which are timed for the tricorder and The One Probe.",
+                "Lag warnings are only checked on timed ticks.",
+                "Lower values keep the statistics cheaper. 0 disables them and lag warnings outside of benchmarks.",
+                "Default: 1.0" })
+        @Config.RangeDouble(min = 0, max = 1)
+        public double machineTickSampleRate = 1.0;
+
+        @Config.Comment({ "Whether every Machine keeps its own tick time statistics.",
+                "If false, Machines of the same type share their statistics, using less memory.",
+                "Default: true" })
+        public boolean perMachineTickStatistics = true;
     }
 
     public static class ClientOptions {
@@ -12,6 +12,8 @@ public class CommandBenchmark extends CommandTreeBase {
 
     public CommandBenchmark() {
         addSubcommand(new CommandBenchmarkLookup());
+        addSubcommand(new CommandBenchmarkTicks());
+        addSubcommand(new CommandBenchmarkWorldgen());
         addSubcommand(new CommandBenchmarkAbort());
     }
 
@@ -4,6 +4,7 @@ import gregtech.api.GTValues;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.ingredients.GTRecipeInput;
+import gregtech.api.recipes.map.RecipeNoMatchCache;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.TaskScheduler;
 
@@ -99,6 +100,11 @@ public class CommandBenchmarkLookup extends CommandBase {
             this.sender = sender;
             this.trials = trials;
             this.rate = rate;
+
+            for (RecipeMap<?> map : RecipeMap.getRecipeMaps()) {
+                RecipeNoMatchCache cache = map.getNoMatchCache();
+                if (cache != null) cache.resetStatistics();
+            }
         }
 
         @Override
@@ -300,6 +306,11 @@ public class CommandBenchmarkLookup extends CommandBase {
                         results.oneMatchExactTest());
                 GTLog.logger.info("[Benchmarking] - Characteristic numbers for Three Match Excess: {}",
                         results.threeMatchExcessTest());
+                RecipeNoMatchCache cache = entry.getKey().getNoMatchCache();
+                if (cache != null) {
+                    GTLog.logger.info("[Benchmarking] - No match cache hits: {}, misses: {}, stored: {}",
+                            cache.getHits(), cache.getMisses(), cache.size());
+                }
             }
             sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.lookup.success")
                     .setStyle(new Style().setColor(TextFormatting.GREEN)));
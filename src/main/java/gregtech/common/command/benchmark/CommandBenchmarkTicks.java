@@ -0,0 +1,167 @@
+package gregtech.common.command.benchmark;
+
+import gregtech.api.GTValues;
+import gregtech.api.util.GTLog;
+import gregtech.api.util.TaskScheduler;
+import gregtech.api.util.TextFormattingUtil;
+import gregtech.api.util.profiler.TickProfiler;
+import gregtech.api.util.profiler.TickStatistics;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class CommandBenchmarkTicks extends CommandBase {
+
+    private static final String RESULTS_FILE = "benchmark-ticks-results.csv";
+
+    @Override
+    public @NotNull String getName() {
+        return "ticks";
+    }
+
+    @Override
+    public @NotNull String getUsage(@NotNull ICommandSender sender) {
+        return "gregtech.command.benchmark.ticks.usage";
+    }
+
+    @Override
+    public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender,
+                        String[] args) throws CommandException {
+        int seconds = 10;
+        int entries = 10;
+        if (args.length != 0) {
+            try {
+                seconds = Integer.parseInt(args[0]);
+                if (seconds <= 0) throw new NumberFormatException();
+                if (args.length != 1) {
+                    entries = Integer.parseInt(args[1]);
+                    if (entries <= 0) throw new NumberFormatException();
+                }
+            } catch (NumberFormatException ignored) {
+                throw new WrongUsageException("gregtech.command.benchmark.ticks.usage");
+            }
+        }
+        if (CommandBenchmark.ACTIVE_BENCHMARK != null) {
+            throw new CommandException(
+                    "A benchmark is currently running! Run '/gregtech benchmark abort' to abort the active benchmark.");
+        }
+        GTLog.logger.info("[Benchmarking] Starting tick profiling for {} seconds...", seconds);
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.ticks.started", seconds)
+                .setStyle(new Style().setColor(TextFormatting.GREEN)));
+        CommandBenchmark.ACTIVE_BENCHMARK = new ProfilingTask(server, sender, seconds * 20, entries);
+        TaskScheduler.scheduleTask(server.getWorld(0), CommandBenchmark.ACTIVE_BENCHMARK);
+    }
+
+    private static class ProfilingTask implements BenchmarkTask {
+
+        private final MinecraftServer server;
+        private final ICommandSender sender;
+        private final int ticks;
+        private final int entries;
+        private int ticksCompleted;
+
+        private ProfilingTask(MinecraftServer server, ICommandSender sender, int ticks, int entries) {
+            this.server = server;
+            this.sender = sender;
+            this.ticks = ticks;
+            this.entries = entries;
+            TickProfiler.start();
+        }
+
+        @Override
+        public void abort() {
+            this.ticksCompleted = Integer.MIN_VALUE;
+            TickProfiler.stop();
+        }
+
+        @Override
+        public boolean run() {
+            if (ticksCompleted == Integer.MIN_VALUE) return false;
+            // tasks run at the start of the overworld tick, so this counts whole server ticks
+            if (++ticksCompleted <= ticks) return true;
+            return finish();
+        }
+
+        private boolean finish() {
+            long duration = TickProfiler.stop();
+            List<TickStatistics> classes = TickProfiler.getClassStatistics();
+            List<TickStatistics> chunks = TickProfiler.getChunkStatistics();
+
+            GTLog.logger.info("[Benchmarking] Tick profiling complete after {} ms. Outputting results:",
+                    duration / 1_000_000L);
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.ticks.classes")
+                    .setStyle(new Style().setColor(TextFormatting.GOLD)));
+            report(classes, true);
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.ticks.chunks")
+                    .setStyle(new Style().setColor(TextFormatting.GOLD)));
+            report(chunks, false);
+
+            Path path = server.getDataDirectory().toPath().resolve(GTValues.MODID).resolve(RESULTS_FILE);
+            try {
+                Files.createDirectories(path.getParent());
+                try (FileWriter writer = new FileWriter(path.toFile())) {
+                    writer.append("Type,Name,Ticks,Total,Mean,P99,Maximum\n");
+                    write(writer, classes);
+                    write(writer, chunks);
+                }
+                GTLog.logger.info("[Benchmarking] Output saved to csv file '{}'", RESULTS_FILE);
+                sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.ticks.written")
+                        .setStyle(new Style().setColor(TextFormatting.GREEN)));
+            } catch (IOException e) {
+                GTLog.logger.info("[Benchmarking] Failed to output to csv file '{}' in the server folder",
+                        RESULTS_FILE);
+            }
+            CommandBenchmark.ACTIVE_BENCHMARK = null;
+            return false;
+        }
+
+        private void report(@NotNull List<TickStatistics> statistics, boolean shortenNames) {
+            for (int i = 0; i < Math.min(entries, statistics.size()); i++) {
+                TickStatistics entry = statistics.get(i);
+                String name = entry.getName();
+                if (shortenNames) {
+                    name = name.substring(name.lastIndexOf('.') + 1);
+                }
+                GTLog.logger.info("[Benchmarking] - {} {}: {} ticks, total {} ns, mean {} ns, p99 {} ns, max {} ns",
+                        entry.getType(), name, entry.getCount(), entry.getTotal(),
+                        (long) entry.getMean(), entry.getPercentile(0.99), entry.getMax());
+                sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.ticks.entry",
+                        i + 1, entry.getType(), name,
+                        TextFormattingUtil.formatNumbers((long) entry.getMean()),
+                        TextFormattingUtil.formatNumbers(entry.getPercentile(0.99)),
+                        TextFormattingUtil.formatNumbers(entry.getMax())));
+            }
+        }
+
+        private static void write(FileWriter writer, List<TickStatistics> statistics) throws IOException {
+            for (TickStatistics entry : statistics) {
+                writer.append(quote(entry.getType())).append(',').append(quote(entry.getName()))
+                        .append(',').append(String.valueOf(entry.getCount()))
+                        .append(',').append(String.valueOf(entry.getTotal()))
+                        .append(',').append(String.valueOf(entry.getMean()))
+                        .append(',').append(String.valueOf(entry.getPercentile(0.99)))
+                        .append(',').append(String.valueOf(entry.getMax()))
+                        .append('\n');
+            }
+        }
+
+        @NotNull
+        private static String quote(@NotNull String field) {
+            return '"' + field.replace("\"", "\"\"") + '"';
+        }
+    }
+}
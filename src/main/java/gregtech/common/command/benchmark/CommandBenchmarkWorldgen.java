@@ -0,0 +1,143 @@
+package gregtech.common.command.benchmark;
+
+import gregtech.api.util.GTLog;
+import gregtech.api.util.TaskScheduler;
+import gregtech.common.ConfigHolder;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraft.world.WorldServer;
+
+import org.jetbrains.annotations.NotNull;
+
+public class CommandBenchmarkWorldgen extends CommandBase {
+
+    // how far from the sender the generated areas are, in chunks
+    private static final int AREA_DISTANCE = 2048;
+
+    @Override
+    public @NotNull String getName() {
+        return "worldgen";
+    }
+
+    @Override
+    public @NotNull String getUsage(@NotNull ICommandSender sender) {
+        return "gregtech.command.benchmark.worldgen.usage";
+    }
+
+    @Override
+    public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender,
+                        String[] args) throws CommandException {
+        int radius = 8;
+        if (args.length != 0) {
+            try {
+                radius = Integer.parseInt(args[0]);
+                if (radius <= 0 || radius > 64) throw new NumberFormatException();
+            } catch (NumberFormatException ignored) {
+                throw new WrongUsageException("gregtech.command.benchmark.worldgen.usage");
+            }
+        }
+        if (CommandBenchmark.ACTIVE_BENCHMARK != null) {
+            throw new CommandException(
+                    "A benchmark is currently running! Run '/gregtech benchmark abort' to abort the active benchmark.");
+        }
+        WorldServer world = server.getWorld(sender.getEntityWorld().provider.getDimension());
+        // one more row and column than the square around the center, as chunks are only populated next to
+        // generated ones
+        int size = radius * 2 + 2;
+        GTLog.logger.info("[Benchmarking] Starting world generation of {} chunks twice...", size * size);
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.worldgen.started", size * size)
+                .setStyle(new Style().setColor(TextFormatting.GREEN)));
+        CommandBenchmark.ACTIVE_BENCHMARK = new GenerationTask(world, sender, size);
+        TaskScheduler.scheduleTask(world, CommandBenchmark.ACTIVE_BENCHMARK);
+    }
+
+    /**
+     * Generates a square of chunks without and then with asynchronous vein generation, in two areas far away from
+     * the sender which were not generated yet, one row of chunks each tick.
+     */
+    private static class GenerationTask implements BenchmarkTask {
+
+        private final WorldServer world;
+        private final ICommandSender sender;
+        private final int size;
+        private final boolean asyncVeinGeneration = ConfigHolder.worldgen.asyncVeinGeneration;
+        private final long[] durations = new long[2];
+        private int originX;
+        private int originZ;
+        private int phase;
+        private int row;
+
+        private GenerationTask(WorldServer world, ICommandSender sender, int size) {
+            this.world = world;
+            this.sender = sender;
+            this.size = size;
+            startPhase(0);
+        }
+
+        private void startPhase(int phase) {
+            this.phase = phase;
+            this.row = 0;
+            ConfigHolder.worldgen.asyncVeinGeneration = phase == 1;
+
+            BlockPos position = sender.getPosition();
+            this.originX = (position.getX() >> 4) + AREA_DISTANCE * (phase + 1);
+            this.originZ = position.getZ() >> 4;
+            while (world.isChunkGeneratedAt(originX, originZ) ||
+                    world.isChunkGeneratedAt(originX + size - 1, originZ + size - 1)) {
+                this.originX += AREA_DISTANCE;
+            }
+        }
+
+        @Override
+        public void abort() {
+            this.phase = Integer.MIN_VALUE;
+            ConfigHolder.worldgen.asyncVeinGeneration = asyncVeinGeneration;
+        }
+
+        @Override
+        public boolean run() {
+            if (phase == Integer.MIN_VALUE) return false;
+
+            long start = System.nanoTime();
+            for (int x = 0; x < size; x++) {
+                world.getChunkProvider().provideChunk(originX + x, originZ + row);
+            }
+            durations[phase] += System.nanoTime() - start;
+
+            if (++row < size) return true;
+            world.getChunkProvider().queueUnloadAll();
+            if (phase == 0) {
+                startPhase(1);
+                return true;
+            }
+            return finish();
+        }
+
+        private boolean finish() {
+            ConfigHolder.worldgen.asyncVeinGeneration = asyncVeinGeneration;
+            int chunks = size * size;
+            double syncRate = chunks / (durations[0] / 1.0E9);
+            double asyncRate = chunks / (durations[1] / 1.0E9);
+
+            GTLog.logger.info("[Benchmarking] World generation complete. Outputting results:");
+            GTLog.logger.info("[Benchmarking] - Synchronous vein generation: {} chunks in {} ms, {} chunks/s",
+                    chunks, durations[0] / 1_000_000L, String.format("%.1f", syncRate));
+            GTLog.logger.info("[Benchmarking] - Asynchronous vein generation: {} chunks in {} ms, {} chunks/s",
+                    chunks, durations[1] / 1_000_000L, String.format("%.1f", asyncRate));
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.worldgen.sync",
+                    String.format("%.1f", syncRate)).setStyle(new Style().setColor(TextFormatting.GOLD)));
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.benchmark.worldgen.async",
+                    String.format("%.1f", asyncRate)).setStyle(new Style().setColor(TextFormatting.GOLD)));
+            CommandBenchmark.ACTIVE_BENCHMARK = null;
+            return false;
+        }
+    }
+}
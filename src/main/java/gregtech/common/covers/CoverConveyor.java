@@ -16,6 +16,7 @@ import gregtech.client.renderer.texture.Textures;
 import gregtech.client.renderer.texture.cube.SimpleSidedCubeRenderer;
 import gregtech.common.covers.filter.ItemFilterContainer;
 import gregtech.common.mui.widget.GTTextFieldWidget;
+import gregtech.common.pipelike.itempipe.net.ItemNetHandler;
 import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
 
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
@@ -79,6 +80,7 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
     protected int itemsLeftToTransferLastSecond;
     private CoverableItemHandlerWrapper itemHandlerWrapper;
     protected boolean isWorkingAllowed = true;
+    private final TransferIdleTracker idleTracker = new TransferIdleTracker();
 
     public CoverConveyor(@NotNull CoverDefinition definition, @NotNull CoverableView coverableView,
                          @NotNull EnumFacing attachedSide, int tier, int itemsPerSecond) {
@@ -90,12 +92,14 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
         this.conveyorMode = ConveyorMode.EXPORT;
         this.distributionMode = DistributionMode.INSERT_FIRST;
         this.itemFilterContainer = new ItemFilterContainer(this);
+        this.itemFilterContainer.setOnFilterInstanceChange(this::wakeUp);
     }
 
     public void setTransferRate(int transferRate) {
         this.transferRate = MathHelper.clamp(transferRate, 1, maxItemTransferRate);
         CoverableView coverable = getCoverableView();
         coverable.markDirty();
+        wakeUp();
 
         if (getWorld() != null && getWorld().isRemote) {
             // tile at cover holder pos
@@ -123,6 +127,7 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
         this.conveyorMode = conveyorMode;
         writeCustomData(GregtechDataCodes.UPDATE_COVER_MODE, buf -> buf.writeEnumValue(conveyorMode));
         markDirty();
+        wakeUp();
     }
 
     public ConveyorMode getConveyorMode() {
@@ -136,6 +141,7 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
     public void setDistributionMode(DistributionMode distributionMode) {
         this.distributionMode = distributionMode;
         markDirty();
+        wakeUp();
     }
 
     public ManualImportExportMode getManualImportExportMode() {
@@ -145,6 +151,7 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
     protected void setManualImportExportMode(ManualImportExportMode manualImportExportMode) {
         this.manualImportExportMode = manualImportExportMode;
         markDirty();
+        wakeUp();
     }
 
     public ItemFilterContainer getItemFilterContainer() {
@@ -155,7 +162,8 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
     public void update() {
         CoverableView coverable = getCoverableView();
         long timer = coverable.getOffsetTimer();
-        if (timer % 5 == 0 && isWorkingAllowed && itemsLeftToTransferLastSecond > 0) {
+        if (timer % 5 == 0 && isWorkingAllowed && itemsLeftToTransferLastSecond > 0 &&
+                !idleTracker.shouldSkip(this)) {
             EnumFacing side = getAttachedSide();
             TileEntity tileEntity = coverable.getNeighbor(side);
             IItemHandler itemHandler = tileEntity == null ? null :
@@ -164,6 +172,7 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
             if (itemHandler != null && myItemHandler != null) {
                 int totalTransferred = doTransferItems(itemHandler, myItemHandler, itemsLeftToTransferLastSecond);
                 this.itemsLeftToTransferLastSecond -= totalTransferred;
+                idleTracker.onTransfer(this, totalTransferred > 0 || hasPendingTransfer());
             }
         }
         if (timer % 20 == 0) {
@@ -171,6 +180,14 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
         }
     }
 
+    /**
+     * @return if a transfer which moved nothing still made progress towards moving items, so the next transfer must
+     *         not be skipped
+     */
+    protected boolean hasPendingTransfer() {
+        return false;
+    }
+
     protected int doTransferItems(IItemHandler itemHandler, IItemHandler myItemHandler, int maxTransferAmount) {
         return doTransferItemsAny(itemHandler, myItemHandler, maxTransferAmount);
     }
@@ -330,6 +347,11 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
 
     protected int moveInventoryItems(IItemHandler sourceInventory, IItemHandler targetInventory,
                                      int maxTransferAmount) {
+        if (targetInventory instanceof ItemNetHandler netHandler) {
+            // move all stacks into the pipe net at once, instead of walking its routes for every stack
+            return netHandler.insertFrom(sourceInventory, stack -> itemFilterContainer.match(stack).isMatched(),
+                    maxTransferAmount);
+        }
         int itemsLeftToTransfer = maxTransferAmount;
         for (int srcIndex = 0; srcIndex < sourceInventory.getSlots(); srcIndex++) {
             ItemStack sourceStack = sourceInventory.extractItem(srcIndex, itemsLeftToTransfer, true);
@@ -619,6 +641,21 @@ public class CoverConveyor extends CoverBase implements CoverWithUI, ITickable,
     @Override
     public void setWorkingEnabled(boolean isActivationAllowed) {
         this.isWorkingAllowed = isActivationAllowed;
+        wakeUp();
+    }
+
+    /**
+     * Transfer again on the next pass, for changes to the settings or the filter of this cover.
+     */
+    protected void wakeUp() {
+        idleTracker.wakeUp();
+    }
+
+    @Override
+    public void markAsDirty() {
+        // filters report changes to their settings here
+        wakeUp();
+        CoverWithUI.super.markAsDirty();
     }
 
     @Override
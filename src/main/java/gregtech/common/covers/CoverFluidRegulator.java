@@ -229,6 +229,7 @@ public class CoverFluidRegulator extends CoverPump {
             this.transferMode = transferMode;
             this.fluidFilterContainer.setMaxTransferSize(getMaxTransferRate());
             this.markDirty();
+            wakeUp();
         }
     }
 
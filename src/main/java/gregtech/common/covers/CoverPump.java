@@ -70,6 +70,7 @@ public class CoverPump extends CoverBase implements CoverWithUI, ITickable, ICon
     protected boolean isWorkingAllowed = true;
     protected FluidFilterContainer fluidFilterContainer;
     protected BucketMode bucketMode = BucketMode.MILLI_BUCKET;
+    private final TransferIdleTracker idleTracker = new TransferIdleTracker();
 
     public CoverPump(@NotNull CoverDefinition definition, @NotNull CoverableView coverableView,
                      @NotNull EnumFacing attachedSide, int tier, int mbPerTick) {
@@ -79,6 +80,7 @@ public class CoverPump extends CoverBase implements CoverWithUI, ITickable, ICon
         this.transferRate = mbPerTick;
         this.fluidLeftToTransferLastSecond = transferRate;
         this.fluidFilterContainer = new FluidFilterContainer(this);
+        this.fluidFilterContainer.setOnFilterInstanceChange(this::wakeUp);
     }
 
     public void setStringTransferRate(String s) {
@@ -98,6 +100,7 @@ public class CoverPump extends CoverBase implements CoverWithUI, ITickable, ICon
         if (bucketMode == BucketMode.BUCKET) transferRate *= 1000;
         this.transferRate = MathHelper.clamp(transferRate, 1, maxFluidTransferRate);
         markDirty();
+        wakeUp();
     }
 
     public int getTransferRate() {
@@ -113,6 +116,7 @@ public class CoverPump extends CoverBase implements CoverWithUI, ITickable, ICon
         this.pumpMode = pumpMode;
         writeCustomData(GregtechDataCodes.UPDATE_COVER_MODE, buf -> buf.writeEnumValue(pumpMode));
         markDirty();
+        wakeUp();
     }
 
     public PumpMode getPumpMode() {
@@ -124,6 +128,7 @@ public class CoverPump extends CoverBase implements CoverWithUI, ITickable, ICon
         if (this.bucketMode == BucketMode.BUCKET)
             setTransferRate(transferRate / 1000 * 1000);
         markDirty();
+        wakeUp();
     }
 
     public BucketMode getBucketMode() {
@@ -137,6 +142,7 @@ public class CoverPump extends CoverBase implements CoverWithUI, ITickable, ICon
     protected void setManualImportExportMode(ManualImportExportMode manualImportExportMode) {
         this.manualImportExportMode = manualImportExportMode;
         markDirty();
+        wakeUp();
     }
 
     public FluidFilterContainer getFluidFilterContainer() {
@@ -146,8 +152,10 @@ public class CoverPump extends CoverBase implements CoverWithUI, ITickable, ICon
     @Override
     public void update() {
         long timer = getOffsetTimer();
-        if (isWorkingAllowed && fluidLeftToTransferLastSecond > 0) {
-            this.fluidLeftToTransferLastSecond -= doTransferFluids(fluidLeftToTransferLastSecond);
+        if (isWorkingAllowed && fluidLeftToTransferLastSecond > 0 && !idleTracker.shouldSkip(this)) {
+            int transferred = doTransferFluids(fluidLeftToTransferLastSecond);
+            this.fluidLeftToTransferLastSecond -= transferred;
+            idleTracker.onTransfer(this, transferred > 0);
         }
         if (timer % 20 == 0) {
             this.fluidLeftToTransferLastSecond = transferRate;
@@ -364,6 +372,21 @@ public class CoverPump extends CoverBase implements CoverWithUI, ITickable, ICon
     @Override
     public void setWorkingEnabled(boolean isActivationAllowed) {
         this.isWorkingAllowed = isActivationAllowed;
+        wakeUp();
+    }
+
+    /**
+     * Transfer again on the next pass, for changes to the settings or the filter of this cover.
+     */
+    protected void wakeUp() {
+        idleTracker.wakeUp();
+    }
+
+    @Override
+    public void markAsDirty() {
+        // filters report changes to their settings here
+        wakeUp();
+        CoverWithUI.super.markAsDirty();
     }
 
     @Override
@@ -73,6 +73,12 @@ public class CoverRoboticArm extends CoverConveyor {
         };
     }
 
+    @Override
+    protected boolean hasPendingTransfer() {
+        // exact transfers buffer the transfer rate until it is enough to move a whole stack
+        return itemsTransferBuffered > 0;
+    }
+
     protected int doTransferExact(IItemHandler itemHandler, IItemHandler myItemHandler, int maxTransferAmount) {
         Map<ItemStack, TypeItemInfo> sourceItemAmount = doCountSourceInventoryItemsByType(itemHandler, myItemHandler);
         Iterator<ItemStack> iterator = sourceItemAmount.keySet().iterator();
@@ -175,6 +181,7 @@ public class CoverRoboticArm extends CoverConveyor {
             this.transferMode = transferMode;
             this.getCoverableView().markDirty();
             this.itemFilterContainer.setMaxTransferSize(transferMode.maxStackSize);
+            wakeUp();
             writeCustomData(GregtechDataCodes.UPDATE_TRANSFER_MODE,
                     buffer -> buffer.writeByte(this.transferMode.ordinal()));
         }
@@ -0,0 +1,82 @@
+package gregtech.common.covers;
+
+import gregtech.api.cover.Cover;
+import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lets transfer covers skip their transfers after one which moved nothing, until the machine holding the cover or the
+ * machine it faces changed their contents.
+ * <p>
+ * Only GregTech machines report changes to their contents, see {@link MetaTileEntity#getContentsVersion()}, so covers
+ * next to anything else still transfer every few passes. Covers next to machines transfer once in a while anyway, in
+ * case their inventories changed without reporting it.
+ */
+final class TransferIdleTracker {
+
+    // passes skipped before transferring anyway, when both sides report changes
+    private static final int MAX_SKIPPED_PASSES = 20;
+    // passes skipped before transferring anyway, when a side does not report changes
+    private static final int MAX_SKIPPED_UNTRACKED_PASSES = 3;
+
+    private boolean idle;
+    private int skippedPasses;
+    private int holderVersion;
+    private int neighborVersion;
+
+    /**
+     * @param cover the cover about to transfer
+     * @return if the transfer can be skipped, as nothing changed since the last transfer moved nothing
+     */
+    boolean shouldSkip(@NotNull Cover cover) {
+        if (!idle) return false;
+        MetaTileEntity holder = getMetaTileEntity(cover.getCoverableView());
+        MetaTileEntity neighbor = getMetaTileEntity(cover.getNeighbor(cover.getAttachedSide()));
+        if (holder == null || neighbor == null) {
+            if (++skippedPasses <= MAX_SKIPPED_UNTRACKED_PASSES) return true;
+        } else if (holder.getContentsVersion() == holderVersion && neighbor.getContentsVersion() == neighborVersion) {
+            if (++skippedPasses <= MAX_SKIPPED_PASSES) return true;
+        }
+        idle = false;
+        return false;
+    }
+
+    /**
+     * @param cover the cover which transferred
+     * @param moved if anything was moved, or the cover made progress towards moving something
+     */
+    void onTransfer(@NotNull Cover cover, boolean moved) {
+        if (moved) {
+            idle = false;
+            return;
+        }
+        idle = true;
+        skippedPasses = 0;
+        // read after the transfer, which may have changed the versions without moving anything
+        MetaTileEntity holder = getMetaTileEntity(cover.getCoverableView());
+        MetaTileEntity neighbor = getMetaTileEntity(cover.getNeighbor(cover.getAttachedSide()));
+        holderVersion = holder == null ? 0 : holder.getContentsVersion();
+        neighborVersion = neighbor == null ? 0 : neighbor.getContentsVersion();
+    }
+
+    /**
+     * Transfer again on the next pass, for changes of the cover itself.
+     */
+    void wakeUp() {
+        idle = false;
+    }
+
+    @Nullable
+    private static MetaTileEntity getMetaTileEntity(@Nullable Object object) {
+        if (object instanceof MetaTileEntity metaTileEntity) {
+            return metaTileEntity;
+        }
+        if (object instanceof IGregTechTileEntity gregTechTile) {
+            return gregTechTile.getMetaTileEntity();
+        }
+        return null;
+    }
+}
@@ -5,7 +5,7 @@ import gregtech.api.gui.Widget;
 import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.unification.ore.StoneType;
-import gregtech.api.unification.stack.MaterialStack;
+import gregtech.api.unification.stack.OreStateInfo;
 import gregtech.api.util.*;
 import gregtech.api.worldgen.bedrockFluids.BedrockFluidVeinHandler;
 import gregtech.api.worldgen.config.OreDepositDefinition;
@@ -132,13 +132,14 @@ public class WidgetProspectingMap extends Widget {
                             for (int y = 1; y < ySize; y++) {
                                 pos.setPos(x, y, z);
                                 IBlockState state = chunk.getBlockState(pos);
-                                ItemStack itemBlock = GTUtility.toItem(state);
-                                if (GTUtility.isOre(itemBlock)) {
+                                OreStateInfo oreInfo = GTUtility.getOreStateInfo(state);
+                                if (oreInfo.isOre()) {
                                     boolean added = false;
+                                    ItemStack itemBlock = GTUtility.toItem(state);
                                     String oreDictString = OreDictUnifier.getOreDictionaryNames(itemBlock).stream()
                                             .findFirst()
                                             .orElse("");
-                                    OrePrefix prefix = OreDictUnifier.getPrefix(itemBlock);
+                                    OrePrefix prefix = oreInfo.getPrefix();
                                     if (prefix != null) {
                                         for (StoneType type : StoneType.STONE_TYPE_REGISTRY) {
                                             if (type.processingPrefix == prefix && type.shouldBeDroppedAsItem) {
@@ -146,8 +147,7 @@ public class WidgetProspectingMap extends Widget {
                                                 added = true;
                                                 break;
                                             } else if (type.processingPrefix == prefix) {
-                                                MaterialStack materialStack = OreDictUnifier.getMaterial(itemBlock);
-                                                if (materialStack != null) {
+                                                if (oreInfo.getMaterialStack() != null) {
                                                     String oreDict = "ore" +
                                                             oreDictString.replaceFirst(prefix.name(), "");
                                                     packet.addBlock(x, y, z, oreDict);
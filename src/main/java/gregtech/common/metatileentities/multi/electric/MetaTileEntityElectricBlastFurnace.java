@@ -63,6 +63,7 @@ public class MetaTileEntityElectricBlastFurnace extends RecipeMapMultiblockContr
     public MetaTileEntityElectricBlastFurnace(ResourceLocation metaTileEntityId) {
         super(metaTileEntityId, RecipeMaps.BLAST_RECIPES);
         this.recipeMapWorkable = new HeatingCoilRecipeLogic(this);
+        this.recipeMapWorkable.setBatchedDistinctLookup(true);
     }
 
     @Override
@@ -66,6 +66,7 @@ public class MetaTileEntityProcessingArray extends RecipeMapMultiblockController
         super(metaTileEntityId, null);
         this.tier = tier;
         this.recipeMapWorkable = new ProcessingArrayWorkable(this);
+        this.recipeMapWorkable.setBatchedDistinctLookup(true);
     }
 
     @Override
@@ -402,6 +403,12 @@ public class MetaTileEntityProcessingArray extends RecipeMapMultiblockController
             return super.findRecipe(Math.min(super.getMaxVoltage(), this.machineVoltage), inputs, fluidInputs);
         }
 
+        @Override
+        protected void findRecipeDistinct(long maxVoltage, @NotNull List<IItemHandlerModifiable> buses,
+                                          @NotNull RecipeMap.InputSetVisitor visitor) {
+            super.findRecipeDistinct(Math.min(super.getMaxVoltage(), this.machineVoltage), buses, visitor);
+        }
+
         @Override
         public long getMaxVoltage() {
             // Allow the PA to use as much power as provided, since tier is gated by the machine anyway.
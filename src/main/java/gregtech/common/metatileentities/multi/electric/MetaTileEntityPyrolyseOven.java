@@ -44,6 +44,7 @@ public class MetaTileEntityPyrolyseOven extends RecipeMapMultiblockController {
     public MetaTileEntityPyrolyseOven(ResourceLocation metaTileEntityId) {
         super(metaTileEntityId, RecipeMaps.PYROLYSE_RECIPES);
         this.recipeMapWorkable = new PyrolyseOvenWorkableHandler(this);
+        this.recipeMapWorkable.setBatchedDistinctLookup(true);
     }
 
     @Override
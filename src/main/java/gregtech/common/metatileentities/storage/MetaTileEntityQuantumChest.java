@@ -158,6 +158,7 @@ public class MetaTileEntityQuantumChest extends MetaTileEntityQuantumStorage<IIt
                     NetworkUtils.writeItemStack(buf, this.virtualItemStack);
                 });
                 previousStack = virtualItemStack;
+                onStoredTypeChanged();
             }
             if (previousStackSize != itemsStoredInside) {
                 writeCustomData(UPDATE_ITEM_COUNT, buf -> buf.writeLong(itemsStoredInside));
@@ -429,6 +430,7 @@ public class MetaTileEntityQuantumChest extends MetaTileEntityQuantumStorage<IIt
         } else if (!locked) {
             this.lockedStack = ItemStack.EMPTY;
         }
+        onStoredTypeChanged();
     }
 
     protected void setLocked(ItemStack stack) {
@@ -473,6 +475,18 @@ public class MetaTileEntityQuantumChest extends MetaTileEntityQuantumStorage<IIt
         return this.combinedInventory;
     }
 
+    /**
+     * @return the item stored in this chest or in its export slot, or the item it is locked to, or an empty stack if
+     *         it accepts any item
+     */
+    @NotNull
+    ItemStack getStoredItemType() {
+        if (!virtualItemStack.isEmpty() && itemsStoredInside > 0L) return virtualItemStack;
+        ItemStack exportStack = exportItems.getStackInSlot(0);
+        if (!exportStack.isEmpty()) return exportStack;
+        return locked ? lockedStack : ItemStack.EMPTY;
+    }
+
     @Override
     public AxisAlignedBB getRenderBoundingBox() {
         return new AxisAlignedBB(getPos());
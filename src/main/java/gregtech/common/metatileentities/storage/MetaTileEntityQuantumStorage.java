@@ -347,6 +347,16 @@ public abstract class MetaTileEntityQuantumStorage<T> extends MetaTileEntity imp
         }
     }
 
+    /**
+     * Lets the controller of this storage find it again, after the item or fluid it holds or is locked to changed.
+     */
+    protected void onStoredTypeChanged() {
+        if (getWorld().isRemote || !isConnected()) return;
+        if (getQuantumController() instanceof MetaTileEntityQuantumStorageController controller) {
+            controller.onStorageChanged(this);
+        }
+    }
+
     public EnumFacing getOutputFacing() {
         return outputFacing == null ? frontFacing.getOpposite() : outputFacing;
     }
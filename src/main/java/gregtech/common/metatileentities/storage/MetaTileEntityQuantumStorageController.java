@@ -9,7 +9,6 @@ import gregtech.api.capability.IQuantumController;
 import gregtech.api.capability.IQuantumStorage;
 import gregtech.api.capability.impl.EnergyContainerList;
 import gregtech.api.capability.impl.FluidTankList;
-import gregtech.api.capability.impl.ItemHandlerList;
 import gregtech.api.metatileentity.ITieredMetaTileEntity;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
@@ -30,6 +29,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.IFluidTank;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
 import net.minecraftforge.items.CapabilityItemHandler;
@@ -41,6 +41,8 @@ import codechicken.lib.render.CCRenderState;
 import codechicken.lib.render.pipeline.ColourMultiplier;
 import codechicken.lib.render.pipeline.IVertexOperation;
 import codechicken.lib.vec.Matrix4;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
@@ -340,6 +342,13 @@ public class MetaTileEntityQuantumStorageController extends MetaTileEntity imple
         markDirty();
     }
 
+    /**
+     * @param storage the storage which changed the item or fluid it holds or is locked to
+     */
+    void onStorageChanged(IQuantumStorage<?> storage) {
+        handler.onStorageChanged(storage);
+    }
+
     private static boolean checkStorageNeighbor(MetaTileEntity mte, EnumFacing facing) {
         if (mte.getNeighbor(facing) instanceof IGregTechTileEntity gtte) {
             return gtte.getMetaTileEntity() instanceof IQuantumStorage<?>;
@@ -463,11 +472,35 @@ public class MetaTileEntityQuantumStorageController extends MetaTileEntity imple
         return this.handler;
     }
 
+    @Nullable
+    private static ItemStack getStoredItem(IQuantumStorage<?> storage, IItemHandler handler) {
+        if (storage instanceof MetaTileEntityQuantumChest chest) {
+            ItemStack stack = chest.getStoredItemType();
+            return stack.isEmpty() ? null : stack;
+        }
+        for (int i = 0; i < handler.getSlots(); i++) {
+            ItemStack stack = handler.getStackInSlot(i);
+            if (!stack.isEmpty()) return stack;
+        }
+        return null;
+    }
+
+    @Nullable
+    private static FluidStack getStoredFluid(IQuantumStorage<?> storage, IFluidTank tank) {
+        if (storage instanceof MetaTileEntityQuantumTank quantumTank) {
+            return quantumTank.getStoredFluidType();
+        }
+        FluidStack fluid = tank.getFluid();
+        return fluid == null || fluid.amount <= 0 ? null : fluid;
+    }
+
     private class QuantumControllerHandler extends DualHandler {
 
         private static final IItemHandlerModifiable EMPTY_ITEM = new ItemStackHandler(0);
         private static final IMultipleTankHandler EMPTY_TANK = new FluidTankList(false);
         private boolean dirty = true;
+        // the index of each item and fluid storage among the storages of its type
+        private final Reference2IntMap<IQuantumStorage<?>> storageIndices = new Reference2IntOpenHashMap<>();
 
         public QuantumControllerHandler() {
             super(EMPTY_ITEM, EMPTY_TANK, true);
@@ -476,26 +509,52 @@ public class MetaTileEntityQuantumStorageController extends MetaTileEntity imple
         private void invalidate() {
             fluidDelegate = EMPTY_TANK;
             itemDelegate = EMPTY_ITEM;
+            storageIndices.clear();
         }
 
         private void rebuildCache() {
             List<IItemHandler> itemHandlerList = new ArrayList<>();
             List<IFluidTank> fluidTankList = new ArrayList<>();
+            List<IQuantumStorage<?>> itemStorages = new ArrayList<>();
+            List<IQuantumStorage<?>> fluidStorages = new ArrayList<>();
+            storageIndices.clear();
             for (BlockPos pos : storagePositions) {
                 IQuantumStorage<?> storage = getStorage(pos);
                 if (storage == null) continue;
                 switch (storage.getType()) {
-                    case ITEM -> itemHandlerList.add((IItemHandler) storage.getTypeValue());
-                    case FLUID -> fluidTankList.add((IFluidTank) storage.getTypeValue());
+                    case ITEM -> {
+                        storageIndices.put(storage, itemStorages.size());
+                        itemStorages.add(storage);
+                        itemHandlerList.add((IItemHandler) storage.getTypeValue());
+                    }
+                    case FLUID -> {
+                        storageIndices.put(storage, fluidStorages.size());
+                        fluidStorages.add(storage);
+                        fluidTankList.add((IFluidTank) storage.getTypeValue());
+                    }
                 }
             }
 
             // todo allow this "allowSameFluidFill" to be configured in this controller?
-            this.fluidDelegate = new FluidTankList(false, fluidTankList);
-            this.itemDelegate = new ItemHandlerList(itemHandlerList);
+            this.fluidDelegate = new QuantumControllerTankList(fluidTankList,
+                    i -> getStoredFluid(fluidStorages.get(i), fluidTankList.get(i)),
+                    MetaTileEntityQuantumStorageController.this::getOffsetTimer);
+            this.itemDelegate = new QuantumControllerItemHandler(itemHandlerList,
+                    i -> getStoredItem(itemStorages.get(i), itemHandlerList.get(i)),
+                    MetaTileEntityQuantumStorageController.this::getOffsetTimer);
             this.dirty = false;
         }
 
+        private void onStorageChanged(IQuantumStorage<?> storage) {
+            if (dirty || !storageIndices.containsKey(storage)) return;
+            int index = storageIndices.getInt(storage);
+            if (storage.getType() == ITEM && itemDelegate instanceof QuantumControllerItemHandler itemHandler) {
+                itemHandler.onStorageChanged(index);
+            } else if (storage.getType() == FLUID && fluidDelegate instanceof QuantumControllerTankList tankList) {
+                tankList.onStorageChanged(index);
+            }
+        }
+
         public void markDirty() {
             this.dirty = true;
         }
@@ -151,6 +151,7 @@ public class MetaTileEntityQuantumTank extends MetaTileEntityQuantumStorage<IFlu
         previousFluid = currentFluid == null ? null : currentFluid.copy();
         writeCustomData(UPDATE_FLUID, buf -> buf
                 .writeCompoundTag(currentFluid == null ? null : currentFluid.writeToNBT(new NBTTagCompound())));
+        onStoredTypeChanged();
     }
 
     @Override
@@ -469,6 +470,7 @@ public class MetaTileEntityQuantumTank extends MetaTileEntityQuantumStorage<IFlu
         if (locked && fluidTank.getFluid() != null) {
             this.lockedFluid = GTUtility.copy(1, fluidTank.getFluid());
         } else this.lockedFluid = null;
+        onStoredTypeChanged();
     }
 
     @Override
@@ -557,4 +559,14 @@ public class MetaTileEntityQuantumTank extends MetaTileEntityQuantumStorage<IFlu
     public IFluidTank getTypeValue() {
         return fluidTank;
     }
+
+    /**
+     * @return the fluid stored in this tank, or the fluid it is locked to, or null if it accepts any fluid
+     */
+    @Nullable
+    FluidStack getStoredFluidType() {
+        FluidStack fluid = fluidTank.getFluid();
+        if (fluid != null && fluid.amount > 0) return fluid;
+        return locked ? lockedFluid : null;
+    }
 }
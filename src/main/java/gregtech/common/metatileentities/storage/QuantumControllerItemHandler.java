@@ -0,0 +1,116 @@
+package gregtech.common.metatileentities.storage;
+
+import gregtech.api.capability.IIndexedItemHandler;
+import gregtech.api.capability.impl.ItemHandlerList;
+import gregtech.api.util.GTTransferUtils;
+import gregtech.api.util.ItemStackHashStrategy;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * The item handler of a quantum storage controller, which inserts items into the storages holding them, found by
+ * a {@link QuantumStorageIndex}, instead of checking the slots of every storage.
+ */
+class QuantumControllerItemHandler extends ItemHandlerList implements IIndexedItemHandler {
+
+    private final IItemHandler[] storages;
+    private final int[] storageBySlot;
+    private final QuantumStorageIndex<ItemStack> index;
+    private final LongSupplier timer;
+
+    /**
+     * @param storages    the item handlers of the storages
+     * @param storedItems the item held by a storage, or the item it is locked to, or null if it is empty
+     * @param timer       the current time, in ticks
+     */
+    QuantumControllerItemHandler(@NotNull List<IItemHandler> storages, @NotNull IntFunction<ItemStack> storedItems,
+                                 @NotNull LongSupplier timer) {
+        super(storages);
+        this.storages = storages.toArray(new IItemHandler[0]);
+        this.storageBySlot = new int[getSlots()];
+        int slot = 0;
+        for (int i = 0; i < this.storages.length; i++) {
+            for (int j = 0; j < this.storages[i].getSlots(); j++) {
+                storageBySlot[slot++] = i;
+            }
+        }
+        this.index = new QuantumStorageIndex<>(this.storages.length, storedItems, ItemStack::copy,
+                ItemStackHashStrategy.comparingAllButCount());
+        this.timer = timer;
+    }
+
+    /**
+     * @param storage the storage which changed the item it holds
+     */
+    void onStorageChanged(int storage) {
+        index.update(storage);
+    }
+
+    @NotNull
+    @Override
+    public ItemStack insertItem(@NotNull ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) return stack;
+        ItemStack remainder = insertIndexed(stack, simulate);
+        if (!remainder.isEmpty() && index.reindex(timer.getAsLong())) {
+            remainder = insertIndexed(remainder, simulate);
+        }
+        return remainder;
+    }
+
+    private ItemStack insertIndexed(ItemStack stack, boolean simulate) {
+        // fill the storages holding the item first, and then the empty storages
+        for (int i = index.next(stack, 0); i >= 0; i = index.next(stack, i + 1)) {
+            stack = insertIntoStorage(i, stack, simulate);
+            if (stack.isEmpty()) return ItemStack.EMPTY;
+        }
+        for (int i = index.next(null, 0); i >= 0; i = index.next(null, i + 1)) {
+            stack = insertIntoStorage(i, stack, simulate);
+            if (stack.isEmpty()) return ItemStack.EMPTY;
+        }
+        return stack;
+    }
+
+    private ItemStack insertIntoStorage(int storage, ItemStack stack, boolean simulate) {
+        ItemStack remainder = GTTransferUtils.insertItem(storages[storage], stack, simulate);
+        // also fixes the index when a storage did not hold what it was indexed by
+        if (!simulate || remainder.getCount() == stack.getCount()) {
+            index.update(storage);
+        }
+        return remainder;
+    }
+
+    @Override
+    public void setStackInSlot(int slot, @NotNull ItemStack stack) {
+        super.setStackInSlot(slot, stack);
+        onSlotChanged(slot);
+    }
+
+    @NotNull
+    @Override
+    public ItemStack insertItem(int slot, @NotNull ItemStack stack, boolean simulate) {
+        ItemStack remainder = super.insertItem(slot, stack, simulate);
+        if (!simulate) onSlotChanged(slot);
+        return remainder;
+    }
+
+    @NotNull
+    @Override
+    public ItemStack extractItem(int slot, int amount, boolean simulate) {
+        ItemStack extracted = super.extractItem(slot, amount, simulate);
+        if (!simulate && !extracted.isEmpty()) onSlotChanged(slot);
+        return extracted;
+    }
+
+    private void onSlotChanged(int slot) {
+        if (slot >= 0 && slot < storageBySlot.length) {
+            index.update(storageBySlot[slot]);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package gregtech.common.metatileentities.storage;
+
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.util.FluidStackHashStrategy;
+
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.IFluidTank;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * The fluid handler of a quantum storage controller, which fills and drains the tanks holding a fluid, found by
+ * a {@link QuantumStorageIndex}, instead of checking every tank.
+ * <p>
+ * Fills like a {@link FluidTankList} not allowing the same fluid in multiple tanks: a fluid only fills an empty tank
+ * if no tank holds it already.
+ */
+class QuantumControllerTankList extends FluidTankList {
+
+    private final IFluidTank[] tanks;
+    private final QuantumStorageIndex<FluidStack> index;
+    private final LongSupplier timer;
+
+    /**
+     * @param tanks        the tanks of the storages
+     * @param storedFluids the fluid held by a storage, or the fluid it is locked to, or null if it is empty
+     * @param timer        the current time, in ticks
+     */
+    QuantumControllerTankList(@NotNull List<IFluidTank> tanks, @NotNull IntFunction<FluidStack> storedFluids,
+                              @NotNull LongSupplier timer) {
+        super(false, tanks);
+        this.tanks = tanks.toArray(new IFluidTank[0]);
+        this.index = new QuantumStorageIndex<>(this.tanks.length, storedFluids, FluidStack::copy,
+                FluidStackHashStrategy.comparingAllButAmount());
+        this.timer = timer;
+    }
+
+    /**
+     * @param storage the storage which changed the fluid it holds
+     */
+    void onStorageChanged(int storage) {
+        index.update(storage);
+    }
+
+    @Override
+    public int fill(FluidStack resource, boolean doFill) {
+        if (resource == null || resource.amount <= 0) {
+            return 0;
+        }
+        int filled = fillIndexed(resource, doFill);
+        if (filled < resource.amount && index.reindex(timer.getAsLong())) {
+            FluidStack remainder = resource.copy();
+            remainder.amount -= filled;
+            filled += fillIndexed(remainder, doFill);
+        }
+        return filled;
+    }
+
+    private int fillIndexed(FluidStack resource, boolean doFill) {
+        int filled = 0;
+        boolean held = false;
+        // fill the tanks holding the fluid first
+        for (int i = index.next(resource, 0); i >= 0; i = index.next(resource, i + 1)) {
+            if (tanks[i].getFluidAmount() <= 0) continue;
+            held = true;
+            filled += fillTank(i, resource, filled, doFill);
+            if (filled >= resource.amount) return filled;
+        }
+        if (held) return filled;
+
+        // then the first empty tank locked to the fluid, or else the first empty tank accepting it
+        for (int i = index.next(resource, 0); i >= 0; i = index.next(resource, i + 1)) {
+            if (tanks[i].getFluidAmount() > 0) continue;
+            filled = fillTank(i, resource, 0, doFill);
+            if (filled > 0) return filled;
+        }
+        for (int i = index.next(null, 0); i >= 0; i = index.next(null, i + 1)) {
+            filled = fillTank(i, resource, 0, doFill);
+            if (filled > 0) return filled;
+        }
+        return 0;
+    }
+
+    private int fillTank(int storage, FluidStack resource, int alreadyFilled, boolean doFill) {
+        if (alreadyFilled > 0) {
+            resource = resource.copy();
+            resource.amount -= alreadyFilled;
+        }
+        int filled = tanks[storage].fill(resource, doFill);
+        // also fixes the index when a tank did not hold what it was indexed by
+        if (doFill || filled == 0) {
+            index.update(storage);
+        }
+        return filled;
+    }
+
+    @Nullable
+    @Override
+    public FluidStack drain(FluidStack resource, boolean doDrain) {
+        if (resource == null || resource.amount <= 0) {
+            return null;
+        }
+        FluidStack drained = drainIndexed(resource, null, doDrain);
+        if ((drained == null || drained.amount < resource.amount) && index.reindex(timer.getAsLong())) {
+            drained = drainIndexed(resource, drained, doDrain);
+        }
+        return drained;
+    }
+
+    @Nullable
+    private FluidStack drainIndexed(FluidStack resource, @Nullable FluidStack totalDrained, boolean doDrain) {
+        for (int i = index.next(resource, 0); i >= 0; i = index.next(resource, i + 1)) {
+            int amountLeft = resource.amount - (totalDrained == null ? 0 : totalDrained.amount);
+            if (amountLeft <= 0) break;
+            IFluidTank tank = tanks[i];
+            if (!resource.isFluidEqual(tank.getFluid())) {
+                index.update(i);
+                continue;
+            }
+            FluidStack drained = tank.drain(amountLeft, doDrain);
+            if (drained == null) continue;
+            if (doDrain) index.update(i);
+            if (totalDrained == null) {
+                totalDrained = drained;
+            } else {
+                totalDrained.amount += drained.amount;
+            }
+        }
+        return totalDrained;
+    }
+}
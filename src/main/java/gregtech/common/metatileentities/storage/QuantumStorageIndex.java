@@ -0,0 +1,125 @@
+package gregtech.common.metatileentities.storage;
+
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.ints.IntAVLTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Index of the storages of a quantum storage controller by the item or fluid each of them holds, so the storages
+ * for a stack are found without checking every storage.
+ * <p>
+ * Storages are indexed again when the controller inserted into or extracted from them, and when they report a change
+ * of the stack they hold. Storages which changed without either, are found by indexing every storage again, which is
+ * done at most once a second, when looking up a stack did not find a storage for all of it.
+ *
+ * @param <K> the type of stacks held by the storages
+ */
+final class QuantumStorageIndex<K> {
+
+    private static final int REINDEX_INTERVAL = 20;
+
+    private final IntFunction<K> keyGetter;
+    private final UnaryOperator<K> keyCopier;
+    private final Hash.Strategy<K> strategy;
+    private final Map<K, IntSortedSet> storagesByKey;
+    private final IntSortedSet emptyStorages = new IntAVLTreeSet();
+    // the key each storage is indexed by, or null for empty storages
+    private final Object[] keys;
+    private long nextReindexTime;
+
+    /**
+     * @param storages  the number of storages
+     * @param keyGetter the stack held by a storage, or the stack it is locked to, or null if it is empty
+     * @param keyCopier copies the stacks returned by the key getter, which may be modified by the storage afterwards
+     * @param strategy  compares the types of stacks, ignoring their amounts
+     */
+    QuantumStorageIndex(int storages, @NotNull IntFunction<K> keyGetter, @NotNull UnaryOperator<K> keyCopier,
+                        @NotNull Hash.Strategy<K> strategy) {
+        this.keyGetter = keyGetter;
+        this.keyCopier = keyCopier;
+        this.strategy = strategy;
+        this.storagesByKey = new Object2ObjectOpenCustomHashMap<>(strategy);
+        this.keys = new Object[storages];
+        reindex();
+    }
+
+    /**
+     * @param key  the type of stack, or null for empty storages
+     * @param from the lowest storage to return
+     * @return the first storage from {@code from} on which holds the stack, or -1 if there is none
+     */
+    int next(@Nullable K key, int from) {
+        IntSortedSet storages = key == null ? emptyStorages : storagesByKey.get(key);
+        if (storages == null) return -1;
+        IntSortedSet tail = storages.tailSet(from);
+        return tail.isEmpty() ? -1 : tail.firstInt();
+    }
+
+    /**
+     * Indexes a storage again, after its contents may have changed.
+     *
+     * @param storage the storage
+     */
+    @SuppressWarnings("unchecked")
+    void update(int storage) {
+        K key = keyGetter.apply(storage);
+        K oldKey = (K) keys[storage];
+        if (oldKey == null ? key == null : key != null && strategy.equals(oldKey, key)) return;
+
+        if (oldKey == null) {
+            emptyStorages.remove(storage);
+        } else {
+            IntSortedSet storages = storagesByKey.get(oldKey);
+            storages.remove(storage);
+            if (storages.isEmpty()) {
+                storagesByKey.remove(oldKey);
+            }
+        }
+        add(storage, key);
+    }
+
+    /**
+     * Indexes every storage again, unless that was done less than a second ago.
+     *
+     * @param time the current time, in ticks
+     * @return if the storages were indexed again
+     */
+    boolean reindex(long time) {
+        // the time may also have been reset, like the offset timer of a reloaded controller
+        if (time < nextReindexTime && time >= nextReindexTime - REINDEX_INTERVAL) return false;
+        nextReindexTime = time + REINDEX_INTERVAL;
+        reindex();
+        return true;
+    }
+
+    private void reindex() {
+        storagesByKey.clear();
+        emptyStorages.clear();
+        for (int i = 0; i < keys.length; i++) {
+            add(i, keyGetter.apply(i));
+        }
+    }
+
+    private void add(int storage, @Nullable K key) {
+        if (key == null) {
+            keys[storage] = null;
+            emptyStorages.add(storage);
+            return;
+        }
+        key = keyCopier.apply(key);
+        keys[storage] = key;
+        IntSortedSet storages = storagesByKey.get(key);
+        if (storages == null) {
+            storages = new IntAVLTreeSet();
+            storagesByKey.put(key, storages);
+        }
+        storages.add(storage);
+    }
+}
@@ -1,28 +1,60 @@
 package gregtech.common.pipelike.cable.net;
 
+import gregtech.api.pipenet.AsyncPipeNetWalker;
 import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
+import gregtech.api.pipenet.PipeNetSnapshot;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.common.ConfigHolder;
+import gregtech.common.pipelike.cable.tile.PerTickLongCounter;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
 
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.apache.commons.lang3.ArrayUtils;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
 
 public class EnergyNet extends PipeNet<WireProperties> {
 
     private long lastEnergyFluxPerSec;
     private long energyFluxPerSec;
     private long lastTime;
+    // amperage transferred through the net in the current tick
+    private final PerTickLongCounter amperageCounter = new PerTickLongCounter();
+    // paths with transfers in the current tick which their cables did not record yet
+    private final List<EnergyRoutePath> deferredPaths = new ObjectArrayList<>();
+    private long deferredTime;
 
     private final Map<BlockPos, List<EnergyRoutePath>> NET_DATA = new Object2ObjectOpenHashMap<>();
+    // reverse index of NET_DATA: the chunks the routes of each source pass through, and the sources per chunk
+    private final Map<BlockPos, LongSet> routeChunks = new Object2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<Set<BlockPos>> sourcesByChunk = new Long2ObjectOpenHashMap<>();
+    // sources waiting for their routes to be found on a worker thread
+    private final Map<BlockPos, Future<PipeNetSnapshot.Walk<WireProperties>>> pendingWalks =
+            new Object2ObjectOpenHashMap<>();
 
     protected EnergyNet(WorldPipeNet<WireProperties, EnergyNet> world) {
         super(world);
@@ -31,17 +63,167 @@ public class EnergyNet extends PipeNet<WireProperties> {
     public List<EnergyRoutePath> getNetData(BlockPos pipePos) {
         List<EnergyRoutePath> data = NET_DATA.get(pipePos);
         if (data == null) {
-            data = EnergyNetWalker.createNetData(getWorldData(), pipePos);
+            data = ConfigHolder.machines.asyncPipeNetWalking ? collectAsyncNetData(pipePos) : walkRoutes(pipePos);
             if (data == null) {
-                // walker failed, don't cache so it tries again on next insertion
+                // walker failed or is still walking, don't cache so it tries again on next insertion
                 return Collections.emptyList();
             }
             data.sort(Comparator.comparingInt(EnergyRoutePath::getDistance));
             NET_DATA.put(pipePos, data);
+            indexChunk(pipePos, pipePos);
+            for (EnergyRoutePath path : data) {
+                indexRoute(pipePos, path);
+            }
         }
         return data;
     }
 
+    /**
+     * Starts walking from the source on a worker thread if it is not walking yet, and builds the routes once the walk
+     * is done.
+     *
+     * @return the routes, or null if the walk is not done yet or failed
+     */
+    @Nullable
+    private List<EnergyRoutePath> collectAsyncNetData(BlockPos source) {
+        Future<PipeNetSnapshot.Walk<WireProperties>> pending = pendingWalks.get(source);
+        if (pending == null) {
+            if (containsNode(source)) {
+                pendingWalks.put(source, AsyncPipeNetWalker.submit(getSnapshot(), source));
+            }
+            return null;
+        }
+        if (!pending.isDone()) return null;
+        pendingWalks.remove(source);
+        PipeNetSnapshot.Walk<WireProperties> walk = AsyncPipeNetWalker.getResult(pending);
+        // the nodes changed while walking, so walk again
+        if (walk == null || !isSnapshotCurrent(walk.getSnapshot())) return null;
+        return createRoutes(walk);
+    }
+
+    /**
+     * Builds the routes of a walk. The walk only knows the nodes, so this checks the blocks at its endpoints for
+     * energy containers, just like {@link EnergyNetWalker} does.
+     *
+     * @return the routes, or null if the cables of the walk are not loaded anymore
+     */
+    @Nullable
+    List<EnergyRoutePath> createRoutes(PipeNetSnapshot.Walk<WireProperties> walk) {
+        List<EnergyRoutePath> routes = new ObjectArrayList<>();
+        Long2ObjectMap<TileEntityCable> cables = new Long2ObjectOpenHashMap<>();
+        for (int i = 0; i < walk.getEndpointCount(); i++) {
+            BlockPos pipePos = BlockPos.fromLong(walk.getEndpointNode(i));
+            EnumFacing facing = walk.getEndpointFacing(i);
+            if (!isRouteDestination(pipePos, facing)) continue;
+            EnergyRoutePath route = createRoute(walk.getPath(walk.getEndpointNode(i)), facing, cables);
+            if (route == null) return null;
+            routes.add(route);
+        }
+        return routes;
+    }
+
+    /**
+     * @param positions the positions of the cables from the source to the target, as {@link BlockPos#toLong()}
+     * @param facing    the side of the target cable facing the destination
+     * @param cables    the cables already looked up, by position
+     * @return the route, or null if any of its cables is not loaded
+     */
+    @Nullable
+    private EnergyRoutePath createRoute(long[] positions, EnumFacing facing, Long2ObjectMap<TileEntityCable> cables) {
+        TileEntityCable[] path = new TileEntityCable[positions.length];
+        long loss = 0;
+        for (int i = 0; i < positions.length; i++) {
+            TileEntityCable cable = cables.get(positions[i]);
+            if (cable == null) {
+                cable = getLoadedCable(BlockPos.fromLong(positions[i]));
+                if (cable == null) return null;
+                cables.put(positions[i], cable);
+            }
+            path[i] = cable;
+            loss += cable.getNodeData().getLossPerBlock();
+        }
+        return new EnergyRoutePath(facing, path, path.length, loss);
+    }
+
+    /**
+     * Walks the cables from a source on the server thread.
+     *
+     * @return the routes, or null if the walker failed
+     */
+    @Nullable
+    List<EnergyRoutePath> walkRoutes(BlockPos source) {
+        World world = getWorldData();
+        return world == null ? null : EnergyNetWalker.createNetData(world, source);
+    }
+
+    /**
+     * @return the cable at the position, or null if there is none or it is not loaded
+     */
+    @Nullable
+    TileEntityCable getLoadedCable(BlockPos pos) {
+        World world = getWorldData();
+        if (world == null || !world.isBlockLoaded(pos)) return null;
+        return world.getTileEntity(pos) instanceof TileEntityCable cable ? cable : null;
+    }
+
+    /**
+     * @param pipePos the position of a cable with an open side
+     * @param facing  the open side
+     * @return if energy can be routed from the cable into the block on the side
+     * @see EnergyNetWalker#isRouteDestination(TileEntity, EnumFacing)
+     */
+    boolean isRouteDestination(BlockPos pipePos, EnumFacing facing) {
+        World world = getWorldData();
+        if (world == null) return false;
+        BlockPos destPos = pipePos.offset(facing);
+        return world.isBlockLoaded(destPos) &&
+                EnergyNetWalker.isRouteDestination(world.getTileEntity(destPos), facing);
+    }
+
+    private void indexRoute(BlockPos source, EnergyRoutePath path) {
+        for (TileEntityCable cable : path.getPath()) {
+            indexChunk(source, cable.getPipePos());
+        }
+    }
+
+    private void indexChunk(BlockPos source, BlockPos pos) {
+        LongSet chunks = routeChunks.get(source);
+        if (chunks == null) {
+            chunks = new LongOpenHashSet();
+            routeChunks.put(source, chunks);
+        }
+        long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        if (chunks.add(chunk)) {
+            Set<BlockPos> sources = sourcesByChunk.get(chunk);
+            if (sources == null) {
+                sources = new ObjectOpenHashSet<>();
+                sourcesByChunk.put(chunk, sources);
+            }
+            sources.add(source);
+        }
+    }
+
+    private void invalidateSource(BlockPos source) {
+        NET_DATA.remove(source);
+        pendingWalks.remove(source);
+        LongSet chunks = routeChunks.remove(source);
+        if (chunks == null) return;
+        for (LongIterator iterator = chunks.iterator(); iterator.hasNext();) {
+            long chunk = iterator.nextLong();
+            Set<BlockPos> sources = sourcesByChunk.get(chunk);
+            if (sources != null && sources.remove(source) && sources.isEmpty()) {
+                sourcesByChunk.remove(chunk);
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        NET_DATA.clear();
+        pendingWalks.clear();
+        routeChunks.clear();
+        sourcesByChunk.clear();
+    }
+
     public long getEnergyFluxPerSec() {
         World world = getWorldData();
         if (world != null && !world.isRemote && (world.getTotalWorldTime() - lastTime) >= 20) {
@@ -55,32 +237,226 @@ public class EnergyNet extends PipeNet<WireProperties> {
         energyFluxPerSec += energy;
     }
 
+    /**
+     * @param worldTime the current total world time
+     * @param amperage  the amperage transferred
+     * @return the amperage transferred through the net in this tick so far
+     */
+    long addAmperage(long worldTime, long amperage) {
+        amperageCounter.set(worldTime, amperageCounter.get(worldTime) + amperage);
+        return amperageCounter.get(worldTime);
+    }
+
+    /**
+     * Remembers a transfer along the path instead of recording it in every cable, until a cable could be overloaded
+     * in the same tick.
+     *
+     * @param worldTime the current total world time
+     */
+    void deferTransfer(long worldTime, EnergyRoutePath path, long amperage, long voltage) {
+        if (worldTime != deferredTime) {
+            deferredPaths.clear();
+            deferredTime = worldTime;
+        }
+        if (path.deferTransfer(worldTime, amperage, voltage)) {
+            deferredPaths.add(path);
+        }
+    }
+
+    /**
+     * Records the transfers deferred in this tick in the cables of their paths.
+     *
+     * @param worldTime the current total world time
+     */
+    void recordDeferredTransfers(long worldTime) {
+        if (worldTime != deferredTime) return;
+        for (EnergyRoutePath path : deferredPaths) {
+            path.recordDeferredTransfers(worldTime);
+        }
+        deferredPaths.clear();
+    }
+
+    /**
+     * @return the average amperage of the transfers through the cable which it did not record itself
+     */
+    public double getDeferredAverageAmperage(TileEntityCable cable) {
+        double amperage = 0;
+        for (List<EnergyRoutePath> paths : NET_DATA.values()) {
+            for (EnergyRoutePath path : paths) {
+                amperage += path.getDeferredAverageAmperage(cable);
+            }
+        }
+        return amperage;
+    }
+
+    /**
+     * @return the average voltage of the transfers through the cable which it did not record itself
+     */
+    public double getDeferredAverageVoltage(TileEntityCable cable) {
+        double voltage = 0;
+        for (List<EnergyRoutePath> paths : NET_DATA.values()) {
+            for (EnergyRoutePath path : paths) {
+                voltage += path.getDeferredAverageVoltage(cable);
+            }
+        }
+        return voltage;
+    }
+
+    /**
+     * @return the highest voltage of the transfers through the cable in this tick which it did not record itself
+     */
+    public long getDeferredMaxVoltage(TileEntityCable cable) {
+        long voltage = 0;
+        for (List<EnergyRoutePath> paths : NET_DATA.values()) {
+            for (EnergyRoutePath path : paths) {
+                voltage = Math.max(voltage, path.getDeferredMaxVoltage(cable));
+            }
+        }
+        return voltage;
+    }
+
     public void clearCache() {
         lastEnergyFluxPerSec = energyFluxPerSec;
         energyFluxPerSec = 0;
     }
 
+    /**
+     * Only the routes ending at the changed block can change, as the cables themselves did not change. Routes to a
+     * block which is no longer an energy container are dropped, and routes to a new energy container are added to
+     * all cached sources with a single walk from each cable next to it.
+     */
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
-        NET_DATA.clear();
+        if (NET_DATA.isEmpty()) return;
+        PipeNetSnapshot<WireProperties> snapshot = getSnapshot();
+
+        // the cables next to the changed block which should have a route to it, by the same rules as a full walk
+        LongList destPipes = new LongArrayList(1);
+        List<EnumFacing> destFacings = new ObjectArrayList<>(1);
+        // cables of this net are never destinations, the walk treats them as part of the net
+        if (!containsNode(fromPos)) {
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                BlockPos pipePos = fromPos.offset(facing);
+                Node<WireProperties> node = snapshot.getNode(pipePos.toLong());
+                if (node != null && !node.isBlocked(facing.getOpposite()) &&
+                        isRouteDestination(pipePos, facing.getOpposite())) {
+                    destPipes.add(pipePos.toLong());
+                    destFacings.add(facing.getOpposite());
+                }
+            }
+        }
+
+        // route lists are replaced instead of modified, as they may be iterated while energy is inserted
+        Map<BlockPos, List<EnergyRoutePath>> outdated = new Object2ObjectOpenHashMap<>();
+        for (Map.Entry<BlockPos, List<EnergyRoutePath>> entry : NET_DATA.entrySet()) {
+            List<EnergyRoutePath> routes = entry.getValue();
+            int matching = 0;
+            boolean changed = false;
+            for (EnergyRoutePath route : routes) {
+                if (!isRouteTo(route, fromPos)) continue;
+                int index = destPipes.indexOf(route.getTargetPipePos().toLong());
+                if (index == -1 || destFacings.get(index) != route.getTargetFacing()) {
+                    changed = true;
+                    break;
+                }
+                matching++;
+            }
+            if (changed || matching != destPipes.size()) {
+                List<EnergyRoutePath> kept = new ObjectArrayList<>(routes.size());
+                for (EnergyRoutePath route : routes) {
+                    if (!isRouteTo(route, fromPos)) {
+                        kept.add(route);
+                    }
+                }
+                outdated.put(entry.getKey(), kept);
+            }
+        }
+        if (outdated.isEmpty()) return;
+        NET_DATA.putAll(outdated);
+
+        Long2ObjectMap<TileEntityCable> cables = new Long2ObjectOpenHashMap<>();
+        for (int i = 0; i < destPipes.size(); i++) {
+            PipeNetSnapshot.Walk<WireProperties> walk = snapshot.walk(destPipes.getLong(i));
+            if (walk == null) continue;
+            for (BlockPos source : outdated.keySet()) {
+                if (!walk.isReached(source.toLong())) continue;
+                // the path leads from the destination to the source, so reverse it
+                long[] path = walk.getPath(source.toLong());
+                ArrayUtils.reverse(path);
+                EnergyRoutePath route = createRoute(path, destFacings.get(i), cables);
+                if (route == null) {
+                    // cables are not loaded, so let the affected sources walk again on their next insertion
+                    outdated.keySet().forEach(this::invalidateSource);
+                    return;
+                }
+                addRoute(source, route);
+            }
+        }
     }
 
+    private void addRoute(BlockPos source, EnergyRoutePath route) {
+        List<EnergyRoutePath> routes = NET_DATA.get(source);
+        if (routes == null) return;
+        // keep the routes sorted by distance
+        int index = routes.size();
+        while (index > 0 && routes.get(index - 1).getDistance() > route.getDistance()) {
+            index--;
+        }
+        List<EnergyRoutePath> updated = new ObjectArrayList<>(routes.size() + 1);
+        updated.addAll(routes);
+        updated.add(index, route);
+        NET_DATA.put(source, updated);
+        indexRoute(source, route);
+    }
+
+    private static boolean isRouteTo(EnergyRoutePath route, BlockPos pos) {
+        BlockPos pipePos = route.getTargetPipePos();
+        EnumFacing facing = route.getTargetFacing();
+        return pipePos.getX() + facing.getXOffset() == pos.getX() &&
+                pipePos.getY() + facing.getYOffset() == pos.getY() &&
+                pipePos.getZ() + facing.getZOffset() == pos.getZ();
+    }
+
+    /**
+     * Added or removed cables can change any route, so all routes are rebuilt.
+     */
+    @Override
+    protected void onNodeConnectionsUpdate() {
+        super.onNodeConnectionsUpdate();
+        invalidateAll();
+    }
+
+    /**
+     * A connection change can make shorter routes available to any source, so all routes are rebuilt.
+     */
     @Override
     public void onPipeConnectionsUpdate() {
-        NET_DATA.clear();
+        invalidateAll();
     }
 
     @Override
     public void onChunkUnload() {
-        NET_DATA.clear();
+        invalidateAll();
+    }
+
+    /**
+     * Only the routes passing through the chunk of the unloaded cable hold onto unloaded cables.
+     */
+    @Override
+    public void onChunkUnload(BlockPos pipePos) {
+        Set<BlockPos> sources = sourcesByChunk.get(ChunkPos.asLong(pipePos.getX() >> 4, pipePos.getZ() >> 4));
+        if (sources != null) {
+            for (BlockPos source : sources.toArray(new BlockPos[0])) {
+                invalidateSource(source);
+            }
+        }
     }
 
     @Override
-    protected void transferNodeData(Map<BlockPos, Node<WireProperties>> transferredNodes,
+    protected void transferNodeData(Long2ObjectMap<Node<WireProperties>> transferredNodes,
                                     PipeNet<WireProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
-        NET_DATA.clear();
-        ((EnergyNet) parentNet).NET_DATA.clear();
+        ((EnergyNet) parentNet).invalidateAll();
     }
 
     @Override
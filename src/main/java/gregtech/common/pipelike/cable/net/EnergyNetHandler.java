@@ -78,21 +78,24 @@ public class EnergyNetHandler implements IEnergyContainer {
 
             long pathVoltage = voltage - path.getMaxLoss();
             boolean cableBroken = false;
-            for (TileEntityCable cable : path.getPath()) {
-                if (cable.getMaxVoltage() < voltage) {
-                    int heat = (int) (Math.log(
-                            GTUtility.getTierByVoltage(voltage) - GTUtility.getTierByVoltage(cable.getMaxVoltage())) *
-                            45 + 36.5);
-                    cable.applyHeat(heat);
-
-                    cableBroken = cable.isInvalid();
-                    if (cableBroken) {
-                        // a cable burned away (or insulation melted)
-                        break;
+            boolean overvolted = voltage > path.getMinVoltage();
+            // only walk the cables when at least one of them is overvolted
+            if (overvolted) {
+                for (TileEntityCable cable : path.getPath()) {
+                    if (cable.getMaxVoltage() < voltage) {
+                        int heat = (int) (Math.log(GTUtility.getTierByVoltage(voltage) -
+                                GTUtility.getTierByVoltage(cable.getMaxVoltage())) * 45 + 36.5);
+                        cable.applyHeat(heat);
+
+                        cableBroken = cable.isInvalid();
+                        if (cableBroken) {
+                            // a cable burned away (or insulation melted)
+                            break;
+                        }
+
+                        // limit transfer to cables max and void rest
+                        pathVoltage = Math.min(cable.getMaxVoltage(), pathVoltage);
                     }
-
-                    // limit transfer to cables max and void rest
-                    pathVoltage = Math.min(cable.getMaxVoltage(), pathVoltage);
                 }
             }
 
@@ -104,6 +107,17 @@ public class EnergyNetHandler implements IEnergyContainer {
             if (amps == 0) continue;
 
             amperesUsed += amps;
+            long worldTime = cable.getWorldTime();
+            long netAmperage = net.addAmperage(worldTime, amps);
+            if (!overvolted && netAmperage <= path.getMinAmperage()) {
+                // the whole net carries no more than any cable of this path can, so none of them can be overloaded
+                net.deferTransfer(worldTime, path, amps, voltage);
+                if (amperage == amperesUsed) break;
+                continue;
+            }
+
+            // the cables need the transfers deferred in this tick to check if they are overloaded
+            net.recordDeferredTransfers(worldTime);
             long voltageTraveled = voltage;
             for (TileEntityCable cable : path.getPath()) {
                 voltageTraveled -= cable.getNodeData().getLossPerBlock();
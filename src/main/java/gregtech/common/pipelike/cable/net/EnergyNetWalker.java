@@ -1,7 +1,6 @@
 package gregtech.common.pipelike.cable.net;
 
 import gregtech.api.capability.GregtechCapabilities;
-import gregtech.api.capability.IEnergyContainer;
 import gregtech.api.pipenet.PipeNetWalker;
 import gregtech.common.pipelike.cable.tile.TileEntityCable;
 
@@ -27,6 +26,20 @@ public class EnergyNetWalker extends PipeNetWalker<TileEntityCable> {
         return walker.isFailed() ? null : walker.routes;
     }
 
+    /**
+     * Checks if energy can be routed from a cable into a neighbouring block. Cables are never destinations, as they
+     * are either walked as part of the net or belong to another net.
+     *
+     * @param neighbourTile   the tile entity next to the cable
+     * @param faceToNeighbour the side of the cable facing the neighbour
+     * @return if the neighbour accepts energy from the cable
+     */
+    public static boolean isRouteDestination(@Nullable TileEntity neighbourTile, EnumFacing faceToNeighbour) {
+        return neighbourTile != null && !(neighbourTile instanceof TileEntityCable) &&
+                neighbourTile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER,
+                        faceToNeighbour.getOpposite()) != null;
+    }
+
     private final List<EnergyRoutePath> routes;
     private TileEntityCable[] pipes = {};
     private int loss;
@@ -57,12 +70,8 @@ public class EnergyNetWalker extends PipeNetWalker<TileEntityCable> {
         // assert that the last added pipe is the current pipe
         if (pipeTile != pipes[pipes.length - 1]) throw new IllegalStateException(
                 "The current pipe is not the last added pipe. Something went seriously wrong!");
-        if (neighbourTile != null) {
-            IEnergyContainer container = neighbourTile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER,
-                    faceToNeighbour.getOpposite());
-            if (container != null) {
-                routes.add(new EnergyRoutePath(faceToNeighbour, pipes, getWalkedBlocks(), loss));
-            }
+        if (isRouteDestination(neighbourTile, faceToNeighbour)) {
+            routes.add(new EnergyRoutePath(faceToNeighbour, pipes, getWalkedBlocks(), loss));
         }
     }
 
@@ -3,6 +3,8 @@ package gregtech.common.pipelike.cable.net;
 import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.capability.IEnergyContainer;
 import gregtech.api.pipenet.IRoutePath;
+import gregtech.common.pipelike.cable.tile.AveragingPerTickCounter;
+import gregtech.common.pipelike.cable.tile.PerTickLongCounter;
 import gregtech.common.pipelike.cable.tile.TileEntityCable;
 
 import net.minecraft.util.EnumFacing;
@@ -16,6 +18,10 @@ public class EnergyRoutePath implements IRoutePath<TileEntityCable> {
     private final int distance;
     private final TileEntityCable[] path;
     private final long maxLoss;
+    private final long minVoltage;
+    private final long minAmperage;
+    // transfers not recorded by the cables yet, created on the first one
+    private DeferredTransfers deferred;
 
     public EnergyRoutePath(EnumFacing destFacing, TileEntityCable[] path, int distance, long maxLoss) {
         this.targetPipe = path[path.length - 1];
@@ -23,6 +29,14 @@ public class EnergyRoutePath implements IRoutePath<TileEntityCable> {
         this.path = path;
         this.distance = distance;
         this.maxLoss = maxLoss;
+        long minVoltage = Long.MAX_VALUE;
+        long minAmperage = Long.MAX_VALUE;
+        for (TileEntityCable cable : path) {
+            minVoltage = Math.min(minVoltage, cable.getMaxVoltage());
+            minAmperage = Math.min(minAmperage, cable.getMaxAmperage());
+        }
+        this.minVoltage = minVoltage;
+        this.minAmperage = minAmperage;
     }
 
     @Override
@@ -44,6 +58,20 @@ public class EnergyRoutePath implements IRoutePath<TileEntityCable> {
         return maxLoss;
     }
 
+    /**
+     * @return the lowest max voltage of all cables in the path
+     */
+    public long getMinVoltage() {
+        return minVoltage;
+    }
+
+    /**
+     * @return the lowest max amperage of all cables in the path
+     */
+    public long getMinAmperage() {
+        return minAmperage;
+    }
+
     public TileEntityCable[] getPath() {
         return path;
     }
@@ -51,4 +79,100 @@ public class EnergyRoutePath implements IRoutePath<TileEntityCable> {
     public IEnergyContainer getHandler() {
         return getTargetCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER);
     }
+
+    /**
+     * Remembers a transfer along this path instead of recording it in every cable.
+     *
+     * @param worldTime the current total world time
+     * @return if this is the first transfer deferred in this tick
+     */
+    boolean deferTransfer(long worldTime, long amperage, long voltage) {
+        if (deferred == null) deferred = new DeferredTransfers();
+        boolean first = deferred.transfers.getLast(worldTime) == 0;
+        deferred.amperage.increment(worldTime, amperage);
+        deferred.voltage.increment(worldTime, voltage);
+        deferred.transfers.increment(worldTime, 1);
+        if (voltage > deferred.maxVoltage.get(worldTime)) {
+            deferred.maxVoltage.set(worldTime, voltage);
+        }
+        return first;
+    }
+
+    /**
+     * Records the transfers deferred in this tick in every cable of the path, like they would have been without
+     * deferring them.
+     *
+     * @param worldTime the current total world time
+     */
+    void recordDeferredTransfers(long worldTime) {
+        if (deferred == null) return;
+        long amperage = deferred.amperage.getLast(worldTime);
+        long voltage = deferred.voltage.getLast(worldTime);
+        long transfers = deferred.transfers.getLast(worldTime);
+        long maxVoltage = deferred.maxVoltage.get(worldTime);
+        if (transfers == 0) return;
+
+        long loss = 0;
+        for (TileEntityCable cable : path) {
+            loss += cable.getNodeData().getLossPerBlock();
+            if (!cable.isInvalid()) {
+                cable.incrementAmperage(amperage, voltage - loss * transfers, maxVoltage - loss);
+            }
+        }
+        deferred.amperage.increment(worldTime, -amperage);
+        deferred.voltage.increment(worldTime, -voltage);
+        deferred.transfers.increment(worldTime, -transfers);
+        deferred.maxVoltage.set(worldTime, 0);
+    }
+
+    /**
+     * @return the average amperage of the deferred transfers through the cable, 0 if it is not in the path
+     */
+    double getDeferredAverageAmperage(@NotNull TileEntityCable cable) {
+        if (deferred == null || getLossUntil(cable) < 0) return 0;
+        return deferred.amperage.getAverage(cable.getWorld());
+    }
+
+    /**
+     * @return the average voltage of the deferred transfers through the cable, 0 if it is not in the path
+     */
+    double getDeferredAverageVoltage(@NotNull TileEntityCable cable) {
+        if (deferred == null) return 0;
+        long loss = getLossUntil(cable);
+        if (loss < 0) return 0;
+        return deferred.voltage.getAverage(cable.getWorld()) -
+                loss * deferred.transfers.getAverage(cable.getWorld());
+    }
+
+    /**
+     * @return the highest voltage of the deferred transfers through the cable in this tick, 0 if it is not in the
+     *         path
+     */
+    long getDeferredMaxVoltage(@NotNull TileEntityCable cable) {
+        if (deferred == null) return 0;
+        long maxVoltage = deferred.maxVoltage.get(cable.getWorldTime());
+        long loss = getLossUntil(cable);
+        return maxVoltage == 0 || loss < 0 ? 0 : maxVoltage - loss;
+    }
+
+    /**
+     * @return the loss of the path up to and including the cable, or -1 if it is not in the path
+     */
+    private long getLossUntil(@NotNull TileEntityCable cable) {
+        long loss = 0;
+        for (TileEntityCable current : path) {
+            loss += current.getNodeData().getLossPerBlock();
+            if (current == cable) return loss;
+        }
+        return -1;
+    }
+
+    private static final class DeferredTransfers {
+
+        private final AveragingPerTickCounter amperage = new AveragingPerTickCounter();
+        // the sum of the voltages of all transfers
+        private final AveragingPerTickCounter voltage = new AveragingPerTickCounter();
+        private final AveragingPerTickCounter transfers = new AveragingPerTickCounter();
+        private final PerTickLongCounter maxVoltage = new PerTickLongCounter();
+    }
 }
@@ -31,7 +31,10 @@ public class AveragingPerTickCounter {
 
     private void checkValueState(World world) {
         if (world == null) return;
-        long currentWorldTime = world.getTotalWorldTime();
+        checkValueState(world.getTotalWorldTime());
+    }
+
+    private void checkValueState(long currentWorldTime) {
         if (currentWorldTime != lastUpdatedWorldTime) {
             long dif = currentWorldTime - lastUpdatedWorldTime;
             if (dif >= values.length || dif < 0) {
@@ -88,4 +91,22 @@ public class AveragingPerTickCounter {
         checkValueState(world);
         values[currentIndex] = value;
     }
+
+    /**
+     * @param worldTime the current total world time
+     * @return the value from the current tick
+     */
+    public long getLast(long worldTime) {
+        checkValueState(worldTime);
+        return values[currentIndex];
+    }
+
+    /**
+     * @param worldTime the current total world time
+     * @param value     the value to increment the current value by
+     */
+    public void increment(long worldTime, long value) {
+        checkValueState(worldTime);
+        values[currentIndex] += value;
+    }
 }
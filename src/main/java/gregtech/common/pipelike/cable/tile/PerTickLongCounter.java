@@ -21,7 +21,10 @@ public class PerTickLongCounter {
 
     private void checkValueState(World world) {
         if (world == null) return;
-        long currentWorldTime = world.getTotalWorldTime();
+        checkValueState(world.getTotalWorldTime());
+    }
+
+    private void checkValueState(long currentWorldTime) {
         if (currentWorldTime != lastUpdatedWorldTime) {
             if (currentWorldTime == lastUpdatedWorldTime + 1) {
                 // last updated time is 1 tick ago, so we can move current value to last
@@ -55,4 +58,14 @@ public class PerTickLongCounter {
         checkValueState(world);
         this.currentValue = value;
     }
+
+    public long get(long worldTime) {
+        checkValueState(worldTime);
+        return currentValue;
+    }
+
+    public void set(long worldTime, long value) {
+        checkValueState(worldTime);
+        this.currentValue = value;
+    }
 }
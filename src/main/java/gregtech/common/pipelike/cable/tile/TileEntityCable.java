@@ -108,13 +108,27 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
      * @return if the cable should be destroyed
      */
     public boolean incrementAmperage(long amps, long voltage) {
-        if (voltage > maxVoltageCounter.get(getWorld())) {
-            maxVoltageCounter.set(getWorld(), voltage);
+        return incrementAmperage(amps, voltage, voltage);
+    }
+
+    /**
+     * Records several transfers at once. Should only be called internally
+     *
+     * @param amps       the summed amperage of the transfers
+     * @param voltage    the summed voltage of the transfers
+     * @param maxVoltage the highest voltage of the transfers
+     * @return if the cable should be destroyed
+     */
+    public boolean incrementAmperage(long amps, long voltage, long maxVoltage) {
+        // only look up the world time once, instead of in every counter call
+        long worldTime = getWorldTime();
+        if (maxVoltage > maxVoltageCounter.get(worldTime)) {
+            maxVoltageCounter.set(worldTime, maxVoltage);
         }
-        averageVoltageCounter.increment(getWorld(), voltage);
-        averageAmperageCounter.increment(getWorld(), amps);
+        averageVoltageCounter.increment(worldTime, voltage);
+        averageAmperageCounter.increment(worldTime, amps);
 
-        int dif = (int) (averageAmperageCounter.getLast(getWorld()) - getMaxAmperage());
+        int dif = (int) (averageAmperageCounter.getLast(worldTime) - getMaxAmperage());
         if (dif > 0) {
             applyHeat(dif * 40);
             return true;
@@ -232,16 +246,24 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
         }
     }
 
+    // the net defers recording transfers which cannot overload any cable, see EnergyNetHandler
+
     public double getAverageAmperage() {
-        return averageAmperageCounter.getAverage(getWorld());
+        EnergyNet net = getEnergyNet();
+        double deferred = net == null ? 0 : net.getDeferredAverageAmperage(this);
+        return averageAmperageCounter.getAverage(getWorld()) + deferred;
     }
 
     public long getCurrentMaxVoltage() {
-        return maxVoltageCounter.get(getWorld());
+        EnergyNet net = getEnergyNet();
+        long deferred = net == null ? 0 : net.getDeferredMaxVoltage(this);
+        return Math.max(maxVoltageCounter.get(getWorld()), deferred);
     }
 
     public double getAverageVoltage() {
-        return averageVoltageCounter.getAverage(getWorld());
+        EnergyNet net = getEnergyNet();
+        double deferred = net == null ? 0 : net.getDeferredAverageVoltage(this);
+        return averageVoltageCounter.getAverage(getWorld()) + deferred;
     }
 
     public long getMaxAmperage() {
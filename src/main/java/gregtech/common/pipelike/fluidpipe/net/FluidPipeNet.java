@@ -1,17 +1,86 @@
 package gregtech.common.pipelike.fluidpipe.net;
 
+import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
 
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 public class FluidPipeNet extends PipeNet<FluidPipeProperties> {
 
+    // the routes of each pipe holding fluid, by the position of the pipe. Only used when moving fluid through the net
+    private final Long2ObjectMap<List<FluidRoutePath>> NET_DATA = new Long2ObjectOpenHashMap<>();
+
     public FluidPipeNet(WorldPipeNet<FluidPipeProperties, FluidPipeNet> world) {
         super(world);
     }
 
+    /**
+     * @param pipePos the position of the pipe holding the fluid
+     * @return the routes from the pipe to the fluid handlers of the net, ordered by distance. The list must not be
+     *         modified.
+     */
+    public List<FluidRoutePath> getNetData(BlockPos pipePos) {
+        List<FluidRoutePath> data = NET_DATA.get(pipePos.toLong());
+        if (data == null) {
+            data = FluidNetWalker.createNetData(getWorldData(), pipePos);
+            if (data == null) {
+                // walker failed, don't cache so it tries again on next distribution
+                return Collections.emptyList();
+            }
+            data.sort(Comparator.comparingInt(FluidRoutePath::getDistance));
+            NET_DATA.put(pipePos.toLong(), data);
+        }
+        return data;
+    }
+
+    /**
+     * Any pipe can reach a changed block next to the net, so all routes are rebuilt unless no pipe connects to it.
+     */
+    @Override
+    public void onNeighbourUpdate(BlockPos fromPos) {
+        if (NET_DATA.isEmpty()) return;
+        if (containsNode(fromPos)) {
+            NET_DATA.clear();
+            return;
+        }
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            Node<FluidPipeProperties> node = getNodeAt(fromPos.offset(facing));
+            if (node != null && !node.isBlocked(facing.getOpposite())) {
+                NET_DATA.clear();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onPipeConnectionsUpdate() {
+        NET_DATA.clear();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        NET_DATA.clear();
+    }
+
+    @Override
+    protected void transferNodeData(Long2ObjectMap<Node<FluidPipeProperties>> transferredNodes,
+                                    PipeNet<FluidPipeProperties> parentNet) {
+        super.transferNodeData(transferredNodes, parentNet);
+        NET_DATA.clear();
+        ((FluidPipeNet) parentNet).NET_DATA.clear();
+    }
+
     @Override
     protected void writeNodeData(FluidPipeProperties nodeData, NBTTagCompound tagCompound) {
         tagCompound.setInteger("max_temperature", nodeData.getMaxFluidTemperature());
@@ -0,0 +1,92 @@
+package gregtech.common.pipelike.fluidpipe.net;
+
+import gregtech.api.pipenet.IRoutePath;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipe;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeTickable;
+
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FluidRoutePath implements IRoutePath<TileEntityFluidPipe> {
+
+    private static final TileEntityFluidPipeTickable[] NO_PIPES = new TileEntityFluidPipeTickable[0];
+
+    private final TileEntityFluidPipe targetPipe;
+    private final EnumFacing faceToHandler;
+    private final int distance;
+    private final TileEntityFluidPipe[] path;
+    private final int minThroughput;
+    // the pipes of the path which can not contain the last checked fluid
+    private FluidStack checkedFluid;
+    private TileEntityFluidPipeTickable[] weakPipes = NO_PIPES;
+
+    public FluidRoutePath(EnumFacing facing, TileEntityFluidPipe[] path, int distance) {
+        this.targetPipe = path[path.length - 1];
+        this.faceToHandler = facing;
+        this.path = path;
+        this.distance = distance;
+        int minThroughput = Integer.MAX_VALUE;
+        for (TileEntityFluidPipe pipe : path) {
+            minThroughput = Math.min(minThroughput, pipe.getNodeData().getThroughput());
+        }
+        this.minThroughput = minThroughput;
+    }
+
+    @NotNull
+    @Override
+    public TileEntityFluidPipe getTargetPipe() {
+        return targetPipe;
+    }
+
+    @NotNull
+    @Override
+    public EnumFacing getTargetFacing() {
+        return faceToHandler;
+    }
+
+    @Override
+    public int getDistance() {
+        return distance;
+    }
+
+    /**
+     * @return the lowest throughput of all pipes in the path, per tick
+     */
+    public int getMinThroughput() {
+        return minThroughput;
+    }
+
+    public TileEntityFluidPipe[] getPath() {
+        return path;
+    }
+
+    /**
+     * @param fluid the fluid moved along the path
+     * @return the pipes after the first one which can not contain the fluid, and take damage from it passing through
+     */
+    @NotNull
+    public TileEntityFluidPipeTickable[] getWeakPipes(@NotNull FluidStack fluid) {
+        if (checkedFluid == null || !checkedFluid.isFluidEqual(fluid)) {
+            List<TileEntityFluidPipeTickable> pipes = new ArrayList<>();
+            for (int i = 1; i < path.length; i++) {
+                if (path[i] instanceof TileEntityFluidPipeTickable pipe && !pipe.canContain(fluid)) {
+                    pipes.add(pipe);
+                }
+            }
+            weakPipes = pipes.isEmpty() ? NO_PIPES : pipes.toArray(NO_PIPES);
+            checkedFluid = fluid.copy();
+        }
+        return weakPipes;
+    }
+
+    public IFluidHandler getHandler() {
+        return getTargetCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY);
+    }
+}
@@ -12,7 +12,12 @@ import gregtech.api.metatileentity.IDataInfoProvider;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
 import gregtech.api.util.EntityDamageUtil;
 import gregtech.api.util.TextFormattingUtil;
+import gregtech.api.util.profiler.TickCategory;
+import gregtech.api.util.profiler.TickProfiler;
+import gregtech.common.ConfigHolder;
 import gregtech.common.covers.CoverPump;
+import gregtech.common.pipelike.fluidpipe.net.FluidPipeNet;
+import gregtech.common.pipelike.fluidpipe.net.FluidRoutePath;
 import gregtech.common.pipelike.fluidpipe.net.PipeTankList;
 
 import net.minecraft.entity.EntityLivingBase;
@@ -41,17 +46,27 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 
 public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements ITickable, IDataInfoProvider {
 
+    // distribution passes without moving any fluid until the pipe goes to sleep
+    private static final int MAX_IDLE_PASSES = 4;
+    // distribution passes skipped by a sleeping pipe holding fluid, as not every neighbor notifies the pipe when it
+    // can accept fluid again
+    private static final int SLEEP_PASSES = 3;
+
     public byte lastReceivedFrom = 0, oldLastReceivedFrom = 0;
     private PipeTankList pipeTankList;
     private final EnumMap<EnumFacing, PipeTankList> tankLists = new EnumMap<>(EnumFacing.class);
     private FluidTank[] fluidTanks;
     private long timer = 0L;
     private final int offset = GTValues.RNG.nextInt(20);
+    private int idlePasses = 0;
+    private int sleepPasses = 0;
+    private FluidTransaction[] transactions;
 
     public long getOffsetTimer() {
         return timer + offset;
@@ -71,33 +86,95 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
 
     @Override
     public void update() {
+        long tickTime = TickProfiler.isActive(world) ? System.nanoTime() : 0;
         timer++;
         getCoverableImplementation().update();
         if (!world.isRemote && getOffsetTimer() % FREQUENCY == 0) {
-            lastReceivedFrom &= 63;
-            if (lastReceivedFrom == 63) {
-                lastReceivedFrom = 0;
+            if (sleepPasses > 0) {
+                sleepPasses--;
+            } else {
+                distributeTanks();
             }
+        }
+        if (tickTime != 0) {
+            TickProfiler.record(TickCategory.PIPE, getClass(), world, pos, System.nanoTime() - tickTime);
+        }
+    }
 
-            boolean shouldDistribute = (oldLastReceivedFrom == lastReceivedFrom);
-            int tanks = getNodeData().getTanks();
-            for (int i = 0, j = GTValues.RNG.nextInt(tanks); i < tanks; i++) {
-                int index = (i + j) % tanks;
-                FluidTank tank = getFluidTanks()[index];
-                FluidStack fluid = tank.getFluid();
-                if (fluid == null)
-                    continue;
-                if (fluid.amount <= 0) {
-                    tank.setFluid(null);
-                    continue;
-                }
+    private void distributeTanks() {
+        lastReceivedFrom &= 63;
+        if (lastReceivedFrom == 63) {
+            lastReceivedFrom = 0;
+        }
+
+        boolean shouldDistribute = (oldLastReceivedFrom == lastReceivedFrom);
+        boolean holdsFluid = false;
+        boolean moved = !shouldDistribute;
+        int tanks = getNodeData().getTanks();
+        for (int i = 0, j = GTValues.RNG.nextInt(tanks); i < tanks; i++) {
+            int index = (i + j) % tanks;
+            FluidTank tank = getFluidTanks()[index];
+            FluidStack fluid = tank.getFluid();
+            if (fluid == null)
+                continue;
+            if (fluid.amount <= 0) {
+                tank.setFluid(null);
+                continue;
+            }
 
-                if (shouldDistribute) {
-                    distributeFluid(index, tank, fluid);
-                    lastReceivedFrom = 0;
+            holdsFluid = true;
+            if (shouldDistribute) {
+                int distributed = ConfigHolder.machines.fluidPipeNetTransfer ? distributeFluidToRoutes(tank, fluid) :
+                        distributeFluid(index, tank, fluid);
+                if (distributed > 0) {
+                    moved = true;
                 }
+                lastReceivedFrom = 0;
+            }
+        }
+        oldLastReceivedFrom = lastReceivedFrom;
+
+        if (!holdsFluid) {
+            // nothing to do until fluid is inserted, which wakes the pipe
+            sleepPasses = Integer.MAX_VALUE;
+        } else if (moved) {
+            idlePasses = 0;
+        } else if (++idlePasses >= MAX_IDLE_PASSES) {
+            sleepPasses = SLEEP_PASSES;
+        }
+    }
+
+    /**
+     * Make the pipe distribute its fluid on the next distribution pass, after it went to sleep because it was empty
+     * or could not move its fluid anywhere.
+     */
+    public void wakeUp() {
+        idlePasses = 0;
+        sleepPasses = 0;
+    }
+
+    @Override
+    public void onNeighborChanged(@NotNull EnumFacing facing) {
+        super.onNeighborChanged(facing);
+        wakeUp();
+    }
+
+    @Override
+    public void markDirty() {
+        super.markDirty();
+        // connections and covers changed
+        wakeUp();
+    }
+
+    @Override
+    public void notifyBlockUpdate() {
+        super.notifyBlockUpdate();
+        if (ConfigHolder.machines.fluidPipeNetTransfer) {
+            // covers changed, which decide where the routes of the net end
+            FluidPipeNet net = getFluidPipeNet();
+            if (net != null) {
+                net.onPipeConnectionsUpdate();
             }
-            oldLastReceivedFrom = lastReceivedFrom;
         }
     }
 
@@ -106,9 +183,137 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         return true;
     }
 
-    private void distributeFluid(int channel, FluidTank tank, FluidStack fluid) {
+    private void ensureTransactions(int count) {
+        int length = transactions == null ? 0 : transactions.length;
+        if (length >= count) return;
+        transactions = transactions == null ? new FluidTransaction[count] : Arrays.copyOf(transactions, count);
+        for (int i = length; i < count; i++) {
+            transactions[i] = new FluidTransaction();
+        }
+    }
+
+    /**
+     * Get the tank the pipe drains from when moving fluid to a neighbor, as covers on the side can restrict it.
+     *
+     * @return the tank, or null if no fluid may be moved to the neighbor
+     */
+    @Nullable
+    private IFluidHandler getOutputTank(EnumFacing facing, TileEntity neighbor, IFluidHandler tank) {
+        IFluidHandler pipeTank = tank;
+        Cover cover = getCoverableImplementation().getCoverAtSide(facing);
+
+        // pipeTank should only be determined by the cover attached to the actual pipe
+        if (cover != null) {
+            pipeTank = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, pipeTank);
+            // Shutter covers return null capability when active, so check here to prevent NPE
+            if (pipeTank == null || checkForPumpCover(cover)) return null;
+        } else {
+            CoverableView coverable = neighbor.getCapability(GregtechTileCapabilities.CAPABILITY_COVER_HOLDER,
+                    facing.getOpposite());
+            if (coverable != null) {
+                cover = coverable.getCoverAtSide(facing.getOpposite());
+                if (checkForPumpCover(cover)) return null;
+            }
+        }
+        return pipeTank;
+    }
+
+    /**
+     * Moves fluid straight to the fluid handlers at the ends of the routes of the net, instead of to the neighbors.
+     * Each route moves at most the throughput of its slowest pipe, and pipes along it which can not contain the fluid
+     * take damage from it passing through.
+     *
+     * @return the amount of fluid moved out of the tank
+     */
+    private int distributeFluidToRoutes(FluidTank tank, FluidStack fluid) {
+        FluidPipeNet net = getFluidPipeNet();
+        if (net == null) return 0;
+        List<FluidRoutePath> routes = net.getNetData(getPipePos());
+        if (routes.isEmpty()) return 0;
+        ensureTransactions(routes.size());
+        int transactionCount = 0;
+        int amount = fluid.amount;
+
+        FluidStack maxFluid = fluid.copy();
+        double availableCapacity = 0;
+
+        for (FluidRoutePath route : routes) {
+            EnumFacing facing = route.getTargetFacing();
+            if (!(route.getTargetPipe() instanceof TileEntityFluidPipeTickable targetPipe) ||
+                    targetPipe.isInvalid() ||
+                    (targetPipe == this && (lastReceivedFrom & (1 << facing.getIndex())) != 0)) {
+                continue;
+            }
+
+            TileEntity neighbor = route.getTargetTileEntity();
+            if (neighbor == null) continue;
+            IFluidHandler fluidHandler = neighbor.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY,
+                    facing.getOpposite());
+            if (fluidHandler == null) continue;
+
+            // the fluid leaves the net through the cover of the last pipe
+            IFluidHandler pipeTank = targetPipe.getOutputTank(facing, neighbor, tank);
+            if (pipeTank == null) continue;
+
+            FluidStack drainable = pipeTank.drain(maxFluid, false);
+            if (drainable == null || drainable.amount <= 0) {
+                continue;
+            }
+
+            int filled = Math.min(fluidHandler.fill(maxFluid, false), drainable.amount);
+            filled = Math.min(filled, route.getMinThroughput() * FREQUENCY);
+
+            if (filled > 0) {
+                FluidTransaction transaction = transactions[transactionCount++];
+                transaction.set(fluidHandler, pipeTank, filled);
+                transaction.route = route;
+                availableCapacity += filled;
+            }
+            maxFluid.amount = amount; // Because some mods do actually modify input fluid stack
+        }
+
+        int moved = 0;
+        for (int i = 0; i < transactionCount; i++) {
+            FluidTransaction transaction = transactions[i];
+            if (availableCapacity > amount) {
+                // share the fluid based on the space available at each destination
+                transaction.amount = (int) Math.floor(transaction.amount * (double) amount / availableCapacity);
+            }
+            if (transaction.amount == 0) {
+                if (tank.getFluidAmount() <= 0) break;
+                transaction.amount = 1;
+            }
+
+            maxFluid.amount = transaction.amount;
+            for (TileEntityFluidPipeTickable weakPipe : transaction.route.getWeakPipes(fluid)) {
+                if (maxFluid.amount <= 0) break;
+                // voids part of the fluid
+                weakPipe.checkAndDestroy(maxFluid);
+            }
+            int voided = transaction.amount - maxFluid.amount;
+            // a new stack for every insert, since the target may keep the given stack
+            int inserted = maxFluid.amount > 0 ?
+                    transaction.target.fill(new FluidStack(fluid, maxFluid.amount), true) : 0;
+            if (inserted + voided > 0) {
+                transaction.pipeTank.drain(inserted + voided, true);
+                moved += inserted + voided;
+            }
+        }
+        for (int i = 0; i < transactionCount; i++) {
+            // don't keep the neighbors loaded
+            transactions[i].set(null, null, 0);
+            transactions[i].route = null;
+        }
+        return moved;
+    }
+
+    /**
+     * @return the amount of fluid moved out of the tank
+     */
+    private int distributeFluid(int channel, FluidTank tank, FluidStack fluid) {
+        ensureTransactions(EnumFacing.VALUES.length);
         // Tank, From, Amount to receive
-        List<FluidTransaction> tanks = new ArrayList<>();
+        int transactionCount = 0;
         int amount = fluid.amount;
 
         FluidStack maxFluid = fluid.copy();
@@ -129,22 +334,8 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
                     facing.getOpposite());
             if (fluidHandler == null) continue;
 
-            IFluidHandler pipeTank = tank;
-            Cover cover = getCoverableImplementation().getCoverAtSide(facing);
-
-            // pipeTank should only be determined by the cover attached to the actual pipe
-            if (cover != null) {
-                pipeTank = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, pipeTank);
-                // Shutter covers return null capability when active, so check here to prevent NPE
-                if (pipeTank == null || checkForPumpCover(cover)) continue;
-            } else {
-                CoverableView coverable = neighbor.getCapability(GregtechTileCapabilities.CAPABILITY_COVER_HOLDER,
-                        facing.getOpposite());
-                if (coverable != null) {
-                    cover = coverable.getCoverAtSide(facing.getOpposite());
-                    if (checkForPumpCover(cover)) continue;
-                }
-            }
+            IFluidHandler pipeTank = getOutputTank(facing, neighbor, tank);
+            if (pipeTank == null) continue;
 
             FluidStack drainable = pipeTank.drain(maxFluid, false);
             if (drainable == null || drainable.amount <= 0) {
@@ -154,20 +345,22 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
             int filled = Math.min(fluidHandler.fill(maxFluid, false), drainable.amount);
 
             if (filled > 0) {
-                tanks.add(new FluidTransaction(fluidHandler, pipeTank, filled));
+                transactions[transactionCount++].set(fluidHandler, pipeTank, filled);
                 availableCapacity += filled;
             }
             maxFluid.amount = amount; // Because some mods do actually modify input fluid stack
         }
 
         if (availableCapacity <= 0)
-            return;
+            return 0;
 
         // How much of this fluid is available for distribution?
         final double maxAmount = Math.min(getCapacityPerTank() / 2, fluid.amount);
 
         // Now distribute
-        for (FluidTransaction transaction : tanks) {
+        int moved = 0;
+        for (int i = 0; i < transactionCount; i++) {
+            FluidTransaction transaction = transactions[i];
             if (availableCapacity > maxAmount) {
                 transaction.amount = (int) Math.floor(transaction.amount * maxAmount / availableCapacity); // Distribute
                                                                                                            // fluids
@@ -185,14 +378,18 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
                 continue;
             }
 
-            FluidStack toInsert = fluid.copy();
-            toInsert.amount = transaction.amount;
-
-            int inserted = transaction.target.fill(toInsert, true);
+            // a new stack for every insert, since the target may keep the given stack
+            int inserted = transaction.target.fill(new FluidStack(fluid, transaction.amount), true);
             if (inserted > 0) {
                 transaction.pipeTank.drain(inserted, true);
+                moved += inserted;
             }
         }
+        for (int i = 0; i < transactionCount; i++) {
+            // don't keep the neighbors loaded
+            transactions[i].set(null, null, 0);
+        }
+        return moved;
     }
 
     private boolean checkForPumpCover(@Nullable Cover cover) {
@@ -206,7 +403,19 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         return false;
     }
 
+    /**
+     * @param stack the fluid
+     * @return if the pipe can carry the fluid without taking damage
+     */
+    public boolean canContain(@NotNull FluidStack stack) {
+        return checkFluid(stack, false);
+    }
+
     public void checkAndDestroy(@NotNull FluidStack stack) {
+        checkFluid(stack, true);
+    }
+
+    private boolean checkFluid(@NotNull FluidStack stack, boolean destroy) {
         Fluid fluid = stack.getFluid();
         FluidPipeProperties prop = getNodeData();
 
@@ -237,8 +446,12 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         }
 
         if (burning || leaking || corroding || shattering || melting) {
-            destroyPipe(stack, burning, leaking, corroding, shattering, melting);
+            if (destroy) {
+                destroyPipe(stack, burning, leaking, corroding, shattering, melting);
+            }
+            return false;
         }
+        return true;
     }
 
     public void destroyPipe(FluidStack stack, boolean isBurning, boolean isLeaking, boolean isCorroding,
@@ -360,6 +573,7 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         if (facing != null) {
             lastReceivedFrom |= (1 << facing.getIndex());
         }
+        wakeUp();
     }
 
     public FluidStack getContainedFluid(int channel) {
@@ -470,11 +684,13 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
 
     private static class FluidTransaction {
 
-        public final IFluidHandler target;
-        public final IFluidHandler pipeTank;
+        public IFluidHandler target;
+        public IFluidHandler pipeTank;
         public int amount;
+        // only set when moving fluid through the net
+        public FluidRoutePath route;
 
-        private FluidTransaction(IFluidHandler target, IFluidHandler pipeTank, int amount) {
+        private void set(IFluidHandler target, IFluidHandler pipeTank, int amount) {
             this.target = target;
             this.pipeTank = pipeTank;
             this.amount = amount;
@@ -27,9 +27,11 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Predicate;
 
 public class ItemNetHandler implements IItemHandler {
 
@@ -39,6 +41,10 @@ public class ItemNetHandler implements IItemHandler {
     private final Object2IntMap<FacingPos> simulatedTransfersGlobalRoundRobin = new Object2IntOpenHashMap<>();
     private int simulatedTransfers = 0;
     private final ItemStackHandler testHandler = new ItemStackHandler(1);
+    // the route to start the next round robin insertion at
+    private int roundRobinCursor = 0;
+    // the routes which did not accept all items offered during the current round robin insertion
+    private final BitSet fullRoutes = new BitSet();
 
     public ItemNetHandler(ItemPipeNet net, TileEntityItemPipe pipe, EnumFacing facing) {
         this.net = net;
@@ -112,6 +118,93 @@ public class ItemNetHandler implements IItemHandler {
         return true;
     }
 
+    /**
+     * Moves items from an inventory into the net, like inserting every stack of the inventory after another. When the
+     * items go to the first route accepting them, the routes and their covers and inventories are only looked up once
+     * for all stacks, and every stack is inserted directly instead of simulating its insertion first.
+     *
+     * @param source    the inventory to move the items out of
+     * @param filter    the stacks which may be moved
+     * @param maxAmount the maximum amount of items to move
+     * @return the amount of moved items
+     */
+    public int insertFrom(@NotNull IItemHandler source, @NotNull Predicate<ItemStack> filter, int maxAmount) {
+        if (maxAmount <= 0 || net == null || pipe == null || pipe.isInvalid() || pipe.isFaceBlocked(facing)) {
+            return 0;
+        }
+
+        Cover pipeCover = this.pipe.getCoverableImplementation().getCoverAtSide(facing);
+        Cover tileCover = getCoverOnNeighbour(this.pipe, facing);
+        boolean pipeConveyor = pipeCover instanceof CoverConveyor, tileConveyor = tileCover instanceof CoverConveyor;
+        if (pipeConveyor && tileConveyor) return 0;
+        if (pipeConveyor || tileConveyor) {
+            CoverConveyor conveyor = (CoverConveyor) (pipeConveyor ? pipeCover : tileCover);
+            if (conveyor.getConveyorMode() ==
+                    (pipeConveyor ? CoverConveyor.ConveyorMode.IMPORT : CoverConveyor.ConveyorMode.EXPORT) &&
+                    conveyor.getDistributionMode() != DistributionMode.INSERT_FIRST) {
+                // round robin depends on everything inserted before, so insert one stack at a time
+                return insertEachFrom(source, filter, maxAmount);
+            }
+        }
+
+        List<ItemRoutePath> routePaths = net.getNetData(pipe.getPipePos(), facing);
+        if (routePaths.isEmpty()) return 0;
+        IItemHandler[] handlers = new IItemHandler[routePaths.size()];
+        for (int i = 0; i < handlers.length; i++) {
+            ItemRoutePath routePath = routePaths.get(i);
+            if (routePath.getTargetPipe().getCoverableImplementation()
+                    .getCoverAtSide(routePath.getTargetFacing()) != null ||
+                    getCoverOnNeighbour(routePath.getTargetPipe(),
+                            routePath.getTargetFacing()) instanceof CoverRoboticArm) {
+                // covers at the destination limit the insertion themselves, see insert(ItemRoutePath, ...)
+                return insertEachFrom(source, filter, maxAmount);
+            }
+            handlers[i] = routePath.getHandler();
+        }
+
+        int itemsLeftToTransfer = maxAmount;
+        for (int slot = 0; slot < source.getSlots() && itemsLeftToTransfer > 0; slot++) {
+            ItemStack stack = source.extractItem(slot, itemsLeftToTransfer, true);
+            if (stack.isEmpty() || !filter.test(stack) || !checkImportCover(tileCover, false, stack)) continue;
+
+            for (int i = 0; i < handlers.length && !stack.isEmpty(); i++) {
+                ItemRoutePath routePath = routePaths.get(i);
+                if (handlers[i] == null || !routePath.matchesFilters(stack)) continue;
+                int allowed = checkTransferable(routePath.getProperties().getTransferRate(), stack.getCount(), false);
+                if (allowed == 0) continue;
+
+                ItemStack toInsert = stack.copy();
+                toInsert.setCount(allowed);
+                int amount = allowed - GTTransferUtils.insertItem(handlers[i], toInsert, true).getCount();
+                if (amount <= 0) continue;
+                ItemStack extracted = source.extractItem(slot, amount, false);
+                if (extracted.isEmpty()) break;
+                GTTransferUtils.insertItem(handlers[i], extracted, false);
+                transfer(false, extracted.getCount());
+                itemsLeftToTransfer -= extracted.getCount();
+                stack.shrink(extracted.getCount());
+            }
+        }
+        return maxAmount - itemsLeftToTransfer;
+    }
+
+    private int insertEachFrom(IItemHandler source, Predicate<ItemStack> filter, int maxAmount) {
+        int itemsLeftToTransfer = maxAmount;
+        for (int slot = 0; slot < source.getSlots(); slot++) {
+            ItemStack stack = source.extractItem(slot, itemsLeftToTransfer, true);
+            if (stack.isEmpty() || !filter.test(stack)) continue;
+
+            int amount = stack.getCount() - insertItem(0, stack, true).getCount();
+            if (amount <= 0) continue;
+            stack = source.extractItem(slot, amount, false);
+            if (stack.isEmpty()) continue;
+            insertItem(0, stack, false);
+            itemsLeftToTransfer -= stack.getCount();
+            if (itemsLeftToTransfer == 0) break;
+        }
+        return maxAmount - itemsLeftToTransfer;
+    }
+
     public ItemStack insertFirst(ItemStack stack, boolean simulate) {
         for (ItemRoutePath inv : net.getNetData(pipe.getPipePos(), facing)) {
             stack = insert(inv, stack, simulate);
@@ -127,43 +220,57 @@ public class ItemNetHandler implements IItemHandler {
             return stack;
         if (routePaths.size() == 1)
             return insert(routePaths.get(0), stack, simulate);
-        List<ItemRoutePath> routePathsCopy = new ArrayList<>(routePaths);
 
         if (global) {
-            stack = insertToHandlersEnhanced(routePathsCopy, stack, routePaths.size(), simulate);
-        } else {
-            stack = insertToHandlers(routePathsCopy, stack, simulate);
-            if (!stack.isEmpty() && !routePathsCopy.isEmpty())
-                stack = insertToHandlers(routePathsCopy, stack, simulate);
+            return insertToHandlersEnhanced(routePaths, stack, routePaths.size(), simulate);
         }
 
-        return stack;
+        // start at the next route each time, so the items which can not be split equally go to every route in turn
+        int start = roundRobinCursor % routePaths.size();
+        if (!simulate) {
+            roundRobinCursor = start + 1;
+        }
+        fullRoutes.clear();
+        int count = stack.getCount();
+        int inserted = insertToHandlers(routePaths, start, stack, count, simulate);
+        if (inserted < count && fullRoutes.cardinality() < routePaths.size()) {
+            inserted += insertToHandlers(routePaths, start, stack, count - inserted, simulate);
+        }
+
+        ItemStack remainder = stack.copy();
+        remainder.setCount(count - inserted);
+        return remainder;
     }
 
     /**
      * Inserts items equally to all handlers
-     * if it couldn't insert all items, the handler will be removed
+     * if it couldn't insert all items, the handler will be skipped from then on
      *
-     * @param copy     to insert to
-     * @param stack    to insert
-     * @param simulate simulate
-     * @return remainder
+     * @param routePaths to insert to
+     * @param start      index of the route to start at
+     * @param stack      to insert
+     * @param count      amount of the stack to insert
+     * @param simulate   simulate
+     * @return amount of inserted items
      */
-    private ItemStack insertToHandlers(List<ItemRoutePath> copy, ItemStack stack, boolean simulate) {
-        Iterator<ItemRoutePath> routePathIterator = copy.listIterator();
+    private int insertToHandlers(List<ItemRoutePath> routePaths, int start, ItemStack stack, int count,
+                                 boolean simulate) {
+        int size = routePaths.size();
+        int handlers = size - fullRoutes.cardinality();
         int inserted = 0;
-        int count = stack.getCount();
-        int c = count / copy.size();
-        int m = c == 0 ? count % copy.size() : 0;
-        while (routePathIterator.hasNext()) {
-            ItemRoutePath routePath = routePathIterator.next();
+        int c = count / handlers;
+        int m = c == 0 ? count % handlers : 0;
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (fullRoutes.get(index)) continue;
+            ItemRoutePath routePath = routePaths.get(index);
 
             int amount = c;
             if (m > 0) {
                 amount++;
                 m--;
             }
-            amount = Math.min(amount, stack.getCount() - inserted);
+            amount = Math.min(amount, count - inserted);
             if (amount == 0) break;
             ItemStack toInsert = stack.copy();
             toInsert.setCount(amount);
@@ -176,22 +283,20 @@ public class ItemNetHandler implements IItemHandler {
             }
 
             if (r > 0)
-                routePathIterator.remove();
+                fullRoutes.set(index);
         }
-
-        ItemStack remainder = stack.copy();
-        remainder.setCount(count - inserted);
-        return remainder;
+        return inserted;
     }
 
-    private ItemStack insertToHandlersEnhanced(List<ItemRoutePath> copy, ItemStack stack, int dest, boolean simulate) {
+    private ItemStack insertToHandlersEnhanced(List<ItemRoutePath> routePaths, ItemStack stack, int dest,
+                                              boolean simulate) {
         List<EnhancedRoundRobinData> transferred = new ArrayList<>();
         IntList steps = new IntArrayList();
         int min = Integer.MAX_VALUE;
         ItemStack simStack;
 
         // find inventories that are not full and get the amount that was inserted in total
-        for (ItemRoutePath inv : copy) {
+        for (ItemRoutePath inv : routePaths) {
             simStack = stack.copy();
             int ins = stack.getCount() - insert(inv, simStack, true, true).getCount();
             if (ins <= 0)
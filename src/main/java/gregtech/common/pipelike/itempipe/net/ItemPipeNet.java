@@ -4,27 +4,44 @@ import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.ItemPipeProperties;
+import gregtech.api.util.FacingPos;
+import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
 
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.items.CapabilityItemHandler;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
 
-    private final Map<BlockPos, List<ItemRoutePath>> NET_DATA = new HashMap<>();
+    // the routes of each source, by the position of the source pipe and the side of the source handler
+    private final Long2ObjectMap<SourceRoutes> NET_DATA = new Long2ObjectOpenHashMap<>();
 
     public ItemPipeNet(WorldPipeNet<ItemPipeProperties, ? extends PipeNet<ItemPipeProperties>> world) {
         super(world);
     }
 
-    public List<ItemRoutePath> getNetData(BlockPos pipePos, EnumFacing facing) {
-        List<ItemRoutePath> data = NET_DATA.get(pipePos);
+    /**
+     * @param pipePos the position of the source pipe
+     * @param facing  the side of the source pipe the items are inserted from, or null if unknown
+     * @return the routes from the source, ordered by priority. The list must not be modified, and is replaced
+     *         instead of modified when the routes change.
+     */
+    public List<ItemRoutePath> getNetData(BlockPos pipePos, @Nullable EnumFacing facing) {
+        SourceRoutes sourceRoutes = NET_DATA.get(pipePos.toLong());
+        List<ItemRoutePath> data = sourceRoutes == null ? null : sourceRoutes.get(facing);
         if (data == null) {
             data = ItemNetWalker.createNetData(getWorldData(), pipePos, facing);
             if (data == null) {
@@ -32,16 +49,102 @@ public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
                 return Collections.emptyList();
             }
             data.sort(Comparator.comparingInt(inv -> inv.getProperties().getPriority()));
-            NET_DATA.put(pipePos, data);
+            if (sourceRoutes == null) {
+                sourceRoutes = new SourceRoutes();
+                NET_DATA.put(pipePos.toLong(), sourceRoutes);
+            }
+            sourceRoutes.set(facing, data);
         }
         return data;
     }
 
+    /**
+     * Only the routes ending at the changed block can change, unless the block is a pipe. Routes to a side which no
+     * longer has an item handler are dropped, and sources missing a route to a side which now has one walk again on
+     * their next insertion.
+     */
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
-        NET_DATA.clear();
+        World world = getWorldData();
+        if (NET_DATA.isEmpty() || world == null) return;
+
+        TileEntity tile = world.getTileEntity(fromPos);
+        if (containsNode(fromPos) || tile instanceof TileEntityItemPipe) {
+            // pipes are walked through instead of inserted into, so any route may have changed
+            NET_DATA.clear();
+            return;
+        }
+
+        // the pipe sides next to the changed block which should have a route to it
+        List<FacingPos> targets = new ObjectArrayList<>(1);
+        if (tile != null) {
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                BlockPos pipePos = fromPos.offset(facing);
+                if (!containsNode(pipePos) || !world.isBlockLoaded(pipePos)) continue;
+                if (world.getTileEntity(pipePos) instanceof TileEntityItemPipe pipe &&
+                        pipe.isConnected(facing.getOpposite()) &&
+                        tile.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, facing) != null) {
+                    targets.add(new FacingPos(pipePos, facing.getOpposite()));
+                }
+            }
+        }
+
+        for (Iterator<Long2ObjectMap.Entry<SourceRoutes>> iterator = NET_DATA.long2ObjectEntrySet()
+                .iterator(); iterator.hasNext();) {
+            Long2ObjectMap.Entry<SourceRoutes> entry = iterator.next();
+            BlockPos sourcePos = BlockPos.fromLong(entry.getLongKey());
+            SourceRoutes sourceRoutes = entry.getValue();
+            for (int i = 0; i < SourceRoutes.SIDES; i++) {
+                List<ItemRoutePath> routes = sourceRoutes.routes[i];
+                if (routes == null) continue;
+                EnumFacing sourceFacing = i < EnumFacing.VALUES.length ? EnumFacing.VALUES[i] : null;
+
+                int matching = 0;
+                boolean removed = false;
+                for (ItemRoutePath route : routes) {
+                    if (!isRouteTo(route, fromPos)) continue;
+                    if (targets.contains(route.toFacingPos())) {
+                        matching++;
+                    } else {
+                        removed = true;
+                    }
+                }
+                int expected = targets.size();
+                // the walker never routes back into the source handler
+                if (sourceFacing != null && targets.contains(new FacingPos(sourcePos, sourceFacing))) {
+                    expected--;
+                }
+
+                if (matching < expected) {
+                    sourceRoutes.routes[i] = null;
+                } else if (removed) {
+                    // route lists are replaced instead of modified, as they may be iterated while items are inserted
+                    List<ItemRoutePath> kept = new ObjectArrayList<>(routes.size());
+                    for (ItemRoutePath route : routes) {
+                        if (!isRouteTo(route, fromPos)) {
+                            kept.add(route);
+                        }
+                    }
+                    sourceRoutes.routes[i] = kept;
+                }
+            }
+            if (sourceRoutes.isEmpty()) {
+                iterator.remove();
+            }
+        }
     }
 
+    private static boolean isRouteTo(ItemRoutePath route, BlockPos pos) {
+        BlockPos pipePos = route.getTargetPipePos();
+        EnumFacing facing = route.getTargetFacing();
+        return pipePos.getX() + facing.getXOffset() == pos.getX() &&
+                pipePos.getY() + facing.getYOffset() == pos.getY() &&
+                pipePos.getZ() + facing.getZOffset() == pos.getZ();
+    }
+
+    /**
+     * Every source walks the whole net, so a connection change can change the routes of any source.
+     */
     @Override
     public void onPipeConnectionsUpdate() {
         NET_DATA.clear();
@@ -53,7 +156,7 @@ public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
     }
 
     @Override
-    protected void transferNodeData(Map<BlockPos, Node<ItemPipeProperties>> transferredNodes,
+    protected void transferNodeData(Long2ObjectMap<Node<ItemPipeProperties>> transferredNodes,
                                     PipeNet<ItemPipeProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
         NET_DATA.clear();
@@ -70,4 +173,31 @@ public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
     protected ItemPipeProperties readNodeData(NBTTagCompound tagCompound) {
         return new ItemPipeProperties(tagCompound.getInteger("Range"), tagCompound.getFloat("Rate"));
     }
+
+    /**
+     * The routes of the sides of a source pipe, and of the pipe itself when the side is unknown.
+     */
+    private static final class SourceRoutes {
+
+        private static final int SIDES = EnumFacing.VALUES.length + 1;
+
+        @SuppressWarnings("unchecked")
+        private final List<ItemRoutePath>[] routes = new List[SIDES];
+
+        @Nullable
+        private List<ItemRoutePath> get(@Nullable EnumFacing facing) {
+            return routes[facing == null ? EnumFacing.VALUES.length : facing.getIndex()];
+        }
+
+        private void set(@Nullable EnumFacing facing, List<ItemRoutePath> data) {
+            routes[facing == null ? EnumFacing.VALUES.length : facing.getIndex()] = data;
+        }
+
+        private boolean isEmpty() {
+            for (List<ItemRoutePath> data : routes) {
+                if (data != null) return false;
+            }
+            return true;
+        }
+    }
 }
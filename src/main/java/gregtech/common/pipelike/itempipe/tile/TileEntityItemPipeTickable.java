@@ -1,12 +1,21 @@
 package gregtech.common.pipelike.itempipe.tile;
 
+import gregtech.api.util.profiler.TickCategory;
+import gregtech.api.util.profiler.TickProfiler;
+
 import net.minecraft.util.ITickable;
 
 public class TileEntityItemPipeTickable extends TileEntityItemPipe implements ITickable {
 
     @Override
     public void update() {
-        getCoverableImplementation().update();
+        if (TickProfiler.isActive(world)) {
+            long tickTime = System.nanoTime();
+            getCoverableImplementation().update();
+            TickProfiler.record(TickCategory.PIPE, getClass(), world, pos, System.nanoTime() - tickTime);
+        } else {
+            getCoverableImplementation().update();
+        }
     }
 
     @Override
@@ -6,6 +6,7 @@ import gregtech.common.pipelike.laser.tile.TileEntityLaserPipe;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -26,7 +27,8 @@ public class LaserNetHandler implements ILaserContainer {
     }
 
     private void setPipesActive() {
-        for (BlockPos pos : net.getAllNodes().keySet()) {
+        for (LongIterator iterator = net.getNodes().keySet().iterator(); iterator.hasNext();) {
+            BlockPos pos = BlockPos.fromLong(iterator.nextLong());
             if (pipe.getWorld().getTileEntity(pos) instanceof TileEntityLaserPipe laserPipe) {
                 laserPipe.setActive(true, 100);
             }
@@ -9,6 +9,7 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.Nullable;
 
@@ -52,7 +53,7 @@ public class LaserPipeNet extends PipeNet<LaserPipeProperties> {
     }
 
     @Override
-    protected void transferNodeData(Map<BlockPos, Node<LaserPipeProperties>> transferredNodes,
+    protected void transferNodeData(Long2ObjectMap<Node<LaserPipeProperties>> transferredNodes,
                                     PipeNet<LaserPipeProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
         netData.clear();
@@ -354,7 +354,7 @@ public class MultiblockInfoRecipeWrapper implements IRecipeWrapper {
             if (predicates != null) {
                 BlockWorldState worldState = new BlockWorldState();
                 worldState.update(renderer.world, rayTraceResult.getBlockPos(), new PatternMatchContext(),
-                        new HashMap<>(), new HashMap<>(), predicates);
+                        predicates);
                 for (TraceabilityPredicate.SimplePredicate common : predicates.common) {
                     if (common.test(worldState)) {
                         predicateTips = common.getToolTips(predicates);
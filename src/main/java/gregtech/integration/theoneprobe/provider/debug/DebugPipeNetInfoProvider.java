@@ -52,7 +52,7 @@ public class DebugPipeNetInfoProvider implements IProbeInfoProvider {
                     probeInfo.text("Net: " + pipeNet.hashCode());
                     probeInfo.text("Node Info: ");
                     StringBuilder builder = new StringBuilder();
-                    Node<?> node = pipeNet.getAllNodes().get(data.getPos());
+                    Node<?> node = pipeNet.getNodeAt(data.getPos());
                     builder.append("{")
                             .append("active: ").append(node.isActive)
                             .append(", mark: ").append(node.mark)
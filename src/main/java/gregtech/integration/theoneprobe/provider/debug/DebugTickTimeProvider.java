@@ -2,6 +2,7 @@ package gregtech.integration.theoneprobe.provider.debug;
 
 import gregtech.api.metatileentity.MetaTileEntityHolder;
 import gregtech.api.util.TextFormattingUtil;
+import gregtech.api.util.profiler.TickHistogram;
 import gregtech.common.ConfigHolder;
 
 import net.minecraft.block.state.IBlockState;
@@ -27,16 +28,14 @@ public class DebugTickTimeProvider implements IProbeInfoProvider {
         if (ConfigHolder.misc.debug) {
             TileEntity tile = world.getTileEntity(data.getPos());
             if (tile instanceof MetaTileEntityHolder holder) {
-                double[] timeStatistics = holder.getTimeStatistics();
-                if (timeStatistics != null) {
-                    double averageTickTime = timeStatistics[0];
-                    double worstTickTime = timeStatistics[1];
-
+                TickHistogram histogram = holder.getTickHistogram();
+                if (histogram != null && histogram.getCount() > 0) {
                     // this is for dev environment debug, so don't worry about translating
-                    probeInfo.text("Average: " +
-                            TextFormattingUtil.formatNumbers(averageTickTime / MetaTileEntityHolder.TRACKED_TICKS) +
-                            "ns");
-                    probeInfo.text("Worst: " + TextFormattingUtil.formatNumbers(worstTickTime) + "ns");
+                    probeInfo.text("Average: " + TextFormattingUtil.formatNumbers(histogram.getMean()) + "ns");
+                    probeInfo.text("p50: " + TextFormattingUtil.formatNumbers(histogram.getPercentile(0.5)) +
+                            "ns, p90: " + TextFormattingUtil.formatNumbers(histogram.getPercentile(0.9)) +
+                            "ns, p99: " + TextFormattingUtil.formatNumbers(histogram.getPercentile(0.99)) + "ns");
+                    probeInfo.text("Worst: " + TextFormattingUtil.formatNumbers(histogram.getMax()) + "ns");
                 }
             }
         }
@@ -0,0 +1,66 @@
+package gregtech.api.network;
+
+import net.minecraft.network.PacketBuffer;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PacketDataBufferTest {
+
+    @Test
+    public void testRoundTrip() {
+        PacketDataBuffer buffer = new PacketDataBuffer();
+        buffer.add(1, buf -> buf.writeBoolean(true));
+        buffer.add(300, buf -> buf.writeString("gregtech"));
+        buffer.add(1, buf -> {});
+        assertThat(buffer.size(), is(3));
+
+        IntArrayList discriminators = new IntArrayList();
+        List<String> values = new ObjectArrayList<>();
+        PacketDataBuffer.read(buffer.dump(), (discriminator, data) -> {
+            discriminators.add(discriminator);
+            PacketBuffer buf = new PacketBuffer(data);
+            if (discriminator == 300) {
+                values.add(buf.readString(32));
+            } else if (buf.isReadable()) {
+                values.add(String.valueOf(buf.readBoolean()));
+            } else {
+                values.add("");
+            }
+            assertThat(data.readableBytes(), is(0));
+        });
+
+        assertThat(discriminators, is(IntArrayList.wrap(new int[] { 1, 300, 1 })));
+        assertThat(values, is(ObjectArrayList.wrap(new String[] { "true", "gregtech", "" })));
+        assertThat(buffer.isEmpty(), is(true));
+        assertThat(buffer.dump().length, is(0));
+    }
+
+    @Test
+    public void testNestedAndMerged() {
+        PacketDataBuffer first = new PacketDataBuffer();
+        PacketDataBuffer second = new PacketDataBuffer();
+        first.add(2, buf -> {
+            buf.writeInt(7);
+            second.add(3, inner -> inner.writeInt(8));
+            buf.writeInt(9);
+        });
+        first.addAll(second);
+        assertThat(first.size(), is(2));
+
+        IntArrayList ints = new IntArrayList();
+        PacketDataBuffer.read(first.dump(), (discriminator, data) -> {
+            ints.add(discriminator);
+            while (data.isReadable()) {
+                ints.add(data.readInt());
+            }
+        });
+        assertThat(ints, is(IntArrayList.wrap(new int[] { 2, 7, 9, 3, 8 })));
+    }
+}
@@ -0,0 +1,122 @@
+package gregtech.api.pipenet;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PipeNetSnapshotTest {
+
+    private static final BlockPos A = new BlockPos(0, 0, 0);
+    private static final BlockPos B = new BlockPos(1, 0, 0);
+    private static final BlockPos C = new BlockPos(2, 0, 0);
+    private static final BlockPos D = new BlockPos(1, 0, 1);
+
+    @Test
+    public void testWalk() {
+        TestPipeNet net = new TestPipeNet();
+        net.addNodeSilently(A, node(1, EnumFacing.WEST, EnumFacing.EAST));
+        net.addNodeSilently(B, node(1, EnumFacing.WEST, EnumFacing.EAST, EnumFacing.SOUTH));
+        net.addNodeSilently(C, node(1, EnumFacing.WEST, EnumFacing.UP));
+        // incompatible mark, so it can not be walked to and is no endpoint either
+        net.addNodeSilently(D, node(2, EnumFacing.NORTH));
+
+        PipeNetSnapshot.Walk<Integer> walk = net.getSnapshot().walk(A.toLong());
+        assertThat(walk, notNullValue());
+        assertThat(walk.getReachedCount(), is(3));
+        assertThat(walk.isReached(D.toLong()), is(false));
+
+        assertThat(walk.getEndpointCount(), is(2));
+        assertThat(walk.getEndpointNode(0), is(A.toLong()));
+        assertThat(walk.getEndpointFacing(0), is(EnumFacing.WEST));
+        assertThat(walk.getEndpointNode(1), is(C.toLong()));
+        assertThat(walk.getEndpointFacing(1), is(EnumFacing.UP));
+
+        assertThat(walk.getPath(C.toLong()), is(new long[] { A.toLong(), B.toLong(), C.toLong() }));
+        assertThat(walk.getPath(A.toLong()), is(new long[] { A.toLong() }));
+    }
+
+    @Test
+    public void testAsyncWalkMatchesSyncWalk() {
+        TestPipeNet net = new TestPipeNet();
+        net.addNodeSilently(A, node(1, EnumFacing.WEST, EnumFacing.EAST));
+        net.addNodeSilently(B, node(1, EnumFacing.WEST, EnumFacing.EAST, EnumFacing.SOUTH));
+        net.addNodeSilently(C, node(1, EnumFacing.WEST, EnumFacing.UP));
+        net.addNodeSilently(D, node(1, EnumFacing.NORTH, EnumFacing.DOWN));
+        PipeNetSnapshot<Integer> snapshot = net.getSnapshot();
+
+        PipeNetSnapshot.Walk<Integer> sync = snapshot.walk(A.toLong());
+        assertWalksEqual(AsyncPipeNetWalker.getResult(AsyncPipeNetWalker.submit(snapshot, A)), sync);
+
+        // the worker threads are started again after a shutdown
+        AsyncPipeNetWalker.shutdown();
+        assertWalksEqual(AsyncPipeNetWalker.getResult(AsyncPipeNetWalker.submit(snapshot, A)), sync);
+        AsyncPipeNetWalker.shutdown();
+    }
+
+    @Test
+    public void testSnapshotInvalidation() {
+        TestPipeNet net = new TestPipeNet();
+        net.addNodeSilently(A, node(0, EnumFacing.EAST));
+        PipeNetSnapshot<Integer> snapshot = net.getSnapshot();
+        assertThat(net.getSnapshot() == snapshot, is(true));
+        assertThat(net.isSnapshotCurrent(snapshot), is(true));
+
+        net.addNodeSilently(B, node(0, EnumFacing.WEST));
+        assertThat(net.isSnapshotCurrent(snapshot), is(false));
+        assertThat(snapshot.size(), is(1));
+        assertThat(net.getSnapshot().size(), is(2));
+    }
+
+    private static void assertWalksEqual(PipeNetSnapshot.Walk<Integer> actual, PipeNetSnapshot.Walk<Integer> expected) {
+        assertThat(actual, notNullValue());
+        assertThat(actual.getSnapshot() == expected.getSnapshot(), is(true));
+        assertThat(actual.getReachedCount(), is(expected.getReachedCount()));
+        assertThat(actual.getEndpointCount(), is(expected.getEndpointCount()));
+        for (int i = 0; i < expected.getEndpointCount(); i++) {
+            assertThat(actual.getEndpointNode(i), is(expected.getEndpointNode(i)));
+            assertThat(actual.getEndpointFacing(i), is(expected.getEndpointFacing(i)));
+            assertThat(actual.getPath(actual.getEndpointNode(i)), is(expected.getPath(expected.getEndpointNode(i))));
+        }
+    }
+
+    private static Node<Integer> node(int mark, EnumFacing... open) {
+        int openConnections = 0;
+        for (EnumFacing facing : open) {
+            openConnections |= 1 << facing.getIndex();
+        }
+        return new Node<>(0, openConnections, mark, false);
+    }
+
+    private static class TestPipeNet extends PipeNet<Integer> {
+
+        private TestPipeNet() {
+            super(new TestWorldPipeNet());
+        }
+
+        @Override
+        protected void writeNodeData(Integer nodeData, NBTTagCompound tagCompound) {}
+
+        @Override
+        protected Integer readNodeData(NBTTagCompound tagCompound) {
+            return 0;
+        }
+    }
+
+    private static class TestWorldPipeNet extends WorldPipeNet<Integer, TestPipeNet> {
+
+        private TestWorldPipeNet() {
+            super("test");
+        }
+
+        @Override
+        protected TestPipeNet createNetInstance() {
+            return new TestPipeNet();
+        }
+    }
+}
@@ -2,16 +2,21 @@ package gregtech.api.recipes;
 
 import gregtech.Bootstrap;
 import gregtech.api.GTValues;
+import gregtech.api.capability.impl.FluidTankList;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
 import gregtech.api.recipes.map.AbstractMapIngredient;
 import gregtech.api.recipes.map.MapFluidIngredient;
 import gregtech.api.recipes.map.MapItemStackIngredient;
 import gregtech.api.recipes.map.MapOreDictIngredient;
+import gregtech.api.recipes.map.RecipeNoMatchCache;
+import gregtech.api.recipes.ui.RecipeMapUI;
 
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.ItemStackHandler;
 import net.minecraftforge.oredict.OreDictionary;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -22,8 +27,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
 import static gregtech.api.unification.material.Materials.*;
 import static org.hamcrest.CoreMatchers.*;
@@ -126,6 +134,129 @@ public class RecipeMapTest {
         MatcherAssert.assertThat(map.getRecipeList().size(), is(2));
     }
 
+    @Test
+    public void matchesHandlersWithScratch() {
+        Recipe r = map.getRecipeList().stream()
+                .filter(recipe -> recipe.getFluidInputs().size() == 3)
+                .findFirst()
+                .orElse(null);
+        MatcherAssert.assertThat(r, notNullValue());
+
+        RecipeMatchScratch scratch = new RecipeMatchScratch();
+        ItemStackHandler items = new ItemStackHandler(2);
+        FluidTankList fluids = new FluidTankList(false,
+                new FluidTank(Epichlorohydrin.getFluid(288), 1000),
+                new FluidTank(Naphtha.getFluid(3000), 4000),
+                new FluidTank(NitrogenDioxide.getFluid(1000), 1000));
+
+        MatcherAssert.assertThat(r.matches(true, items, fluids, scratch), is(true));
+        MatcherAssert.assertThat(fluids.getTankAt(0).getFluidAmount(), is(144));
+        MatcherAssert.assertThat(fluids.getTankAt(1).getFluidAmount(), is(0));
+        MatcherAssert.assertThat(fluids.getTankAt(2).getFluidAmount(), is(0));
+
+        // the same scratch is reused by the next match, which fails on the drained tanks
+        MatcherAssert.assertThat(r.matches(false, items, fluids, scratch), is(false));
+        MatcherAssert.assertThat(fluids.getTankAt(0).getFluidAmount(), is(144));
+    }
+
+    @Test
+    public void findRecipeDistinct() {
+        ItemStackHandler empty = new ItemStackHandler(2);
+        ItemStackHandler cobblestone = new ItemStackHandler(2);
+        cobblestone.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE));
+        ItemStackHandler stone = new ItemStackHandler(2);
+        stone.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE));
+        stone.setStackInSlot(1, new ItemStack(Blocks.STONE));
+        FluidTankList noFluids = new FluidTankList(false);
+
+        List<Integer> searched = new ArrayList<>();
+        int found = map.findRecipeDistinct(1, Arrays.asList(empty, cobblestone, stone), i -> noFluids,
+                (index, recipe) -> {
+                    searched.add(index);
+                    return recipe != null;
+                });
+
+        MatcherAssert.assertThat(found, is(1));
+        MatcherAssert.assertThat(searched, is(Arrays.asList(0, 1)));
+    }
+
+    @Test
+    public void findRecipeDistinctMatchesSingleLookups() {
+        ItemStackHandler cobblestone = new ItemStackHandler(2);
+        cobblestone.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE));
+        ItemStackHandler empty = new ItemStackHandler(2);
+        ItemStackHandler stone = new ItemStackHandler(2);
+        stone.setStackInSlot(0, new ItemStack(Blocks.STONE));
+        FluidTankList noFluids = new FluidTankList(false);
+        FluidTankList water = new FluidTankList(false,
+                new FluidTank(new FluidStack(FluidRegistry.WATER, 1000), 1000));
+        List<ItemStackHandler> buses = Arrays.asList(cobblestone, empty, stone, cobblestone);
+        List<FluidTankList> tanks = Arrays.asList(noFluids, noFluids, water, water);
+
+        Recipe[] found = new Recipe[buses.size()];
+        int stopped = map.findRecipeDistinct(1, buses, tanks::get, (index, recipe) -> {
+            found[index] = recipe;
+            return false;
+        });
+
+        MatcherAssert.assertThat(stopped, is(-1));
+        for (int i = 0; i < buses.size(); i++) {
+            MatcherAssert.assertThat(found[i], is(map.findRecipe(1, buses.get(i), tanks.get(i))));
+        }
+        MatcherAssert.assertThat(found[0], notNullValue());
+        MatcherAssert.assertThat(found[1], nullValue());
+        MatcherAssert.assertThat(found[2], notNullValue());
+        MatcherAssert.assertThat(found[2], IsNot.not(found[0]));
+    }
+
+    @Test
+    public void findRecipeReusesIngredients() {
+        List<ItemStack> inputs = Arrays.asList(new ItemStack(Blocks.COBBLESTONE), new ItemStack(Blocks.COBBLESTONE, 3));
+        Recipe r = map.findRecipe(1, inputs, Collections.emptyList());
+        MatcherAssert.assertThat(r, notNullValue());
+
+        // changing the stacks must not change the ingredients remembered for them
+        inputs.get(0).setItemDamage(1);
+        inputs.get(1).setItemDamage(1);
+        MatcherAssert.assertThat(map.findRecipe(1, inputs, Collections.emptyList()), nullValue());
+
+        Recipe r2 = map.findRecipe(1, Collections.singletonList(new ItemStack(Blocks.COBBLESTONE, 2)),
+                Collections.emptyList());
+        MatcherAssert.assertThat(r2, is(r));
+    }
+
+    @Test
+    public void findRecipeDistinctCallsFindRecipeOverride() {
+        List<List<ItemStack>> searchedInputs = new ArrayList<>();
+        RecipeMap<SimpleRecipeBuilder> overridingMap = new RecipeMap<SimpleRecipeBuilder>("test_override_" + mapId++,
+                new SimpleRecipeBuilder(), recipeMap -> new RecipeMapUI<>(recipeMap, true, true, true, true, false),
+                2, 2, 0, 0) {
+
+            @Override
+            public Recipe findRecipe(long voltage, List<ItemStack> inputs, List<FluidStack> fluidInputs,
+                                     boolean exactVoltage) {
+                searchedInputs.add(inputs);
+                return super.findRecipe(voltage, inputs, fluidInputs, exactVoltage);
+            }
+        };
+        overridingMap.recipeBuilder()
+                .notConsumable(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+
+        ItemStackHandler empty = new ItemStackHandler(2);
+        ItemStackHandler cobblestone = new ItemStackHandler(2);
+        cobblestone.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE));
+        FluidTankList noFluids = new FluidTankList(false);
+
+        int found = overridingMap.findRecipeDistinct(1, Arrays.asList(empty, cobblestone), i -> noFluids,
+                (index, recipe) -> recipe != null);
+
+        MatcherAssert.assertThat(found, is(1));
+        MatcherAssert.assertThat(searchedInputs.size(), is(2));
+    }
+
     @Test
     public void recipeLookupIgnoresStackAmount() {
         MapItemStackIngredient ingFromStack = new MapItemStackIngredient(
@@ -274,4 +405,127 @@ public class RecipeMapTest {
             MatcherAssert.assertThat(recipe, notNullValue());
         }
     }
+
+    @Test
+    public void compiledLookupMatchesTree() {
+        RecipeMap<SimpleRecipeBuilder> recipeMap = new RecipeMapBuilder<>("test_compiled_" + mapId++,
+                new SimpleRecipeBuilder().EUt(30))
+                        .itemInputs(3)
+                        .itemOutputs(1)
+                        .fluidInputs(2)
+                        .fluidOutputs(1)
+                        .build();
+
+        recipeMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        recipeMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.GRAVEL), new ItemStack(Blocks.SAND))
+                .outputs(new ItemStack(Blocks.GLASS))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        recipeMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.STONE))
+                .fluidInputs(new FluidStack(FluidRegistry.WATER, 1000))
+                .outputs(new ItemStack(Blocks.CLAY))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        recipeMap.recipeBuilder()
+                .inputs(new ItemStack(Blocks.STAINED_HARDENED_CLAY, 1, GTValues.W))
+                .outputs(new ItemStack(Blocks.HARDENED_CLAY))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        recipeMap.recipeBuilder()
+                .input("plankWood", 2)
+                .outputs(new ItemStack(Blocks.CRAFTING_TABLE))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        recipeMap.recipeBuilder()
+                .fluidInputs(Epichlorohydrin.getFluid(144))
+                .fluidInputs(Naphtha.getFluid(3000))
+                .outputs(new ItemStack(Blocks.OBSIDIAN))
+                .EUt(30).duration(1)
+                .buildAndRegister();
+
+        List<List<ItemStack>> itemInputs = Arrays.asList(
+                Collections.singletonList(new ItemStack(Blocks.COBBLESTONE)),
+                Arrays.asList(new ItemStack(Blocks.SAND), new ItemStack(Blocks.GRAVEL)),
+                Collections.singletonList(new ItemStack(Blocks.STONE)),
+                Collections.singletonList(new ItemStack(Blocks.STONE)),
+                Collections.singletonList(new ItemStack(Blocks.STAINED_HARDENED_CLAY, 1, 7)),
+                Collections.singletonList(new ItemStack(Blocks.PLANKS, 2, 3)),
+                Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                Collections.emptyList());
+        List<List<FluidStack>> fluidInputs = Arrays.asList(
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1000)),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.singletonList(new FluidStack(FluidRegistry.LAVA, 1000)),
+                Arrays.asList(Naphtha.getFluid(3000), Epichlorohydrin.getFluid(144)));
+
+        List<Recipe> treeResults = new ArrayList<>();
+        for (int i = 0; i < itemInputs.size(); i++) {
+            treeResults.add(recipeMap.findRecipe(30, itemInputs.get(i), fluidInputs.get(i)));
+        }
+
+        recipeMap.setCompiledLookup(true);
+        recipeMap.compileLookup();
+        MatcherAssert.assertThat(recipeMap.hasCompiledLookup(), is(true));
+
+        for (int i = 0; i < itemInputs.size(); i++) {
+            MatcherAssert.assertThat(recipeMap.findRecipe(30, itemInputs.get(i), fluidInputs.get(i)),
+                    sameInstance(treeResults.get(i)));
+        }
+        MatcherAssert.assertThat(treeResults.get(6), nullValue());
+        MatcherAssert.assertThat(treeResults.stream().filter(Objects::nonNull).count(), is(6L));
+
+        // modifying the recipes discards the compiled lookup
+        MatcherAssert.assertThat(recipeMap.removeRecipe(treeResults.get(0)), is(true));
+        MatcherAssert.assertThat(recipeMap.hasCompiledLookup(), is(false));
+        MatcherAssert.assertThat(recipeMap.findRecipe(30, itemInputs.get(0), fluidInputs.get(0)), nullValue());
+    }
+
+    @Test
+    public void noMatchCacheSkipsKnownMisses() {
+        RecipeNoMatchCache cache = map.getNoMatchCache();
+        MatcherAssert.assertThat(cache, notNullValue());
+
+        // not reaching any recipe in the tree is remembered
+        MatcherAssert.assertThat(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                Collections.emptyList()), nullValue());
+        MatcherAssert.assertThat(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT, 5)),
+                Collections.emptyList()), nullValue());
+        MatcherAssert.assertThat(cache.getHits(), is(1L));
+
+        // changing the ore dictionary invalidates the cache, as items reach recipes through it
+        RecipeNoMatchCache.invalidateAll();
+        MatcherAssert.assertThat(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                Collections.emptyList()), nullValue());
+        MatcherAssert.assertThat(cache.getHits(), is(1L));
+
+        // reaching a recipe which rejects the inputs is not remembered, as amounts can change
+        MatcherAssert.assertThat(map.findRecipe(30, Collections.emptyList(), Arrays.asList(
+                Epichlorohydrin.getFluid(1),
+                Naphtha.getFluid(3000),
+                NitrogenDioxide.getFluid(1000))), nullValue());
+        MatcherAssert.assertThat(map.findRecipe(30, Collections.emptyList(), Arrays.asList(
+                Epichlorohydrin.getFluid(144),
+                Naphtha.getFluid(3000),
+                NitrogenDioxide.getFluid(1000))), notNullValue());
+
+        // adding recipes invalidates the cache
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.DIRT))
+                .outputs(new ItemStack(Blocks.GRASS))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        MatcherAssert.assertThat(cache.size(), is(0));
+        MatcherAssert.assertThat(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                Collections.emptyList()), notNullValue());
+    }
 }
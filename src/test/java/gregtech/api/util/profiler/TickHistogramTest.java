@@ -0,0 +1,71 @@
+package gregtech.api.util.profiler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class TickHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        TickHistogram histogram = new TickHistogram();
+        assertThat(histogram.getCount(), is(0L));
+        assertThat(histogram.getMean(), is(0.0));
+        assertThat(histogram.getPercentile(0.99), is(0L));
+    }
+
+    @Test
+    public void testExactStatistics() {
+        TickHistogram histogram = new TickHistogram();
+        histogram.add(1_000);
+        histogram.add(3_000);
+        histogram.add(50_000);
+        assertThat(histogram.getCount(), is(3L));
+        assertThat(histogram.getTotal(), is(54_000L));
+        assertThat(histogram.getMean(), is(18_000.0));
+        assertThat(histogram.getMax(), is(50_000L));
+    }
+
+    @Test
+    public void testPercentiles() {
+        TickHistogram histogram = new TickHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.add(i * 1_000L);
+        }
+        expectWithinBucket(histogram.getPercentile(0.5), 500_000);
+        expectWithinBucket(histogram.getPercentile(0.9), 900_000);
+        expectWithinBucket(histogram.getPercentile(0.99), 990_000);
+        assertThat(histogram.getPercentile(1), is(1_000_000L));
+    }
+
+    @Test
+    public void testOutOfRange() {
+        TickHistogram histogram = new TickHistogram();
+        histogram.add(0);
+        histogram.add(10_000_000_000L);
+        assertThat(histogram.getPercentile(0.5), is(64L));
+        assertThat(histogram.getPercentile(1), is(10_000_000_000L));
+    }
+
+    @Test
+    public void testDecay() {
+        TickHistogram histogram = new TickHistogram(100);
+        for (int i = 0; i < 99; i++) {
+            histogram.add(2_000);
+        }
+        assertThat(histogram.getCount(), is(99L));
+        histogram.add(2_000);
+        assertThat(histogram.getCount(), is(50L));
+        assertThat(histogram.getMean(), is(2_000.0));
+        assertThat(histogram.getMax(), is(2_000L));
+    }
+
+    private static void expectWithinBucket(long estimate, long actual) {
+        // buckets are half an octave wide, and the estimate is the upper bound of the bucket
+        assertThat(estimate, greaterThanOrEqualTo(actual));
+        assertThat((double) estimate, lessThanOrEqualTo(actual * 1.5));
+    }
+}
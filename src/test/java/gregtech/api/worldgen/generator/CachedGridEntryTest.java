@@ -0,0 +1,107 @@
+package gregtech.api.worldgen.generator;
+
+import gregtech.Bootstrap;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.api.worldgen.config.OreDepositDefinition;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.BlockPos;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class CachedGridEntryTest {
+
+    private static final OreDepositDefinition FIRST = new OreDepositDefinition("test/first");
+    private static final OreDepositDefinition SECOND = new OreDepositDefinition("test/second");
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void layoutRoundTrip() {
+        Map<String, OreDepositDefinition> definitions = new HashMap<>();
+        definitions.put(FIRST.getDepositName(), FIRST);
+        definitions.put(SECOND.getDepositName(), SECOND);
+
+        CachedGridEntry entry = new CachedGridEntry(DummyWorld.INSTANCE, 1, -2, null, definitions::get,
+                createLayout());
+
+        MatcherAssert.assertThat(entry.getTerrainHeight(), is(72));
+        MatcherAssert.assertThat(entry.getBottomHeight(), is(64));
+        MatcherAssert.assertThat(entry.getGeneratedVeins().size(), is(2));
+        MatcherAssert.assertThat(entry.getCenterPos(FIRST), is(new BlockPos(40, 30, -60)));
+        MatcherAssert.assertThat(entry.getCenterPos(SECOND), is(new BlockPos(52, 20, -50)));
+
+        PacketBuffer written = new PacketBuffer(Unpooled.buffer());
+        entry.writeLayout(written);
+        CachedGridEntry read = new CachedGridEntry(DummyWorld.INSTANCE, 1, -2, null, definitions::get,
+                new PacketBuffer(written.copy()));
+        PacketBuffer rewritten = new PacketBuffer(Unpooled.buffer());
+        read.writeLayout(rewritten);
+
+        MatcherAssert.assertThat(read.getTerrainHeight(), is(72));
+        MatcherAssert.assertThat(read.getBottomHeight(), is(64));
+        MatcherAssert.assertThat(read.getCenterPos(FIRST), is(new BlockPos(40, 30, -60)));
+        MatcherAssert.assertThat(read.getCenterPos(SECOND), is(new BlockPos(52, 20, -50)));
+        MatcherAssert.assertThat(ByteBufUtil.equals(written, rewritten), is(true));
+    }
+
+    @Test
+    public void layoutWithUnknownDefinitionIsRejected() {
+        Map<String, OreDepositDefinition> definitions = new HashMap<>();
+        definitions.put(FIRST.getDepositName(), FIRST);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CachedGridEntry(DummyWorld.INSTANCE, 1, -2, null, definitions::get, createLayout()));
+    }
+
+    private static PacketBuffer createLayout() {
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        buf.writeVarInt(72);
+        buf.writeVarInt(64);
+
+        buf.writeVarInt(2);
+        buf.writeString(FIRST.getDepositName());
+        buf.writeString(SECOND.getDepositName());
+
+        buf.writeVarInt(2);
+        buf.writeVarInt(0);
+        buf.writeLong(new BlockPos(40, 30, -60).toLong());
+        buf.writeVarInt(1);
+        buf.writeLong(new BlockPos(52, 20, -50).toLong());
+
+        buf.writeVarInt(2);
+        buf.writeInt(2);
+        buf.writeInt(-4);
+        buf.writeVarInt(2);
+        writeBlocks(buf, 0, 30, 8, 30, 31);
+        writeBlocks(buf, 1, 20, 4, 20);
+        buf.writeInt(3);
+        buf.writeInt(-4);
+        buf.writeVarInt(1);
+        writeBlocks(buf, 1, 19, 0, 19, 21);
+        return buf;
+    }
+
+    private static void writeBlocks(PacketBuffer buf, int definition, int lowestY, int x, int... ys) {
+        buf.writeVarInt(definition);
+        buf.writeVarInt(lowestY);
+        buf.writeVarInt(ys.length);
+        for (int i = 0; i < ys.length; i++) {
+            int xzValue = (x & 0xFF) | ((x & 0xFF) << 8) | ((ys[i] & 0xFF) << 16);
+            buf.writeLong((long) xzValue << 32 | i);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package gregtech.common.metatileentities.storage;
+
+import gregtech.Bootstrap;
+import gregtech.api.util.GTTransferUtils;
+import gregtech.api.util.world.DummyWorld;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraftforge.items.IItemHandler;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static gregtech.api.util.GTUtility.gregtechId;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class QuantumControllerItemHandlerTest {
+
+    private static ItemStack GRAVEL;
+    private static ItemStack SAND;
+    private static ItemStack IRON;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+        GRAVEL = new ItemStack(Blocks.GRAVEL, 64);
+        SAND = new ItemStack(Blocks.SAND, 64);
+        IRON = new ItemStack(Items.IRON_INGOT, 64);
+    }
+
+    @Test
+    public void Test_Insertion_Into_Holding_Storage() {
+        MetaTileEntityQuantumChest[] chests = createChests(3);
+        QuantumControllerItemHandler handler = createHandler(chests);
+
+        assertThat(GTTransferUtils.insertItem(handler, GRAVEL.copy(), false).isEmpty(), is(true));
+        assertThat(GTTransferUtils.insertItem(handler, SAND.copy(), false).isEmpty(), is(true));
+        assertThat(GTTransferUtils.insertItem(handler, GRAVEL.copy(), false).isEmpty(), is(true));
+
+        assertThat(chests[0].getStoredItemType().getItem(), is(GRAVEL.getItem()));
+        assertThat(chests[1].getStoredItemType().getItem(), is(SAND.getItem()));
+        assertThat(chests[2].getStoredItemType().isEmpty(), is(true));
+        assertThat(countItems(chests[0].getCombinedInventory()), is(128));
+    }
+
+    @Test
+    public void Test_Simulated_Insertion() {
+        MetaTileEntityQuantumChest[] chests = createChests(2);
+        QuantumControllerItemHandler handler = createHandler(chests);
+
+        assertThat(handler.insertItem(GRAVEL.copy(), true).isEmpty(), is(true));
+        assertThat(chests[0].getStoredItemType().isEmpty(), is(true));
+        assertThat(handler.insertItem(SAND.copy(), false).isEmpty(), is(true));
+        assertThat(chests[0].getStoredItemType().getItem(), is(SAND.getItem()));
+    }
+
+    @Test
+    public void Test_Storage_Emptied_Outside_Controller() {
+        MetaTileEntityQuantumChest[] chests = createChests(2);
+        QuantumControllerItemHandler handler = createHandler(chests);
+
+        handler.insertItem(GRAVEL.copy(), false);
+        handler.insertItem(SAND.copy(), false);
+        chests[0].getCombinedInventory().extractItem(0, 64, false);
+
+        // no storage is known to be empty, so the storages are indexed again
+        assertThat(handler.insertItem(IRON.copy(), false).isEmpty(), is(true));
+        assertThat(chests[0].getStoredItemType().getItem(), is(IRON.getItem()));
+    }
+
+    @Test
+    public void Test_Extraction_Through_Controller() {
+        MetaTileEntityQuantumChest[] chests = createChests(2);
+        QuantumControllerItemHandler handler = createHandler(chests);
+
+        handler.insertItem(GRAVEL.copy(), false);
+        handler.insertItem(SAND.copy(), false);
+        // the export slot of the first chest
+        assertThat(handler.extractItem(0, 64, false).getCount(), is(64));
+
+        assertThat(handler.insertItem(IRON.copy(), false).isEmpty(), is(true));
+        assertThat(chests[0].getStoredItemType().getItem(), is(IRON.getItem()));
+    }
+
+    private static QuantumControllerItemHandler createHandler(MetaTileEntityQuantumChest[] chests) {
+        List<IItemHandler> handlers = new ArrayList<>();
+        for (MetaTileEntityQuantumChest chest : chests) {
+            handlers.add(chest.getTypeValue());
+        }
+        return new QuantumControllerItemHandler(handlers, i -> {
+            ItemStack stack = chests[i].getStoredItemType();
+            return stack.isEmpty() ? null : stack;
+        }, () -> 0L);
+    }
+
+    private static MetaTileEntityQuantumChest[] createChests(int amount) {
+        MetaTileEntityQuantumChest[] chests = new MetaTileEntityQuantumChest[amount];
+        for (int i = 0; i < amount; i++) {
+            chests[i] = new QuantumChestWrapper();
+        }
+        return chests;
+    }
+
+    private static int countItems(IItemHandler handler) {
+        int count = 0;
+        for (int i = 0; i < handler.getSlots(); i++) {
+            count += handler.getStackInSlot(i).getCount();
+        }
+        return count;
+    }
+
+    private static class QuantumChestWrapper extends MetaTileEntityQuantumChest {
+
+        public QuantumChestWrapper() {
+            super(gregtechId("super_chest.lv"), 1, 4000000L);
+        }
+
+        @Override
+        public World getWorld() {
+            return DummyWorld.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package gregtech.common.pipelike.cable.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.pipenet.Node;
+import gregtech.api.pipenet.PipeNetSnapshot;
+import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.common.ConfigHolder;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class EnergyNetTest {
+
+    private static final WireProperties WIRE = new WireProperties(32, 1, 1);
+
+    // A - B - C in a line, D is added north of B later
+    private static final BlockPos A = new BlockPos(0, 0, 0);
+    private static final BlockPos B = new BlockPos(1, 0, 0);
+    private static final BlockPos C = new BlockPos(2, 0, 0);
+    private static final BlockPos D = new BlockPos(1, 0, -1);
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void testIncrementalUpdateMatchesRebuild() {
+        TestEnergyNet net = new TestEnergyNet();
+        net.addCable(A, EnumFacing.WEST, EnumFacing.EAST);
+        net.addCable(B, EnumFacing.WEST, EnumFacing.EAST, EnumFacing.NORTH, EnumFacing.UP);
+        net.addCable(C, EnumFacing.WEST, EnumFacing.EAST);
+        net.destinations.add(A.west());
+        net.destinations.add(C.east());
+        assertRoutes(net, 2);
+
+        // a new machine on an open side
+        net.setDestination(B.up(), true);
+        assertRoutes(net, 3);
+
+        // a machine next to a closed side gets no route
+        net.setDestination(C.north(), true);
+        assertRoutes(net, 3);
+
+        // a removed machine
+        net.setDestination(A.west(), false);
+        assertRoutes(net, 2);
+
+        // an added cable with a machine on it
+        net.addCable(D, EnumFacing.SOUTH, EnumFacing.UP);
+        assertRoutes(net, 2);
+        net.setDestination(D.up(), true);
+        assertRoutes(net, 3);
+
+        // the cable is removed again, its machine is still there but not reachable anymore
+        net.removeCable(D);
+        assertRoutes(net, 2);
+        net.setDestination(D.up(), false);
+        assertRoutes(net, 2);
+    }
+
+    @Test
+    public void testAsyncRoutesMatchSyncRoutes() throws InterruptedException {
+        TestEnergyNet net = new TestEnergyNet();
+        net.addCable(A, EnumFacing.WEST, EnumFacing.EAST);
+        net.addCable(B, EnumFacing.WEST, EnumFacing.EAST, EnumFacing.UP);
+        net.addCable(C, EnumFacing.WEST, EnumFacing.EAST);
+        net.destinations.add(A.west());
+        net.destinations.add(B.up());
+        net.destinations.add(C.east());
+
+        boolean asyncPipeNetWalking = ConfigHolder.machines.asyncPipeNetWalking;
+        ConfigHolder.machines.asyncPipeNetWalking = true;
+        try {
+            // no routes are used until the walk is done
+            List<EnergyRoutePath> routes = net.getNetData(A);
+            for (int i = 0; i < 100 && routes.isEmpty(); i++) {
+                Thread.sleep(10);
+                routes = net.getNetData(A);
+            }
+            assertThat(describe(routes), is(describe(net.walkRoutes(A))));
+            assertThat(routes.size(), is(3));
+        } finally {
+            ConfigHolder.machines.asyncPipeNetWalking = asyncPipeNetWalking;
+        }
+    }
+
+    /**
+     * Checks that the cached routes of every source equal the routes of a full walk.
+     */
+    private static void assertRoutes(TestEnergyNet net, int expectedCount) {
+        for (BlockPos source : new BlockPos[] { A, C }) {
+            List<EnergyRoutePath> cached = net.getNetData(source);
+            PipeNetSnapshot.Walk<WireProperties> walk = net.getSnapshot().walk(source.toLong());
+            List<EnergyRoutePath> rebuilt = net.createRoutes(walk);
+            assertThat(describe(cached), is(describe(rebuilt)));
+            assertThat(cached.size(), is(expectedCount));
+        }
+    }
+
+    private static Set<String> describe(List<EnergyRoutePath> routes) {
+        Set<String> described = new HashSet<>();
+        for (EnergyRoutePath route : routes) {
+            BlockPos[] path = new BlockPos[route.getPath().length];
+            for (int i = 0; i < path.length; i++) {
+                path[i] = route.getPath()[i].getPipePos();
+            }
+            described.add(route.getTargetFacing() + " " + route.getDistance() + " " + route.getMaxLoss() + " " +
+                    Arrays.toString(path));
+        }
+        return described;
+    }
+
+    private static class TestEnergyNet extends EnergyNet {
+
+        private final Long2ObjectMap<TileEntityCable> cables = new Long2ObjectOpenHashMap<>();
+        private final Set<BlockPos> destinations = new HashSet<>();
+
+        private TestEnergyNet() {
+            super(new WorldENet("test"));
+        }
+
+        private void addCable(BlockPos pos, EnumFacing... open) {
+            int openConnections = 0;
+            for (EnumFacing facing : open) {
+                openConnections |= 1 << facing.getIndex();
+            }
+            TileEntityCable cable = new TileEntityCable() {
+
+                @Override
+                public WireProperties getNodeData() {
+                    return WIRE;
+                }
+            };
+            cable.setPos(pos);
+            cables.put(pos.toLong(), cable);
+            addNode(pos, new Node<>(WIRE, openConnections, Node.DEFAULT_MARK, false));
+        }
+
+        private void removeCable(BlockPos pos) {
+            cables.remove(pos.toLong());
+            removeNode(pos);
+        }
+
+        private void setDestination(BlockPos pos, boolean isDestination) {
+            if (isDestination) {
+                destinations.add(pos);
+            } else {
+                destinations.remove(pos);
+            }
+            onNeighbourUpdate(pos);
+        }
+
+        @Override
+        List<EnergyRoutePath> walkRoutes(BlockPos source) {
+            PipeNetSnapshot.Walk<WireProperties> walk = getSnapshot().walk(source.toLong());
+            return walk == null ? null : createRoutes(walk);
+        }
+
+        @Override
+        TileEntityCable getLoadedCable(BlockPos pos) {
+            return cables.get(pos.toLong());
+        }
+
+        @Override
+        boolean isRouteDestination(BlockPos pipePos, EnumFacing facing) {
+            return destinations.contains(pipePos.offset(facing));
+        }
+    }
+}